@@ -3,7 +3,10 @@ package com.efiling.config;
 import com.efiling.domain.entity.Role;
 import com.efiling.domain.entity.User;
 import com.efiling.repository.RoleRepository;
+import com.efiling.repository.UserNotificationCounterRepository;
 import com.efiling.repository.UserRepository;
+import com.efiling.service.NotificationService;
+import com.efiling.service.notification.NotificationTemplateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,6 +25,9 @@ public class DataInitializer implements CommandLineRunner {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserNotificationCounterRepository counterRepository;
+    private final NotificationService notificationService;
+    private final NotificationTemplateService notificationTemplateService;
 
     @Value("${app.admin.username}")
     private String adminUsername;
@@ -73,6 +79,15 @@ public class DataInitializer implements CommandLineRunner {
             log.info("Admin user already exists: {}", adminUsername);
         }
 
+        // Seed unread counters for notifications created before counters existed
+        if (counterRepository.count() == 0) {
+            int seeded = notificationService.rebuildUnreadCounters();
+            log.info("Initialized unread notification counters for {} users", seeded);
+        }
+
+        // Create default notification templates
+        notificationTemplateService.seedDefaults();
+
         log.info("Data initialization completed successfully");
     }
 
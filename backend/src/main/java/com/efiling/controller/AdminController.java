@@ -0,0 +1,24 @@
+package com.efiling.controller;
+
+import com.efiling.dto.admin.SystemStats;
+import com.efiling.service.SystemStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final SystemStatsService systemStatsService;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<SystemStats> getStats() {
+        return ResponseEntity.ok(systemStatsService.getStats());
+    }
+}
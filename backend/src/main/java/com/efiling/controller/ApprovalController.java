@@ -2,14 +2,20 @@ package com.efiling.controller;
 
 import com.efiling.domain.entity.Approval;
 import com.efiling.domain.entity.ApprovalAction;
+import com.efiling.domain.entity.User;
+import com.efiling.dto.approval.BottleneckReport;
+import com.efiling.security.CurrentUser;
 import com.efiling.security.UserPrincipal;
+import com.efiling.service.ApprovalMetricsService;
 import com.efiling.service.ApprovalService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +26,7 @@ import java.util.Map;
 public class ApprovalController {
 
     private final ApprovalService approvalService;
+    private final ApprovalMetricsService approvalMetricsService;
 
     @GetMapping("/pending")
     public ResponseEntity<List<Approval>> getPendingApprovals(
@@ -28,11 +35,18 @@ public class ApprovalController {
         return ResponseEntity.ok(approvals);
     }
 
+    @GetMapping("/reports/bottlenecks")
+    public ResponseEntity<BottleneckReport> getBottleneckReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        LocalDateTime from = since != null ? since : LocalDateTime.now().minusDays(30);
+        return ResponseEntity.ok(approvalMetricsService.getBottleneckReport(from));
+    }
+
     @PostMapping("/{id}/action")
     public ResponseEntity<?> processApproval(
             @PathVariable Long id,
             @RequestBody Map<String, Object> actionData,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
             ApprovalAction.ActionType actionType = ApprovalAction.ActionType.valueOf(
                     actionData.get("action").toString()
@@ -41,10 +55,10 @@ public class ApprovalController {
 
             approvalService.processApprovalAction(
                     id,
-                    userPrincipal.getId(),
+                    user.getId(),
                     actionType,
                     comments,
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
 
             return ResponseEntity.ok("Approval action processed successfully");
@@ -57,12 +71,12 @@ public class ApprovalController {
     public ResponseEntity<?> approveDocument(
             @PathVariable Long documentId,
             @RequestBody(required = false) Map<String, String> requestBody,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
             String comments = requestBody != null ? requestBody.get("comments") : "Approved";
 
             // Find the pending approval for this document
-            List<Approval> approvals = approvalService.getPendingApprovalsForUser(userPrincipal.getId());
+            List<Approval> approvals = approvalService.getPendingApprovalsForUser(user.getId());
             Approval approval = approvals.stream()
                     .filter(a -> a.getFormSubmission() != null &&
                                  a.getFormSubmission().getAttachedDocuments() != null &&
@@ -73,10 +87,10 @@ public class ApprovalController {
 
             approvalService.processApprovalAction(
                     approval.getId(),
-                    userPrincipal.getId(),
+                    user.getId(),
                     ApprovalAction.ActionType.APPROVE,
                     comments,
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
 
             return ResponseEntity.ok("Document approved successfully");
@@ -89,12 +103,12 @@ public class ApprovalController {
     public ResponseEntity<?> rejectDocument(
             @PathVariable Long documentId,
             @RequestBody(required = false) Map<String, String> requestBody,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
             String comments = requestBody != null ? requestBody.get("comments") : "Rejected";
 
             // Find the pending approval for this document
-            List<Approval> approvals = approvalService.getPendingApprovalsForUser(userPrincipal.getId());
+            List<Approval> approvals = approvalService.getPendingApprovalsForUser(user.getId());
             Approval approval = approvals.stream()
                     .filter(a -> a.getFormSubmission() != null &&
                                  a.getFormSubmission().getAttachedDocuments() != null &&
@@ -105,10 +119,10 @@ public class ApprovalController {
 
             approvalService.processApprovalAction(
                     approval.getId(),
-                    userPrincipal.getId(),
+                    user.getId(),
                     ApprovalAction.ActionType.REJECT,
                     comments,
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
 
             return ResponseEntity.ok("Document rejected successfully");
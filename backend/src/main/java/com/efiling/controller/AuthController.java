@@ -5,20 +5,23 @@ import com.efiling.domain.entity.User;
 import com.efiling.dto.auth.ChangePasswordRequest;
 import com.efiling.dto.auth.JwtResponse;
 import com.efiling.dto.auth.LoginRequest;
+import com.efiling.dto.auth.RefreshTokenRequest;
 import com.efiling.dto.auth.SignupRequest;
 import com.efiling.repository.RoleRepository;
-import com.efiling.repository.UserRepository;
-import com.efiling.security.JwtTokenProvider;
+import com.efiling.security.CurrentUser;
+import com.efiling.security.LoginRejectedException;
 import com.efiling.security.UserPrincipal;
+import com.efiling.service.AuthTokenService;
+import com.efiling.service.LoginService;
 import com.efiling.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -32,51 +35,30 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
+    private final LoginService loginService;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider tokenProvider;
+    private final AuthTokenService authTokenService;
     private final UserService userService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        Authentication authentication;
+        try {
+            authentication = loginService.authenticate(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword(),
+                    request.getRemoteAddr()
+            );
+        } catch (LoginRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .body(e.getMessage());
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String accessToken = tokenProvider.generateToken(authentication);
-        String refreshToken = tokenProvider.generateRefreshToken(authentication);
-
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-
-        List<String> roles = userPrincipal.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(auth -> auth.startsWith("ROLE_"))
-                .toList();
-
-        List<String> permissions = userPrincipal.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(auth -> !auth.startsWith("ROLE_"))
-                .toList();
-
-        JwtResponse response = JwtResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .id(userPrincipal.getId())
-                .username(userPrincipal.getUsername())
-                .email(userPrincipal.getEmail())
-                .roles(roles)
-                .permissions(permissions)
-                .mustChangePassword(userPrincipal.isMustChangePassword())
-                .build();
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(buildJwtResponse((UserPrincipal) authentication.getPrincipal()));
     }
 
     @PostMapping("/signup")
@@ -89,14 +71,32 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            AuthTokenService.TokenPair tokens = authTokenService.refresh(request.getRefreshToken());
+            if (tokens == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Refresh token reuse detected");
+            }
+            return ResponseEntity.ok(buildJwtResponse(tokens));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        if (request != null && request.getRefreshToken() != null) {
+            authTokenService.logout(request.getRefreshToken());
+        }
+        return ResponseEntity.ok("Logged out");
+    }
+
     @PostMapping("/change-password")
     public ResponseEntity<?> changePassword(
             @Valid @RequestBody ChangePasswordRequest request,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
-            User user = userRepository.findById(userPrincipal.getId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             // If user must change password (first time login), skip current password verification
             if (user.getMustChangePassword() == null || !user.getMustChangePassword()) {
                 // Verify current password only if not forced password change
@@ -110,12 +110,41 @@ public class AuthController {
                 return ResponseEntity.badRequest().body("New passwords do not match");
             }
 
-            // Update password and clear mustChangePassword flag
-            userService.changePassword(user, request.getNewPassword());
+            // Update password and clear mustChangePassword flag; older tokens stop working
+            User updated = userService.changePassword(user, request.getNewPassword());
 
-            return ResponseEntity.ok("Password changed successfully");
+            return ResponseEntity.ok(buildJwtResponse(UserPrincipal.create(updated)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to change password: " + e.getMessage());
         }
     }
+
+    private JwtResponse buildJwtResponse(UserPrincipal userPrincipal) {
+        return buildJwtResponse(authTokenService.issueTokens(userPrincipal));
+    }
+
+    private JwtResponse buildJwtResponse(AuthTokenService.TokenPair tokens) {
+        UserPrincipal userPrincipal = tokens.userPrincipal();
+
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(auth -> auth.startsWith("ROLE_"))
+                .toList();
+
+        List<String> permissions = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(auth -> !auth.startsWith("ROLE_"))
+                .toList();
+
+        return JwtResponse.builder()
+                .accessToken(tokens.accessToken())
+                .refreshToken(tokens.refreshToken())
+                .id(userPrincipal.getId())
+                .username(userPrincipal.getUsername())
+                .email(userPrincipal.getEmail())
+                .roles(roles)
+                .permissions(permissions)
+                .mustChangePassword(userPrincipal.isMustChangePassword())
+                .build();
+    }
 }
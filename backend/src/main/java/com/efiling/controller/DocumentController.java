@@ -1,8 +1,11 @@
 package com.efiling.controller;
 
 import com.efiling.domain.entity.Document;
+import com.efiling.domain.entity.User;
 import com.efiling.domain.entity.DocumentChecklistResponse;
-import com.efiling.security.UserPrincipal;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.document.DocumentSummary;
+import com.efiling.security.CurrentUser;
 import com.efiling.service.DocumentService;
 import com.efiling.service.DocumentStorageService;
 import com.efiling.service.DocumentTypeService;
@@ -12,7 +15,6 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -32,12 +34,12 @@ public class DocumentController {
     public ResponseEntity<?> uploadDocument(
             @RequestParam("file") MultipartFile file,
             @RequestParam("documentType") String documentType,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
-            Document document = documentService.uploadDocument(
+            DocumentSummary document = documentService.uploadDocument(
                     file,
                     documentType,
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
 
             return ResponseEntity.ok(document);
@@ -70,15 +72,20 @@ public class DocumentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Document>> getAllDocuments() {
-        List<Document> documents = documentService.getAllDocuments();
-        return ResponseEntity.ok(documents);
+    public ResponseEntity<?> getDocuments(
+            @RequestParam(required = false) List<Document.DocumentStatus> status,
+            PageParams page) {
+        try {
+            return ResponseEntity.ok(documentService.getDocuments(status, page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/my-documents")
-    public ResponseEntity<List<Document>> getMyDocuments(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<List<Document>> getMyDocuments(@CurrentUser User user) {
         List<Document> documents = documentService.getUserDocuments(
-                com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                user
         );
         return ResponseEntity.ok(documents);
     }
@@ -86,11 +93,11 @@ public class DocumentController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDocument(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
             documentService.deleteDocument(
                     id,
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
             return ResponseEntity.ok("Document deleted successfully");
         } catch (Exception e) {
@@ -10,6 +10,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -29,12 +30,14 @@ public class DocumentShareController {
             Long documentId = Long.valueOf(shareData.get("documentId").toString());
             Long sharedWithUserId = Long.valueOf(shareData.get("sharedWithUserId").toString());
             String message = (String) shareData.get("message");
+            LocalDateTime expiresAt = expiresAtOf(shareData);
 
             DocumentShare share = documentShareService.shareWithUser(
                     documentId,
                     userPrincipal.getId(),
                     sharedWithUserId,
-                    message
+                    message,
+                    expiresAt
             );
 
             return ResponseEntity.ok(share);
@@ -52,12 +55,14 @@ public class DocumentShareController {
             Long documentId = Long.valueOf(shareData.get("documentId").toString());
             Long institutionId = Long.valueOf(shareData.get("institutionId").toString());
             String message = (String) shareData.get("message");
+            LocalDateTime expiresAt = expiresAtOf(shareData);
 
             DocumentShare share = documentShareService.shareWithInstitution(
                     documentId,
                     userPrincipal.getId(),
                     institutionId,
-                    message
+                    message,
+                    expiresAt
             );
 
             return ResponseEntity.ok(share);
@@ -74,11 +79,13 @@ public class DocumentShareController {
         try {
             Long documentId = Long.valueOf(shareData.get("documentId").toString());
             String message = (String) shareData.get("message");
+            LocalDateTime expiresAt = expiresAtOf(shareData);
 
             DocumentShare share = documentShareService.shareWithAllUsers(
                     documentId,
                     userPrincipal.getId(),
-                    message
+                    message,
+                    expiresAt
             );
 
             return ResponseEntity.ok(share);
@@ -89,15 +96,19 @@ public class DocumentShareController {
 
     @GetMapping("/shared-with-me")
     public ResponseEntity<List<Document>> getSharedDocuments(
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<Document> documents = documentShareService.getSharedDocuments(userPrincipal.getId());
+        List<Document> documents = documentShareService.getSharedDocuments(userPrincipal.getId(), beforeId, limit);
         return ResponseEntity.ok(documents);
     }
 
     @GetMapping("/institutional")
     public ResponseEntity<List<Document>> getInstitutionalDocuments(
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<Document> documents = documentShareService.getInstitutionalDocuments(userPrincipal.getId());
+        List<Document> documents = documentShareService.getInstitutionalDocuments(userPrincipal.getId(), beforeId, limit);
         return ResponseEntity.ok(documents);
     }
 
@@ -128,4 +139,17 @@ public class DocumentShareController {
         boolean hasAccess = documentShareService.hasAccessToDocument(documentId, userPrincipal.getId());
         return ResponseEntity.ok(hasAccess);
     }
+
+    @GetMapping("/has-access")
+    public ResponseEntity<Map<Long, Boolean>> hasAccessToDocuments(
+            @RequestParam List<Long> documentIds,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(documentShareService.hasAccessToDocuments(documentIds, userPrincipal.getId()));
+    }
+
+    // Optional ISO date-time after which the share no longer grants access
+    private static LocalDateTime expiresAtOf(Map<String, Object> shareData) {
+        Object expiresAt = shareData.get("expiresAt");
+        return expiresAt != null ? LocalDateTime.parse(expiresAt.toString()) : null;
+    }
 }
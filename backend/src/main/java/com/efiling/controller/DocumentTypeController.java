@@ -2,6 +2,7 @@ package com.efiling.controller;
 
 import com.efiling.domain.entity.ChecklistItem;
 import com.efiling.domain.entity.DocumentType;
+import com.efiling.dto.common.PageParams;
 import com.efiling.dto.documenttype.ChecklistItemRequest;
 import com.efiling.dto.documenttype.DocumentTypeRequest;
 import com.efiling.security.UserPrincipal;
@@ -23,8 +24,14 @@ public class DocumentTypeController {
     private final DocumentTypeService documentTypeService;
 
     @GetMapping
-    public ResponseEntity<List<DocumentType>> getAllDocumentTypes() {
-        return ResponseEntity.ok(documentTypeService.getAllDocumentTypes());
+    public ResponseEntity<?> getDocumentTypes(
+            @RequestParam(required = false) Boolean active,
+            PageParams page) {
+        try {
+            return ResponseEntity.ok(documentTypeService.getDocumentTypes(active, page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/active")
@@ -2,8 +2,16 @@ package com.efiling.controller;
 
 import com.efiling.domain.entity.Form;
 import com.efiling.domain.entity.FormSubmission;
+import com.efiling.domain.entity.User;
+import com.efiling.domain.entity.RoutingRule;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.form.SubmissionStats;
+import com.efiling.dto.routing.RoutingRuleRequest;
+import com.efiling.security.CurrentUser;
 import com.efiling.security.UserPrincipal;
 import com.efiling.service.FormService;
+import com.efiling.service.WorkflowRoutingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +27,7 @@ import java.util.Map;
 public class FormController {
 
     private final FormService formService;
+    private final WorkflowRoutingService workflowRoutingService;
 
     @GetMapping("/public/active")
     public ResponseEntity<List<Form>> getActiveForms() {
@@ -34,7 +43,7 @@ public class FormController {
     @PreAuthorize("hasRole('ADMINISTRATOR')")
     public ResponseEntity<?> createForm(
             @RequestBody Map<String, Object> formData,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
             Form form = formService.createForm(
                     (String) formData.get("name"),
@@ -44,7 +53,7 @@ public class FormController {
                     (String) formData.get("uiSchema"),
                     (String) formData.get("validationRules"),
                     formData.get("approvalWorkflowId") != null ? Long.valueOf(formData.get("approvalWorkflowId").toString()) : null,
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
 
             return ResponseEntity.ok(form);
@@ -53,16 +62,75 @@ public class FormController {
         }
     }
 
+    // Routing Rule Endpoints
+
+    @GetMapping("/manage/{id}/routing-rules")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<List<RoutingRule>> getRoutingRules(@PathVariable Long id) {
+        return ResponseEntity.ok(workflowRoutingService.getRules(id));
+    }
+
+    @PostMapping("/manage/{id}/routing-rules")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<?> createRoutingRule(
+            @PathVariable Long id,
+            @Valid @RequestBody RoutingRuleRequest request) {
+        try {
+            return ResponseEntity.ok(workflowRoutingService.createRule(id, request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/manage/routing-rules/{ruleId}")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<?> updateRoutingRule(
+            @PathVariable Long ruleId,
+            @Valid @RequestBody RoutingRuleRequest request) {
+        try {
+            return ResponseEntity.ok(workflowRoutingService.updateRule(ruleId, request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/manage/routing-rules/{ruleId}")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<?> deleteRoutingRule(@PathVariable Long ruleId) {
+        try {
+            workflowRoutingService.deleteRule(ruleId);
+            return ResponseEntity.ok("Routing rule deleted successfully");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/manage/{id}/routing-rules/preview")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<?> previewRouting(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> submissionData) {
+        try {
+            Object data = submissionData.get("data");
+            return ResponseEntity.ok(workflowRoutingService.route(
+                    formService.getForm(id),
+                    data != null ? data.toString() : "{}"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/{id}/submit")
     public ResponseEntity<?> submitForm(
             @PathVariable Long id,
             @RequestBody Map<String, Object> submissionData,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+            @CurrentUser User user) {
         try {
             FormSubmission submission = formService.submitForm(
                     id,
                     submissionData.get("data").toString(),
-                    com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
+                    user
             );
 
             return ResponseEntity.ok(submission);
@@ -72,12 +140,19 @@ public class FormController {
     }
 
     @GetMapping("/submissions/my-submissions")
-    public ResponseEntity<List<FormSubmission>> getMySubmissions(
+    public ResponseEntity<?> getMySubmissions(
+            PageParams page,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<FormSubmission> submissions = formService.getUserSubmissions(
-                com.efiling.domain.entity.User.builder().id(userPrincipal.getId()).build()
-        );
-        return ResponseEntity.ok(submissions);
+        try {
+            return ResponseEntity.ok(formService.getUserSubmissions(userPrincipal.getId(), page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/submissions/my-submissions/stats")
+    public ResponseEntity<SubmissionStats> getMySubmissionStats(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(formService.getUserSubmissionStats(userPrincipal.getId()));
     }
 
     @GetMapping("/submissions/{id}")
@@ -86,9 +161,13 @@ public class FormController {
     }
 
     @GetMapping("/submissions/institutional")
-    public ResponseEntity<List<FormSubmission>> getInstitutionalSubmissions(
+    public ResponseEntity<?> getInstitutionalSubmissions(
+            PageParams page,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<FormSubmission> submissions = formService.getInstitutionalSubmissions(userPrincipal.getId());
-        return ResponseEntity.ok(submissions);
+        try {
+            return ResponseEntity.ok(formService.getInstitutionalSubmissions(userPrincipal.getId(), page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
@@ -1,13 +1,13 @@
 package com.efiling.controller;
 
 import com.efiling.domain.entity.Institution;
+import com.efiling.dto.common.PageParams;
 import com.efiling.service.InstitutionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,8 +18,15 @@ public class InstitutionController {
     private final InstitutionService institutionService;
 
     @GetMapping
-    public ResponseEntity<List<Institution>> getAllInstitutions() {
-        return ResponseEntity.ok(institutionService.getAllInstitutions());
+    public ResponseEntity<?> getInstitutions(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String q,
+            PageParams page) {
+        try {
+            return ResponseEntity.ok(institutionService.getInstitutions(active, q, page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
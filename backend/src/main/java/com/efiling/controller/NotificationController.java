@@ -1,13 +1,17 @@
 package com.efiling.controller;
 
 import com.efiling.domain.entity.Notification;
-import com.efiling.repository.UserRepository;
+import com.efiling.dto.notification.NotificationFeedFilter;
+import com.efiling.dto.notification.NotificationFeedItem;
 import com.efiling.security.UserPrincipal;
 import com.efiling.service.NotificationService;
+import com.efiling.service.notification.NotificationPushService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,37 +20,58 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationController {
 
+    private static final int LIST_SIZE = 50;
+
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final NotificationPushService notificationPushService;
 
-    @GetMapping("/my-notifications")
-    public ResponseEntity<List<Notification>> getMyNotifications(
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Notification.NotificationType type,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(required = false) String referenceType,
+            @RequestParam(required = false) Long referenceId,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        var user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        try {
+            NotificationFeedFilter filter = NotificationFeedFilter.builder()
+                    .type(type)
+                    .read(read)
+                    .referenceType(referenceType)
+                    .referenceId(referenceId)
+                    .build();
+            return ResponseEntity.ok(notificationService.getFeed(userPrincipal.getId(), filter, cursor, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-        List<Notification> notifications = notificationService.getUserNotifications(user);
-        return ResponseEntity.ok(notifications);
+    // First page of the feed, kept for clients that expect a plain list
+    @GetMapping("/my-notifications")
+    public ResponseEntity<List<NotificationFeedItem>> getMyNotifications(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(notificationService.getFeed(userPrincipal.getId(),
+                new NotificationFeedFilter(), null, LIST_SIZE).getItems());
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<List<Notification>> getUnreadNotifications(
+    public ResponseEntity<List<NotificationFeedItem>> getUnreadNotifications(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        var user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Notification> notifications = notificationService.getUnreadNotifications(user);
-        return ResponseEntity.ok(notifications);
+        NotificationFeedFilter filter = NotificationFeedFilter.builder().read(false).build();
+        return ResponseEntity.ok(notificationService.getFeed(userPrincipal.getId(), filter, null, LIST_SIZE)
+                .getItems());
     }
 
     @GetMapping("/unread-count")
     public ResponseEntity<Long> getUnreadCount(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        var user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(notificationService.getUnreadCount(userPrincipal.getId()));
+    }
 
-        long count = notificationService.getUnreadNotifications(user).size();
-        return ResponseEntity.ok(count);
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return notificationPushService.openStream(userPrincipal);
     }
 
     @PutMapping("/{id}/mark-read")
@@ -65,14 +90,7 @@ public class NotificationController {
     public ResponseEntity<?> markAllAsRead(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            var user = userRepository.findById(userPrincipal.getId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            List<Notification> unreadNotifications = notificationService.getUnreadNotifications(user);
-            unreadNotifications.forEach(notification ->
-                notificationService.markAsRead(notification.getId(), userPrincipal.getId())
-            );
-
+            notificationService.markAllAsRead(userPrincipal.getId());
             return ResponseEntity.ok("All notifications marked as read");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
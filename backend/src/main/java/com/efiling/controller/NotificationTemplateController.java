@@ -0,0 +1,45 @@
+package com.efiling.controller;
+
+import com.efiling.domain.entity.NotificationTemplate;
+import com.efiling.dto.notification.NotificationTemplateRequest;
+import com.efiling.service.notification.NotificationTemplateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/notification-templates")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMINISTRATOR')")
+public class NotificationTemplateController {
+
+    private final NotificationTemplateService notificationTemplateService;
+
+    @GetMapping
+    public ResponseEntity<List<NotificationTemplate>> getTemplates() {
+        return ResponseEntity.ok(notificationTemplateService.getTemplates());
+    }
+
+    @PutMapping
+    public ResponseEntity<?> saveTemplate(@Valid @RequestBody NotificationTemplateRequest request) {
+        try {
+            return ResponseEntity.ok(notificationTemplateService.saveTemplate(request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteTemplate(@PathVariable Long id) {
+        try {
+            notificationTemplateService.deleteTemplate(id);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
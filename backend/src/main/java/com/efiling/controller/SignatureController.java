@@ -5,14 +5,12 @@ import com.efiling.domain.entity.Document;
 import com.efiling.domain.entity.SignatureVerification;
 import com.efiling.domain.entity.User;
 import com.efiling.repository.DocumentRepository;
-import com.efiling.repository.UserRepository;
-import com.efiling.security.UserPrincipal;
+import com.efiling.security.CurrentUser;
 import com.efiling.service.DigitalSignatureService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,21 +22,18 @@ public class SignatureController {
 
     private final DigitalSignatureService signatureService;
     private final DocumentRepository documentRepository;
-    private final UserRepository userRepository;
 
     @PostMapping("/sign/{documentId}")
     @PreAuthorize("hasAnyRole('BACK_OFFICE', 'ADMINISTRATOR')")
     public ResponseEntity<?> signDocument(
             @PathVariable Long documentId,
-            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @CurrentUser User user,
             HttpServletRequest request) {
         try {
             Document document = documentRepository.findById(documentId)
                     .orElseThrow(() -> new RuntimeException("Document not found"));
 
             String ipAddress = request.getRemoteAddr();
-            User user = userRepository.findById(userPrincipal.getId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
 
             DigitalSignature signature = signatureService.signDocument(document, user, ipAddress);
 
@@ -51,12 +46,10 @@ public class SignatureController {
     @PostMapping("/verify/{signatureId}")
     public ResponseEntity<?> verifySignature(
             @PathVariable Long signatureId,
-            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @CurrentUser User user,
             HttpServletRequest request) {
         try {
             String ipAddress = request.getRemoteAddr();
-            User user = userRepository.findById(userPrincipal.getId())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
 
             SignatureVerification verification = signatureService.verifySignature(signatureId, user, ipAddress);
 
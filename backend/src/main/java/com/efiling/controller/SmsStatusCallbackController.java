@@ -0,0 +1,33 @@
+package com.efiling.controller;
+
+import com.efiling.service.notification.SmsStatusCallbackService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Called by Twilio, so it lives under /public and is authenticated by the request signature
+@RestController
+@RequestMapping("/public/sms")
+@RequiredArgsConstructor
+public class SmsStatusCallbackController {
+
+    private final SmsStatusCallbackService callbackService;
+
+    @PostMapping("/status")
+    public ResponseEntity<?> statusCallback(
+            @RequestParam Map<String, String> params,
+            @RequestHeader(value = "X-Twilio-Signature", required = false) String signature) {
+        if (!callbackService.isValid(params, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            callbackService.handle(params);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
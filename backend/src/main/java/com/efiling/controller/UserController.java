@@ -1,25 +1,40 @@
 package com.efiling.controller;
 
 import com.efiling.domain.entity.User;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.user.UserSummary;
 import com.efiling.repository.UserRepository;
+import com.efiling.security.CurrentUser;
+import com.efiling.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final UserRepository userRepository;
+    private final UserService userService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('BACK_OFFICE', 'ADMINISTRATOR')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userRepository.findAll());
+    public ResponseEntity<?> getUsers(
+            @RequestParam(required = false) User.UserType userType,
+            @RequestParam(required = false) String q,
+            PageParams page) {
+        try {
+            return ResponseEntity.ok(userService.getUsers(userType, q, page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<UserSummary> getCurrentUser(@CurrentUser UserSummary user) {
+        return ResponseEntity.ok(user);
     }
 
     @GetMapping("/{id}")
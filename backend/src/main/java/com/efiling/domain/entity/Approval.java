@@ -12,7 +12,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "approvals")
+@Table(name = "approvals", indexes = {
+    @Index(name = "idx_approvals_status_step", columnList = "status, workflow_id, current_step_order")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -51,6 +53,9 @@ public class Approval {
     @Column(name = "started_at")
     private LocalDateTime startedAt;
 
+    @Column(name = "current_step_started_at")
+    private LocalDateTime currentStepStartedAt;
+
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
@@ -8,7 +8,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "approval_actions")
+@Table(name = "approval_actions", indexes = {
+    @Index(name = "idx_approval_actions_step_time", columnList = "step_id, actioned_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -43,6 +45,10 @@ public class ApprovalAction {
     @Column(name = "actioned_at", nullable = false)
     private LocalDateTime actionedAt;
 
+    // Time the approval had been waiting in this step when the action was taken
+    @Column(name = "wait_seconds")
+    private Long waitSeconds;
+
     @Column(name = "ip_address")
     private String ipAddress;
 
@@ -1,5 +1,7 @@
 package com.efiling.domain.entity;
 
+import com.efiling.security.DocumentAclChangeListener;
+import com.efiling.service.search.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,8 +14,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "documents")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "documents", indexes = {
+    @Index(name = "idx_documents_updated_at", columnList = "updated_at"),
+    @Index(name = "idx_documents_created_at_id", columnList = "created_at, id")
+})
+@EntityListeners({AuditingEntityListener.class, DocumentAclChangeListener.class, SearchIndexListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
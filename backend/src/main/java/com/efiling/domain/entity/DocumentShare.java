@@ -1,15 +1,20 @@
 package com.efiling.domain.entity;
 
+import com.efiling.security.DocumentAclChangeListener;
+import com.efiling.service.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "document_shares")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "document_shares", indexes = {
+    @Index(name = "idx_document_shares_updated_at", columnList = "updated_at")
+})
+@EntityListeners({AuditingEntityListener.class, DocumentAclChangeListener.class, SearchIndexListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -50,6 +55,10 @@ public class DocumentShare {
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
 
+    // Set once the pre-expiry warning has gone out, so each share is warned about only once
+    @Column(name = "expiry_warning_sent_at")
+    private LocalDateTime expiryWarningSentAt;
+
     @Column(name = "is_active")
     @Builder.Default
     private Boolean isActive = true;
@@ -58,6 +67,10 @@ public class DocumentShare {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public enum ShareType {
         USER,           // Shared with specific user
         INSTITUTION,    // Shared with all users in an institution
@@ -1,5 +1,6 @@
 package com.efiling.domain.entity;
 
+import com.efiling.service.search.SearchIndexListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,8 +13,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "form_submissions")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "form_submissions", indexes = {
+    @Index(name = "idx_form_submissions_submitted_by_created_at", columnList = "submitted_by, created_at, id"),
+    @Index(name = "idx_form_submissions_updated_at", columnList = "updated_at")
+})
+@EntityListeners({AuditingEntityListener.class, SearchIndexListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -8,7 +8,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_lane", columnList = "status, priority, id"),
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_notifications_retry", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_notifications_provider_message", columnList = "provider_message_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -35,6 +40,10 @@ public class Notification {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String message;
 
+    // HTML alternative of the message, only kept for email
+    @Column(name = "html_message", columnDefinition = "TEXT")
+    private String htmlMessage;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private NotificationChannel channel;
@@ -44,6 +53,12 @@ public class Notification {
     @Builder.Default
     private NotificationStatus status = NotificationStatus.PENDING;
 
+    // Delivery lane; the default lets schema update add the column to a populated table
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(20) default 'TRANSACTIONAL'")
+    @Builder.Default
+    private NotificationPriority priority = NotificationPriority.TRANSACTIONAL;
+
     @Column(name = "is_read")
     @Builder.Default
     private Boolean isRead = false;
@@ -54,15 +69,30 @@ public class Notification {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    // Set while a dispatcher holds the row; stale claims are released back to PENDING
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
     @Column(name = "reference_type")
     private String referenceType;
 
     @Column(name = "reference_id")
     private Long referenceId;
 
+    // Message id assigned by the provider (e.g. Twilio SID), matched by delivery status callbacks
+    @Column(name = "provider_message_id", length = 64)
+    private String providerMessageId;
+
+    @Column(name = "provider_status", length = 32)
+    private String providerStatus;
+
     @Column(name = "error_message")
     private String errorMessage;
 
+    // When a FAILED notification becomes due for another attempt
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     @Column(name = "retry_count")
     @Builder.Default
     private Integer retryCount = 0;
@@ -88,10 +118,30 @@ public class Notification {
         IN_APP
     }
 
+    /**
+     * Outbound delivery lanes, each with its own workers and rate limits so bulk sends
+     * never hold up transactional mail.
+     */
+    public enum NotificationPriority {
+        TRANSACTIONAL,
+        APPROVAL,
+        BULK;
+
+        public static NotificationPriority forType(NotificationType type) {
+            return switch (type) {
+                case APPROVAL_REQUIRED -> APPROVAL;
+                case GENERAL -> BULK;
+                default -> TRANSACTIONAL;
+            };
+        }
+    }
+
     public enum NotificationStatus {
         PENDING,
+        PROCESSING,
         SENT,
         FAILED,
-        CANCELLED
+        CANCELLED,
+        DEAD_LETTER
     }
 }
@@ -0,0 +1,59 @@
+package com.efiling.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subject and body templates for one notification code in one locale. Placeholders are
+ * written as {{name}}; the HTML body is optional and only used for email.
+ */
+@Entity
+@Table(name = "notification_templates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_notification_templates_code_locale", columnNames = {"code", "locale"})
+}, indexes = {
+    @Index(name = "idx_notification_templates_updated", columnList = "updated_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String code;
+
+    @Column(nullable = false, length = 16)
+    private String locale;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Notification.NotificationType type;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(name = "text_body", columnDefinition = "TEXT", nullable = false)
+    private String textBody;
+
+    @Column(name = "html_body", columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,10 +1,12 @@
 package com.efiling.domain.entity;
 
+import com.efiling.security.AuthorityChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "permissions")
+@EntityListeners(AuthorityChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
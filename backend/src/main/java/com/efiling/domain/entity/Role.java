@@ -1,5 +1,6 @@
 package com.efiling.domain.entity;
 
+import com.efiling.security.AuthorityChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -11,7 +12,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "roles")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AuthorityChangeListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
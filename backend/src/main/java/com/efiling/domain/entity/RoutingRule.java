@@ -0,0 +1,79 @@
+package com.efiling.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "routing_rules", indexes = {
+    @Index(name = "idx_routing_rules_form", columnList = "form_id, priority")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "form_id", nullable = false)
+    @JsonIgnore
+    private Form form;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Lower values are evaluated first; the first matching rule wins
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer priority = 100;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String conditions; // JSON array of {field, operator, value}, all must match
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoutingAction action;
+
+    @Column(name = "approval_workflow_id")
+    private Long approvalWorkflowId;
+
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum RoutingAction {
+        ROUTE_TO_WORKFLOW,  // Use approvalWorkflowId instead of the form default
+        SKIP_APPROVAL       // Low-risk filing, approve without a workflow
+    }
+
+    public enum Operator {
+        EQ,
+        NE,
+        GT,
+        GTE,
+        LT,
+        LTE,
+        IN,
+        CONTAINS,
+        EXISTS
+    }
+}
@@ -42,6 +42,10 @@ public class User {
     @Column(name = "phone_number")
     private String phoneNumber;
 
+    // Language tag used for notifications, e.g. en or pt-BR; null means the default locale
+    @Column(length = 16)
+    private String locale;
+
     @Column(name = "institution_name")
     private String institutionName;
 
@@ -77,6 +81,11 @@ public class User {
     @Builder.Default
     private Boolean mustChangePassword = false;
 
+    // Bumped whenever credentials or access change; tokens carrying an older value are rejected
+    @Column(name = "security_version", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long securityVersion = 0L;
+
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
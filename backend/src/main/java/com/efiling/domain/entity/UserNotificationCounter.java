@@ -0,0 +1,26 @@
+package com.efiling.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Unread notification count per user, maintained in the same transaction as the notifications
+ * it counts. Kept out of the users table so entity saves never overwrite it.
+ */
+@Entity
+@Table(name = "user_notification_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserNotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    @Builder.Default
+    private Long unreadCount = 0L;
+}
@@ -0,0 +1,19 @@
+package com.efiling.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SystemStats {
+    private long totalUsers;
+    private long totalInstitutions;
+    private long totalDocuments;
+    private Map<String, Long> documentsByStatus; // Statuses without documents are absent
+}
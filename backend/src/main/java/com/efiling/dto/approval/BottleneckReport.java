@@ -0,0 +1,20 @@
+package com.efiling.dto.approval;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BottleneckReport {
+    private LocalDateTime since;
+    private LocalDateTime generatedAt;
+    private List<StepLatencySummary> stepLatency; // Slowest steps first
+    private List<StepBacklogSummary> backlog;     // Largest queues first
+}
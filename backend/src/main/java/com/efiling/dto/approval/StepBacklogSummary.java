@@ -0,0 +1,20 @@
+package com.efiling.dto.approval;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepBacklogSummary {
+    private Long workflowId;
+    private String workflowName;
+    private Long stepId;
+    private String stepName;
+    private Integer stepOrder;
+    private Long pendingCount;
+    private LocalDateTime oldestEnteredAt;
+}
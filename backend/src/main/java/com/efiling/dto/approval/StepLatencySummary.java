@@ -0,0 +1,19 @@
+package com.efiling.dto.approval;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepLatencySummary {
+    private Long workflowId;
+    private String workflowName;
+    private Long stepId;
+    private String stepName;
+    private Integer stepOrder;
+    private Long completedCount;
+    private Double avgWaitSeconds;
+    private Long maxWaitSeconds;
+}
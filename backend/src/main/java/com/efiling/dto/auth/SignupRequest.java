@@ -36,4 +36,7 @@ public class SignupRequest {
     private Long institutionId;
 
     private User.UserType userType;
+
+    @Size(max = 16)
+    private String locale;
 }
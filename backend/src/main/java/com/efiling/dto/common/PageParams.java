@@ -0,0 +1,21 @@
+package com.efiling.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paging query parameters shared by list endpoints; all are optional. The cursor is the
+ * nextCursor of the previous page and only continues the sort it was issued for.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageParams {
+    private String cursor;
+    private Integer size;
+    private String sort;
+    private String direction; // asc or desc
+}
@@ -0,0 +1,29 @@
+package com.efiling.dto.document;
+
+import com.efiling.domain.entity.Document;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSummary {
+    private Long id;
+    private String documentNumber;
+    private String filename;
+    private String originalFilename;
+    private String documentType;
+    private String mimeType;
+    private Long fileSize;
+    private Document.DocumentStatus status;
+    private Boolean isSigned;
+    private Long uploadedById;
+    private String uploadedByUsername;
+    private String uploadedByEmail;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.efiling.dto.documenttype;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentTypeSummary {
+    private Long id;
+    private String name;
+    private String description;
+    private String code;
+    private Boolean isActive;
+    private Boolean requiresChecklist;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.efiling.dto.form;
+
+import com.efiling.domain.entity.FormSubmission;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormSubmissionSummary {
+    private Long id;
+    private String submissionNumber;
+    private Long formId;
+    private String formName;
+    private Long submittedById;
+    private String submittedByUsername;
+    private FormSubmission.SubmissionStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime createdAt;
+}
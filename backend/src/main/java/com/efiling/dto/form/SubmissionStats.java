@@ -0,0 +1,17 @@
+package com.efiling.dto.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionStats {
+    private long total;
+    private Map<String, Long> byStatus; // Statuses without submissions are absent
+}
@@ -0,0 +1,25 @@
+package com.efiling.dto.institution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstitutionSummary {
+    private Long id;
+    private String code;
+    private String name;
+    private String institutionType;
+    private String description;
+    private String contactEmail;
+    private String contactPhone;
+    private String address;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+}
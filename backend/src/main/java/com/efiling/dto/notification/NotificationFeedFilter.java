@@ -0,0 +1,21 @@
+package com.efiling.dto.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the notification feed; null fields are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedFilter {
+    private Notification.NotificationType type;
+    private Boolean read;
+    private String referenceType;
+    private Long referenceId;
+}
@@ -0,0 +1,26 @@
+package com.efiling.dto.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedItem {
+    private Long id;
+    private Notification.NotificationType type;
+    private String subject;
+    private String message;
+    private Notification.NotificationChannel channel;
+    private Boolean isRead;
+    private LocalDateTime readAt;
+    private String referenceType;
+    private Long referenceId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.efiling.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedPage {
+    private List<NotificationFeedItem> items;
+    private String nextCursor; // Null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,32 @@
+package com.efiling.dto.notification;
+
+import com.efiling.domain.entity.Notification;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class NotificationTemplateRequest {
+
+    @NotBlank(message = "Code is required")
+    @Size(max = 64, message = "Code must not exceed 64 characters")
+    private String code;
+
+    @NotBlank(message = "Locale is required")
+    @Pattern(regexp = "[a-z]{2,3}(-[A-Za-z0-9]{2,8})*", message = "Locale must be a language tag such as en or pt-BR")
+    private String locale;
+
+    @NotNull(message = "Type is required")
+    private Notification.NotificationType type;
+
+    @NotBlank(message = "Subject is required")
+    @Size(max = 255, message = "Subject must not exceed 255 characters")
+    private String subject;
+
+    @NotBlank(message = "Text body is required")
+    private String textBody;
+
+    private String htmlBody; // Optional, used for email
+}
@@ -0,0 +1,22 @@
+package com.efiling.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything pushed to one user in a flush window: their current unread count and the
+ * notifications created since the previous frame.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushFrame {
+    private Long unreadCount;
+    private List<PushNotificationSummary> notifications;
+    private boolean truncated; // More notifications arrived than fit in one frame
+}
@@ -0,0 +1,19 @@
+package com.efiling.dto.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushNotificationSummary {
+    private Long id; // Null for audience fan-outs, clients refresh their feed instead
+    private Notification.NotificationType type;
+    private String subject;
+    private String referenceType;
+    private Long referenceId;
+}
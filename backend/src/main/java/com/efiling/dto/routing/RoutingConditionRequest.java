@@ -0,0 +1,22 @@
+package com.efiling.dto.routing;
+
+import com.efiling.domain.entity.RoutingRule;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutingConditionRequest {
+
+    @NotBlank(message = "Field is required")
+    private String field; // Dotted path into the submission data, e.g. "filing.amount"
+
+    @NotNull(message = "Operator is required")
+    private RoutingRule.Operator operator;
+
+    private String value; // Comma separated for IN, ignored for EXISTS
+}
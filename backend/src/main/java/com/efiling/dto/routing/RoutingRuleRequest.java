@@ -0,0 +1,33 @@
+package com.efiling.dto.routing;
+
+import com.efiling.domain.entity.RoutingRule;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class RoutingRuleRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name must not exceed 255 characters")
+    private String name;
+
+    private Integer priority = 100;
+
+    @NotEmpty(message = "At least one condition is required")
+    @Valid
+    private List<RoutingConditionRequest> conditions = new ArrayList<>();
+
+    @NotNull(message = "Action is required")
+    private RoutingRule.RoutingAction action;
+
+    private Long approvalWorkflowId; // Required for ROUTE_TO_WORKFLOW
+
+    private Boolean isActive = true;
+}
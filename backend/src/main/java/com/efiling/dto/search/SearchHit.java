@@ -0,0 +1,23 @@
+package com.efiling.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private String type; // DOCUMENT or SUBMISSION
+    private Long id;
+    private String number; // Document or submission number
+    private String title; // Original filename or form name
+    private String documentType;
+    private String status;
+    private LocalDateTime createdAt;
+    private float score;
+}
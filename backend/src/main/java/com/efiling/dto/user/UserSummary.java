@@ -0,0 +1,26 @@
+package com.efiling.dto.user;
+
+import com.efiling.domain.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private User.UserType userType;
+    private Long institutionId;
+    private String locale;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+}
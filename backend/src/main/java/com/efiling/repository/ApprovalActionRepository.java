@@ -0,0 +1,27 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.ApprovalAction;
+import com.efiling.dto.approval.StepLatencySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ApprovalActionRepository extends JpaRepository<ApprovalAction, Long> {
+
+    @Query("SELECT new com.efiling.dto.approval.StepLatencySummary(" +
+           "w.id, w.name, s.id, s.stepName, s.stepOrder, COUNT(aa), AVG(aa.waitSeconds), MAX(aa.waitSeconds)) " +
+           "FROM ApprovalAction aa " +
+           "JOIN aa.step s " +
+           "JOIN s.workflow w " +
+           "WHERE aa.actionedAt >= :since " +
+           "AND aa.action IN ('APPROVE', 'REJECT') " +
+           "AND aa.waitSeconds IS NOT NULL " +
+           "GROUP BY w.id, w.name, s.id, s.stepName, s.stepOrder " +
+           "ORDER BY AVG(aa.waitSeconds) DESC")
+    List<StepLatencySummary> summarizeStepLatency(@Param("since") LocalDateTime since);
+}
@@ -2,6 +2,7 @@ package com.efiling.repository;
 
 import com.efiling.domain.entity.Approval;
 import com.efiling.domain.entity.FormSubmission;
+import com.efiling.dto.approval.StepBacklogSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,4 +24,15 @@ public interface ApprovalRepository extends JpaRepository<Approval, Long> {
            "AND (EXISTS (SELECT 1 FROM User u WHERE u.id = :userId AND u MEMBER OF s.approverUsers) " +
            "OR EXISTS (SELECT 1 FROM User u JOIN u.roles r WHERE u.id = :userId AND r MEMBER OF s.approverRoles))")
     List<Approval> findPendingApprovalsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.efiling.dto.approval.StepBacklogSummary(" +
+           "w.id, w.name, s.id, s.stepName, s.stepOrder, COUNT(a), MIN(a.currentStepStartedAt)) " +
+           "FROM Approval a " +
+           "JOIN a.workflow w " +
+           "JOIN w.steps s " +
+           "WHERE a.status = 'IN_PROGRESS' " +
+           "AND s.stepOrder = a.currentStepOrder " +
+           "GROUP BY w.id, w.name, s.id, s.stepName, s.stepOrder " +
+           "ORDER BY COUNT(a) DESC")
+    List<StepBacklogSummary> summarizeStepBacklog();
 }
@@ -1,14 +1,18 @@
 package com.efiling.repository;
 
 import com.efiling.domain.entity.Document;
+import com.efiling.domain.entity.DocumentShare;
 import com.efiling.domain.entity.Institution;
 import com.efiling.domain.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +30,114 @@ public interface DocumentRepository extends JpaRepository<Document, Long>, JpaSp
            "(d.uploadedBy = :user) OR " +
            "(d.uploadedBy.institution = :institution AND d.visibleToInstitution = true)")
     List<Document> findAccessibleDocumentsByUser(@Param("user") User user, @Param("institution") Institution institution);
+
+    // Fallbacks for listings while the DocumentAccessIndex is not built; newest first
+    @Query("SELECT d FROM Document d WHERE d.id < :beforeId AND (d.uploadedBy.id = :userId OR " +
+           "(d.uploadedBy.institution.id = :institutionId AND d.visibleToInstitution = true)) ORDER BY d.id DESC")
+    List<Document> findInstitutionalBefore(@Param("userId") Long userId, @Param("institutionId") Long institutionId,
+                                           @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT d FROM Document d WHERE d.id < :beforeId AND EXISTS (SELECT 1 FROM DocumentShare s " +
+           "WHERE s.document = d AND s.isActive = true AND (s.expiresAt IS NULL OR s.expiresAt > :now) AND (" +
+           "(s.shareType = 'USER' AND s.sharedWithUser.id = :userId) OR " +
+           "(s.shareType = 'INSTITUTION' AND s.sharedWithInstitution.id = :institutionId) OR " +
+           "s.shareType = 'ALL_USERS' OR s.shareAllUsers = true)) ORDER BY d.id DESC")
+    List<Document> findSharedWithBefore(@Param("userId") Long userId, @Param("institutionId") Long institutionId,
+                                        @Param("now") LocalDateTime now, @Param("beforeId") Long beforeId,
+                                        Pageable pageable);
+
+    @Query("SELECT MAX(d.id) FROM Document d")
+    Long findMaxId();
+
+    @Query("SELECT d.id FROM Document d WHERE d.updatedAt > :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT d.id AS documentId, u.id AS ownerId, u.institution.id AS ownerInstitutionId, " +
+           "d.visibleToInstitution AS visibleToInstitution, s.shareType AS shareType, " +
+           "s.sharedWithUser.id AS sharedWithUserId, s.sharedWithInstitution.id AS sharedWithInstitutionId, " +
+           "s.shareAllUsers AS shareAllUsers, s.expiresAt AS expiresAt " +
+           "FROM Document d JOIN d.uploadedBy u " +
+           "LEFT JOIN DocumentShare s ON s.document = d AND s.isActive = true " +
+           "WHERE d.id IN :ids")
+    List<AccessRow> findAccessRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.id AS documentId, u.id AS ownerId, u.institution.id AS ownerInstitutionId, " +
+           "d.visibleToInstitution AS visibleToInstitution, s.shareType AS shareType, " +
+           "s.sharedWithUser.id AS sharedWithUserId, s.sharedWithInstitution.id AS sharedWithInstitutionId, " +
+           "s.shareAllUsers AS shareAllUsers, s.expiresAt AS expiresAt " +
+           "FROM Document d JOIN d.uploadedBy u " +
+           "LEFT JOIN DocumentShare s ON s.document = d AND s.isActive = true " +
+           "WHERE d.id > :afterId AND d.id <= :toId")
+    List<AccessRow> findAccessRowsInRange(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    @Query("SELECT d.id AS id, d.documentNumber AS documentNumber, d.originalFilename AS originalFilename, " +
+           "d.documentType AS documentType, t.name AS documentTypeName, d.metadata AS metadata, " +
+           "d.mimeType AS mimeType, d.filePath AS filePath, d.checksum AS checksum, d.status AS status, " +
+           "d.createdAt AS createdAt FROM Document d LEFT JOIN d.documentTypeEntity t WHERE d.id IN :ids")
+    List<SearchRow> findSearchRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.id FROM Document d WHERE d.id > :afterId AND d.id <= :toId")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    @Query("SELECT d.id FROM Document d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.status AS status, COUNT(d) AS count FROM Document d GROUP BY d.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * One row per active share of a document, or a single row with null share columns.
+     */
+    interface AccessRow {
+        Long getDocumentId();
+
+        Long getOwnerId();
+
+        Long getOwnerInstitutionId();
+
+        Boolean getVisibleToInstitution();
+
+        DocumentShare.ShareType getShareType();
+
+        Long getSharedWithUserId();
+
+        Long getSharedWithInstitutionId();
+
+        Boolean getShareAllUsers();
+
+        LocalDateTime getExpiresAt();
+    }
+
+    /**
+     * The searchable fields of a document.
+     */
+    interface SearchRow {
+        Long getId();
+
+        String getDocumentNumber();
+
+        String getOriginalFilename();
+
+        String getDocumentType();
+
+        String getDocumentTypeName();
+
+        String getMetadata();
+
+        String getMimeType();
+
+        String getFilePath();
+
+        String getChecksum();
+
+        Document.DocumentStatus getStatus();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface StatusCount {
+        Document.DocumentStatus getStatus();
+
+        Long getCount();
+    }
 }
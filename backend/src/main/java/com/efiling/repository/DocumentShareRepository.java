@@ -5,10 +5,13 @@ import com.efiling.domain.entity.DocumentShare;
 import com.efiling.domain.entity.Institution;
 import com.efiling.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,14 +21,50 @@ public interface DocumentShareRepository extends JpaRepository<DocumentShare, Lo
 
     List<DocumentShare> findBySharedBy(User sharedBy);
 
-    @Query("SELECT ds FROM DocumentShare ds WHERE " +
+    @Query("SELECT ds FROM DocumentShare ds WHERE ds.isActive = true AND " +
+           "(ds.expiresAt IS NULL OR ds.expiresAt > CURRENT_TIMESTAMP) AND (" +
            "(ds.shareType = 'USER' AND ds.sharedWithUser = :user) OR " +
            "(ds.shareType = 'INSTITUTION' AND ds.sharedWithInstitution = :institution) OR " +
-           "(ds.shareType = 'ALL_USERS' AND ds.shareAllUsers = true) " +
-           "AND ds.isActive = true")
+           "(ds.shareType = 'ALL_USERS' AND ds.shareAllUsers = true))")
     List<DocumentShare> findSharedDocumentsForUser(@Param("user") User user, @Param("institution") Institution institution);
 
     boolean existsByDocumentAndSharedWithUser(Document document, User user);
 
     boolean existsByDocumentAndShareAllUsersTrue(Document document);
+
+    @Query("SELECT DISTINCT ds.document.id FROM DocumentShare ds WHERE ds.updatedAt > :since")
+    List<Long> findDocumentIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // The expiry queries below are served by the partial index idx_document_shares_active_expiry
+    // and skip rows another node is already processing
+
+    @Query(value = "SELECT id AS id, document_id AS documentId FROM document_shares " +
+                   "WHERE is_active AND expires_at IS NOT NULL AND expires_at <= :now " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ShareRef> lockExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM document_shares " +
+                   "WHERE is_active AND expires_at IS NOT NULL AND expires_at > :now AND expires_at <= :until " +
+                   "AND expiry_warning_sent_at IS NULL " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockExpiringUnwarned(@Param("now") LocalDateTime now, @Param("until") LocalDateTime until,
+                                    @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE DocumentShare ds SET ds.isActive = false, ds.updatedAt = :now WHERE ds.id IN :ids")
+    int deactivate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE DocumentShare ds SET ds.expiryWarningSentAt = :now WHERE ds.id IN :ids")
+    int markExpiryWarned(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT ds FROM DocumentShare ds JOIN FETCH ds.document JOIN FETCH ds.sharedBy " +
+           "LEFT JOIN FETCH ds.sharedWithUser WHERE ds.id IN :ids")
+    List<DocumentShare> findWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface ShareRef {
+        Long getId();
+
+        Long getDocumentId();
+    }
 }
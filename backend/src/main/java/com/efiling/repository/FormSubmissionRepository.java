@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +28,60 @@ public interface FormSubmissionRepository extends JpaRepository<FormSubmission,
            "(fs.submittedBy = :user) OR " +
            "(fs.submittedBy.institution = :institution AND fs.visibleToInstitution = true)")
     List<FormSubmission> findAccessibleSubmissionsByUser(@Param("user") User user, @Param("institution") Institution institution);
+
+    @Query("SELECT fs.id FROM FormSubmission fs WHERE fs.id IN :ids AND (fs.submittedBy.id = :userId OR " +
+           "(fs.submittedBy.institution.id = :institutionId AND fs.visibleToInstitution = true))")
+    List<Long> findAccessibleIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                                 @Param("institutionId") Long institutionId);
+
+    @Query("SELECT MAX(fs.id) FROM FormSubmission fs")
+    Long findMaxId();
+
+    @Query("SELECT fs.id FROM FormSubmission fs WHERE fs.updatedAt > :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT fs.id FROM FormSubmission fs WHERE fs.id > :afterId AND fs.id <= :toId")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    @Query("SELECT fs.id FROM FormSubmission fs WHERE fs.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT fs.id AS id, fs.submissionNumber AS submissionNumber, f.name AS formName, fs.data AS data, " +
+           "fs.status AS status, u.id AS submittedById, u.institution.id AS submitterInstitutionId, " +
+           "fs.visibleToInstitution AS visibleToInstitution, fs.createdAt AS createdAt " +
+           "FROM FormSubmission fs JOIN fs.form f JOIN fs.submittedBy u WHERE fs.id IN :ids")
+    List<SearchRow> findSearchRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT fs.status AS status, COUNT(fs) AS count FROM FormSubmission fs " +
+           "WHERE fs.submittedBy.id = :userId GROUP BY fs.status")
+    List<StatusCount> countByStatusForUser(@Param("userId") Long userId);
+
+    /**
+     * The searchable fields of a submission and who may see it.
+     */
+    interface SearchRow {
+        Long getId();
+
+        String getSubmissionNumber();
+
+        String getFormName();
+
+        String getData();
+
+        FormSubmission.SubmissionStatus getStatus();
+
+        Long getSubmittedById();
+
+        Long getSubmitterInstitutionId();
+
+        Boolean getVisibleToInstitution();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface StatusCount {
+        FormSubmission.SubmissionStatus getStatus();
+
+        Long getCount();
+    }
 }
@@ -0,0 +1,84 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.dto.notification.NotificationFeedFilter;
+import com.efiling.dto.notification.NotificationFeedItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads a user's notifications newest first as lightweight rows. Pages continue from the
+ * (created_at, id) of the previous page's last row, which the idx_notifications_user_created
+ * index serves directly regardless of how deep the user scrolls.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationFeedRepository {
+
+    private static final String SELECT_FEED =
+            "SELECT n.id, n.type, n.subject, n.message, n.channel, n.is_read, n.read_at, " +
+            "n.reference_type, n.reference_id, n.created_at " +
+            "FROM notifications n WHERE n.user_id = :userId";
+
+    private static final RowMapper<NotificationFeedItem> FEED_MAPPER = (rs, rowNum) -> {
+        Timestamp readAt = rs.getTimestamp("read_at");
+        return NotificationFeedItem.builder()
+                .id(rs.getLong("id"))
+                .type(Notification.NotificationType.valueOf(rs.getString("type")))
+                .subject(rs.getString("subject"))
+                .message(rs.getString("message"))
+                .channel(Notification.NotificationChannel.valueOf(rs.getString("channel")))
+                .isRead(rs.getBoolean("is_read"))
+                .readAt(readAt != null ? readAt.toLocalDateTime() : null)
+                .referenceType(rs.getString("reference_type"))
+                .referenceId((Long) rs.getObject("reference_id"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns up to limit rows older than the (beforeCreatedAt, beforeId) position, or the
+     * newest rows when no position is given.
+     */
+    public List<NotificationFeedItem> findPage(Long userId, NotificationFeedFilter filter,
+                                               LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_FEED);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+
+        if (beforeCreatedAt != null && beforeId != null) {
+            sql.append(" AND (n.created_at, n.id) < (:beforeCreatedAt, :beforeId)");
+            params.addValue("beforeCreatedAt", Timestamp.valueOf(beforeCreatedAt))
+                    .addValue("beforeId", beforeId);
+        }
+        if (filter.getType() != null) {
+            sql.append(" AND n.type = :type");
+            params.addValue("type", filter.getType().name());
+        }
+        if (filter.getRead() != null) {
+            sql.append(" AND n.is_read = :read");
+            params.addValue("read", filter.getRead());
+        }
+        if (filter.getReferenceType() != null) {
+            sql.append(" AND n.reference_type = :referenceType");
+            params.addValue("referenceType", filter.getReferenceType());
+        }
+        if (filter.getReferenceId() != null) {
+            sql.append(" AND n.reference_id = :referenceId");
+            params.addValue("referenceId", filter.getReferenceId());
+        }
+
+        sql.append(" ORDER BY n.created_at DESC, n.id DESC LIMIT :limit");
+        return jdbcTemplate.query(sql.toString(), params, FEED_MAPPER);
+    }
+}
@@ -0,0 +1,420 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.service.notification.NotificationAudience;
+import com.efiling.service.notification.OutboundNotification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Set-based outbox operations used by the notification dispatcher. Claiming relies on
+ * PostgreSQL's FOR UPDATE SKIP LOCKED so several dispatchers can drain the table concurrently.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxRepository {
+
+    // provider_status of an SMS whose send timed out without an answer from the provider
+    public static final String UNCONFIRMED = "unconfirmed";
+
+    private static final String CLAIM_PENDING =
+            "UPDATE notifications SET status = 'PROCESSING', claimed_at = :now " +
+            "FROM users u " +
+            "WHERE notifications.id IN (" +
+            "    SELECT id FROM notifications " +
+            "    WHERE status = 'PENDING' AND priority = :priority AND channel <> 'IN_APP' " +
+            "    AND channel NOT IN (:blockedChannels) " +
+            "    ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "AND u.id = notifications.user_id " +
+            "RETURNING notifications.id, notifications.channel, notifications.type, notifications.priority, " +
+            "notifications.subject, notifications.message, notifications.html_message, notifications.reference_type, " +
+            "notifications.reference_id, notifications.retry_count, notifications.created_at, notifications.provider_status, " +
+            "u.id AS user_id, u.email, u.phone_number, u.locale";
+
+    private static final String MARK_SENT =
+            "UPDATE notifications SET status = 'SENT', sent_at = :now, claimed_at = NULL, error_message = NULL " +
+            "WHERE id IN (:ids)";
+
+    private static final String MARK_FAILED =
+            "UPDATE notifications SET status = :status, claimed_at = NULL, error_message = :error, " +
+            "next_attempt_at = :nextAttemptAt, retry_count = retry_count + 1 WHERE id = :id";
+
+    private static final String RELEASE_CLAIMS =
+            "UPDATE notifications SET status = 'PENDING', claimed_at = NULL WHERE id IN (:ids)";
+
+    private static final String REQUEUE_DUE_RETRIES =
+            "UPDATE notifications SET status = 'PENDING', next_attempt_at = NULL " +
+            "WHERE id IN (" +
+            "    SELECT id FROM notifications " +
+            "    WHERE status = 'FAILED' AND next_attempt_at <= :now AND channel NOT IN (:blockedChannels) " +
+            "    ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED)";
+
+    private static final String RECORD_PROVIDER_MESSAGE_ID =
+            "UPDATE notifications SET provider_message_id = :messageId, " +
+            "provider_status = CASE WHEN provider_status = :unconfirmed THEN NULL ELSE provider_status END " +
+            "WHERE id = :id";
+
+    private static final String MARK_UNCONFIRMED =
+            "UPDATE notifications SET provider_status = :unconfirmed WHERE id IN (:ids)";
+
+    // A failed attempt awaiting its retry turns out to have been sent after all
+    private static final String ADOPT_PROVIDER_MESSAGE =
+            "UPDATE notifications SET provider_message_id = :messageId, provider_status = NULL, " +
+            "status = CASE WHEN status = 'FAILED' THEN 'SENT' ELSE status END, " +
+            "sent_at = CASE WHEN status = 'FAILED' THEN :now ELSE sent_at END, " +
+            "next_attempt_at = CASE WHEN status = 'FAILED' THEN NULL ELSE next_attempt_at END, " +
+            "error_message = CASE WHEN status = 'FAILED' THEN NULL ELSE error_message END " +
+            "WHERE id = :id AND channel = 'SMS' AND provider_message_id IS NULL AND provider_status = :unconfirmed " +
+            "RETURNING id, status, retry_count";
+
+    private static final String FIND_RECENT_SMS_REFERENCES =
+            "SELECT DISTINCT user_id, type, reference_type, reference_id FROM notifications " +
+            "WHERE channel = 'SMS' AND status = 'SENT' AND sent_at >= :since " +
+            "AND reference_id IS NOT NULL AND user_id IN (:userIds)";
+
+    private static final String FIND_BY_PROVIDER_MESSAGE_ID =
+            "SELECT id, status, retry_count FROM notifications WHERE provider_message_id = :messageId";
+
+    private static final String UPDATE_PROVIDER_STATUS =
+            "UPDATE notifications SET provider_status = :providerStatus WHERE id = :id";
+
+    private static final String RELEASE_STALE_CLAIMS =
+            "UPDATE notifications SET status = 'PENDING', claimed_at = NULL " +
+            "WHERE status = 'PROCESSING' AND claimed_at < :cutoff";
+
+    private static final String INSERT_FOR_AUDIENCE =
+            "INSERT INTO notifications (user_id, type, priority, subject, message, html_message, channel, status, " +
+            "is_read, sent_at, reference_type, reference_id, retry_count, created_at) " +
+            "SELECT u.id, :type, :priority, :subject, :message, :htmlMessage, :channel, :status, false, :sentAt, " +
+            ":referenceType, :referenceId, 0, :now " +
+            "FROM users u WHERE u.is_active = true";
+
+    private static final String INCREMENT_COUNTERS_FOR_AUDIENCE =
+            "INSERT INTO user_notification_counters (user_id, unread_count) " +
+            "SELECT u.id, 1 FROM users u WHERE u.is_active = true";
+
+    private static final String ON_COUNTER_CONFLICT =
+            " ON CONFLICT (user_id) DO UPDATE SET unread_count = user_notification_counters.unread_count + 1";
+
+    private static final String FIND_AUDIENCE_LOCALES =
+            "SELECT DISTINCT u.locale FROM users u WHERE u.is_active = true";
+
+    private static final String FILTER_AUDIENCE_MEMBERS =
+            "SELECT u.id FROM users u WHERE u.is_active = true AND u.id IN (:userIds)";
+
+    private static final String INSTITUTION_MEMBERS = " AND u.institution_id = :targetId";
+
+    private static final String ROLE_MEMBERS =
+            " AND u.id IN (SELECT ur.user_id FROM user_roles ur WHERE ur.role_id IN (:roleIds))";
+
+    private static final String STEP_APPROVERS =
+            " AND (u.id IN (SELECT sau.user_id FROM step_approver_users sau WHERE sau.step_id = :targetId) " +
+            "OR u.id IN (SELECT ur.user_id FROM user_roles ur " +
+            "JOIN step_approver_roles sar ON sar.role_id = ur.role_id WHERE sar.step_id = :targetId))";
+
+    private static final RowMapper<OutboundNotification> OUTBOUND_MAPPER = (rs, rowNum) -> OutboundNotification.builder()
+            .id(rs.getLong("id"))
+            .channel(Notification.NotificationChannel.valueOf(rs.getString("channel")))
+            .type(Notification.NotificationType.valueOf(rs.getString("type")))
+            .priority(Notification.NotificationPriority.valueOf(rs.getString("priority")))
+            .subject(rs.getString("subject"))
+            .message(rs.getString("message"))
+            .htmlMessage(rs.getString("html_message"))
+            .referenceType(rs.getString("reference_type"))
+            .referenceId((Long) rs.getObject("reference_id"))
+            .retryCount(rs.getInt("retry_count"))
+            .userId(rs.getLong("user_id"))
+            .email(rs.getString("email"))
+            .phoneNumber(rs.getString("phone_number"))
+            .locale(rs.getString("locale"))
+            .providerStatus(rs.getString("provider_status"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts one notification per active member of the audience and bumps their unread
+     * counters. Must run inside a transaction; returns the number of recipients.
+     */
+    public int insertForAudience(NotificationAudience audience, Notification.NotificationType type,
+                                 Notification.NotificationPriority priority, String subject,
+                                 String message, Notification.NotificationChannel channel,
+                                 String referenceType, Long referenceId) {
+        return insertForAudience(audience, null, type, priority, subject, message, null, channel,
+                referenceType, referenceId);
+    }
+
+    /**
+     * Like {@link #insertForAudience(NotificationAudience, Notification.NotificationType,
+     * Notification.NotificationPriority, String, String, Notification.NotificationChannel, String, Long)}
+     * but only for the members whose locale is in the group, or every member when the group is null.
+     */
+    public int insertForAudience(NotificationAudience audience, LocaleGroup localeGroup,
+                                 Notification.NotificationType type, Notification.NotificationPriority priority,
+                                 String subject, String message, String htmlMessage,
+                                 Notification.NotificationChannel channel, String referenceType, Long referenceId) {
+        if (audience.getKind() == NotificationAudience.Kind.ROLES && audience.getRoleIds().isEmpty()) {
+            return 0;
+        }
+        String predicate = predicateFor(audience) + predicateFor(localeGroup);
+
+        // In-app notifications are just stored in DB
+        boolean inApp = channel == Notification.NotificationChannel.IN_APP;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("type", type.name())
+                .addValue("priority", priority.name())
+                .addValue("subject", subject)
+                .addValue("message", message)
+                .addValue("htmlMessage", htmlMessage, Types.VARCHAR)
+                .addValue("channel", channel.name())
+                .addValue("status", inApp
+                        ? Notification.NotificationStatus.SENT.name()
+                        : Notification.NotificationStatus.PENDING.name())
+                .addValue("sentAt", inApp ? now : null, Types.TIMESTAMP)
+                .addValue("referenceType", referenceType)
+                .addValue("referenceId", referenceId, Types.BIGINT)
+                .addValue("now", now);
+        addAudienceParams(params, audience);
+        if (localeGroup != null && !localeGroup.locales().isEmpty()) {
+            params.addValue("locales", localeGroup.locales());
+        }
+
+        int recipients = jdbcTemplate.update(INSERT_FOR_AUDIENCE + predicate, params);
+        if (recipients > 0) {
+            jdbcTemplate.update(INCREMENT_COUNTERS_FOR_AUDIENCE + predicate + ON_COUNTER_CONFLICT, params);
+        }
+        return recipients;
+    }
+
+    /**
+     * Distinct locales of the active audience members; null stands for members without one.
+     */
+    public List<String> findAudienceLocales(NotificationAudience audience) {
+        if (audience.getKind() == NotificationAudience.Kind.ROLES && audience.getRoleIds().isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addAudienceParams(params, audience);
+        return jdbcTemplate.queryForList(FIND_AUDIENCE_LOCALES + predicateFor(audience), params, String.class);
+    }
+
+    /**
+     * Returns which of the given users belong to the audience.
+     */
+    public List<Long> filterAudienceMembers(NotificationAudience audience, Collection<Long> userIds) {
+        if (userIds.isEmpty()
+                || (audience.getKind() == NotificationAudience.Kind.ROLES && audience.getRoleIds().isEmpty())) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("userIds", userIds);
+        addAudienceParams(params, audience);
+        return jdbcTemplate.queryForList(FILTER_AUDIENCE_MEMBERS + predicateFor(audience), params, Long.class);
+    }
+
+    /**
+     * Claims up to limit PENDING notifications of one lane, skipping channels whose circuit is open.
+     */
+    public List<OutboundNotification> claimPending(Notification.NotificationPriority priority, int limit,
+                                                   Collection<Notification.NotificationChannel> blockedChannels) {
+        return jdbcTemplate.query(CLAIM_PENDING, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("priority", priority.name())
+                .addValue("limit", limit)
+                .addValue("blockedChannels", channelNames(blockedChannels)), OUTBOUND_MAPPER);
+    }
+
+    /**
+     * Moves up to limit FAILED notifications whose next attempt is due back to PENDING.
+     */
+    public int requeueDueRetries(int limit, Collection<Notification.NotificationChannel> blockedChannels) {
+        return jdbcTemplate.update(REQUEUE_DUE_RETRIES, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("limit", limit)
+                .addValue("blockedChannels", channelNames(blockedChannels)));
+    }
+
+    /**
+     * Hands claimed notifications back without counting an attempt.
+     */
+    public void releaseClaims(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(RELEASE_CLAIMS, new MapSqlParameterSource().addValue("ids", ids));
+    }
+
+    public void markSent(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(MARK_SENT, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("ids", ids));
+    }
+
+    /**
+     * Records failed deliveries with the status and next attempt time decided by the caller.
+     */
+    public void markFailed(Collection<FailedDelivery> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = failures.stream()
+                .map(failure -> new MapSqlParameterSource()
+                        .addValue("id", failure.id())
+                        .addValue("status", failure.status().name())
+                        .addValue("error", truncate(failure.error()))
+                        .addValue("nextAttemptAt", failure.nextAttemptAt() != null
+                                ? Timestamp.valueOf(failure.nextAttemptAt()) : null, Types.TIMESTAMP))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(MARK_FAILED, batch);
+    }
+
+    public void recordProviderMessageIds(Map<Long, String> messageIdsById) {
+        if (messageIdsById.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = messageIdsById.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("messageId", entry.getValue())
+                        .addValue("unconfirmed", UNCONFIRMED))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(RECORD_PROVIDER_MESSAGE_ID, batch);
+    }
+
+    /**
+     * References of SMS already sent to the given users since the cutoff, for de-duplication.
+     */
+    public List<SmsReference> findRecentSmsReferences(Collection<Long> userIds, LocalDateTime since) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_RECENT_SMS_REFERENCES, new MapSqlParameterSource()
+                        .addValue("userIds", userIds)
+                        .addValue("since", Timestamp.valueOf(since)),
+                (rs, rowNum) -> new SmsReference(rs.getLong("user_id"),
+                        Notification.NotificationType.valueOf(rs.getString("type")),
+                        rs.getString("reference_type"), rs.getLong("reference_id")));
+    }
+
+    public Optional<ProviderMessage> findByProviderMessageId(String messageId) {
+        return jdbcTemplate.query(FIND_BY_PROVIDER_MESSAGE_ID,
+                new MapSqlParameterSource().addValue("messageId", messageId),
+                (rs, rowNum) -> new ProviderMessage(rs.getLong("id"),
+                        Notification.NotificationStatus.valueOf(rs.getString("status")),
+                        rs.getInt("retry_count"))).stream().findFirst();
+    }
+
+    /**
+     * Flags SMS whose send timed out: the provider may have accepted them, so they must be
+     * reconciled before being sent again.
+     */
+    public void markUnconfirmed(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(MARK_UNCONFIRMED, new MapSqlParameterSource()
+                .addValue("unconfirmed", UNCONFIRMED)
+                .addValue("ids", ids));
+    }
+
+    /**
+     * Attaches a provider message to an unconfirmed SMS, marking it sent if it was waiting for
+     * a retry. Empty when the notification is not awaiting confirmation.
+     */
+    public Optional<ProviderMessage> adoptProviderMessage(Long id, String messageId) {
+        return jdbcTemplate.query(ADOPT_PROVIDER_MESSAGE, new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("messageId", messageId)
+                        .addValue("unconfirmed", UNCONFIRMED)
+                        .addValue("now", Timestamp.valueOf(LocalDateTime.now())),
+                (rs, rowNum) -> new ProviderMessage(rs.getLong("id"),
+                        Notification.NotificationStatus.valueOf(rs.getString("status")),
+                        rs.getInt("retry_count"))).stream().findFirst();
+    }
+
+    public void updateProviderStatus(Long id, String providerStatus) {
+        jdbcTemplate.update(UPDATE_PROVIDER_STATUS, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("providerStatus", providerStatus));
+    }
+
+    public int releaseStaleClaims(LocalDateTime cutoff) {
+        return jdbcTemplate.update(RELEASE_STALE_CLAIMS, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff)));
+    }
+
+    // NOT IN () is invalid SQL, so an empty set is replaced by a value no row has
+    private static List<String> channelNames(Collection<Notification.NotificationChannel> channels) {
+        if (channels.isEmpty()) {
+            return List.of("");
+        }
+        return channels.stream().map(Enum::name).toList();
+    }
+
+    private static String predicateFor(NotificationAudience audience) {
+        return switch (audience.getKind()) {
+            case INSTITUTION -> INSTITUTION_MEMBERS;
+            case ROLES -> ROLE_MEMBERS;
+            case APPROVAL_STEP -> STEP_APPROVERS;
+            case ALL_USERS -> "";
+        };
+    }
+
+    private static String predicateFor(LocaleGroup localeGroup) {
+        if (localeGroup == null) {
+            return "";
+        }
+        if (localeGroup.locales().isEmpty()) {
+            return localeGroup.includeUnset() ? " AND u.locale IS NULL" : " AND false";
+        }
+        return localeGroup.includeUnset()
+                ? " AND (u.locale IS NULL OR u.locale IN (:locales))"
+                : " AND u.locale IN (:locales)";
+    }
+
+    private static void addAudienceParams(MapSqlParameterSource params, NotificationAudience audience) {
+        params.addValue("targetId", audience.getTargetId(), Types.BIGINT)
+                .addValue("roleIds", audience.getRoleIds().isEmpty() ? null : audience.getRoleIds());
+    }
+
+    /**
+     * Recipients selected by locale; includeUnset adds the members without a locale.
+     */
+    public record LocaleGroup(Collection<String> locales, boolean includeUnset) {
+    }
+
+    public record SmsReference(Long userId, Notification.NotificationType type, String referenceType,
+                               Long referenceId) {
+    }
+
+    public record ProviderMessage(Long id, Notification.NotificationStatus status, int retryCount) {
+    }
+
+    public record FailedDelivery(Long id, String error, Notification.NotificationStatus status,
+                                 LocalDateTime nextAttemptAt) {
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 255 ? error.substring(0, 255) : error;
+    }
+}
@@ -0,0 +1,21 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.NotificationTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationTemplateRepository extends JpaRepository<NotificationTemplate, Long> {
+    Optional<NotificationTemplate> findByCodeAndLocale(String code, String locale);
+    boolean existsByCodeAndLocale(String code, String locale);
+    List<NotificationTemplate> findByUpdatedAtAfter(LocalDateTime updatedAt);
+    List<NotificationTemplate> findAllByOrderByCodeAscLocaleAsc();
+
+    @Query("SELECT MAX(t.updatedAt) FROM NotificationTemplate t")
+    LocalDateTime findLastUpdatedAt();
+}
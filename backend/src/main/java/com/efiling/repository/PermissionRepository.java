@@ -2,12 +2,17 @@ package com.efiling.repository;
 
 import com.efiling.domain.entity.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
     Optional<Permission> findByName(String name);
     boolean existsByName(String name);
+
+    @Query("SELECT p.name FROM Permission p ORDER BY p.id")
+    List<String> findAllNames();
 }
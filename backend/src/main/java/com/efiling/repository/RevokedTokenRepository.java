@@ -0,0 +1,24 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT t.id FROM RevokedToken t WHERE t.revokedAt > :since")
+    List<String> findIdsRevokedSince(LocalDateTime since);
+
+    @Query("SELECT t.id FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findUnexpiredIds(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(LocalDateTime cutoff);
+}
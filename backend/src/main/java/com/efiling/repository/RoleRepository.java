@@ -2,12 +2,17 @@ package com.efiling.repository;
 
 import com.efiling.domain.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
     boolean existsByName(String name);
+
+    @Query("SELECT r.name FROM Role r ORDER BY r.id")
+    List<String> findAllNames();
 }
@@ -0,0 +1,13 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.RoutingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RoutingRuleRepository extends JpaRepository<RoutingRule, Long> {
+    List<RoutingRule> findByFormIdOrderByPriorityAsc(Long formId);
+    List<RoutingRule> findByFormIdAndIsActiveTrueOrderByPriorityAsc(Long formId);
+}
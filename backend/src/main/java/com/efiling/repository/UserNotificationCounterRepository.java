@@ -0,0 +1,41 @@
+package com.efiling.repository;
+
+import com.efiling.domain.entity.UserNotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserNotificationCounterRepository extends JpaRepository<UserNotificationCounter, Long> {
+
+    @Query("SELECT c.unreadCount FROM UserNotificationCounter c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_counters (user_id, unread_count) VALUES (:userId, :delta) " +
+                   "ON CONFLICT (user_id) DO UPDATE " +
+                   "SET unread_count = user_notification_counters.unread_count + EXCLUDED.unread_count",
+           nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE user_notification_counters SET unread_count = GREATEST(unread_count - :delta, 0) " +
+                   "WHERE user_id = :userId",
+           nativeQuery = true)
+    void decrement(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Rebuilds every counter from the notifications table.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_counters (user_id, unread_count) " +
+                   "SELECT u.id, (SELECT COUNT(*) FROM notifications n WHERE n.user_id = u.id AND n.is_read = false) " +
+                   "FROM users u " +
+                   "ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count",
+           nativeQuery = true)
+    int rebuildAll();
+}
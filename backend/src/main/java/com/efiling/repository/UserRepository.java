@@ -1,7 +1,9 @@
 package com.efiling.repository;
 
 import com.efiling.domain.entity.User;
+import com.efiling.dto.user.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +20,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u JOIN FETCH u.roles r JOIN FETCH r.permissions WHERE u.username = :username")
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles r LEFT JOIN FETCH r.permissions WHERE u.username = :username")
     Optional<User> findByUsernameWithRolesAndPermissions(String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePasswordHash(Long id, String password);
+
+    @Query("SELECT u.securityVersion AS securityVersion, u.isActive AS isActive, u.institution.id AS institutionId " +
+           "FROM User u WHERE u.id = :id")
+    Optional<SecurityState> findSecurityStateById(Long id);
+
+    @Query("SELECT new com.efiling.dto.user.UserSummary(u.id, u.username, u.email, u.firstName, u.lastName, " +
+           "u.userType, u.institution.id, u.locale, u.isActive, u.createdAt) FROM User u WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(Long id);
+
+    interface SecurityState {
+        Long getSecurityVersion();
+
+        Boolean getIsActive();
+
+        Long getInstitutionId();
+    }
 }
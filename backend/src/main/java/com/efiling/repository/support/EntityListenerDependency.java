@@ -0,0 +1,21 @@
+package com.efiling.repository.support;
+
+import org.springframework.context.annotation.Lazy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a dependency of a JPA entity listener that Hibernate resolves as a Spring bean. The
+ * entity manager factory creates such listeners while it starts, before the repositories the
+ * dependency needs can exist, so the dependency is injected as a lazy proxy.
+ */
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Lazy
+public @interface EntityListenerDependency {
+}
@@ -0,0 +1,131 @@
+package com.efiling.repository.support;
+
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.common.PageParams;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Runs {@link KeysetQuery}s a page at a time. Each page continues from the (sort value, id)
+ * of the previous page's last row instead of an offset, so deep pages cost the same as the
+ * first one when an index covers the sort column.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    public <T> CursorPage<T> page(KeysetQuery<T> query, PageParams params) {
+        String sortName = params.getSort() != null && !params.getSort().isBlank() ? params.getSort() : query.defaultSort;
+        SortField<T> sort = query.sortFields.get(sortName);
+        if (sort == null) {
+            throw new RuntimeException("Unsupported sort: " + sortName + ", expected one of " + query.sortFields.keySet());
+        }
+        // Dates list newest first unless asked otherwise, everything else ascending
+        boolean ascending = ascending(params.getDirection(), sort.type() != LocalDateTime.class);
+        int pageSize = params.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(params.getSize(), MAX_PAGE_SIZE));
+
+        StringBuilder jpql = new StringBuilder(query.select);
+        List<String> conditions = new ArrayList<>(query.conditions);
+        Position position = decode(params.getCursor(), sort, ascending);
+        if (position != null) {
+            String op = ascending ? ">" : "<";
+            conditions.add("(" + sort.path() + " " + op + " :keysetValue OR (" + sort.path()
+                    + " = :keysetValue AND e.id " + op + " :keysetId))");
+        }
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String order = ascending ? " ASC" : " DESC";
+        jpql.append(" ORDER BY ").append(sort.path()).append(order).append(", e.id").append(order);
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(jpql.toString(), query.type);
+        query.parameters.forEach(typedQuery::setParameter);
+        if (position != null) {
+            typedQuery.setParameter("keysetValue", position.value());
+            typedQuery.setParameter("keysetId", position.id());
+        }
+        // Fetch one extra row to know whether another page exists
+        List<T> items = typedQuery.setMaxResults(pageSize + 1).getResultList();
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            nextCursor = encode(sort, ascending, sort.accessor().apply(last), query.idAccessor.apply(last));
+        }
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static boolean ascending(String direction, boolean defaultAscending) {
+        if (direction == null || direction.isBlank()) {
+            return defaultAscending;
+        }
+        return switch (direction.toLowerCase()) {
+            case "asc" -> true;
+            case "desc" -> false;
+            default -> throw new RuntimeException("Unsupported direction: " + direction);
+        };
+    }
+
+    private static String encode(SortField<?> sort, boolean ascending, Object value, Long id) {
+        String position = sort.name() + "|" + (ascending ? "asc" : "desc") + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor, SortField<?> sort, boolean ascending) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        // A cursor only continues the order it was issued for
+        if (parts.length != 4 || !parts[0].equals(sort.name()) || !parts[1].equals(ascending ? "asc" : "desc")) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        try {
+            return new Position(parseValue(sort.type(), parts[3]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private static Object parseValue(Class<?> type, String value) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == Long.class) {
+            return Long.parseLong(value);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        throw new IllegalArgumentException("Unsupported sort type " + type.getSimpleName());
+    }
+
+    private record Position(Object value, Long id) {
+    }
+}
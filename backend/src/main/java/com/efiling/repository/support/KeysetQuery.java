@@ -0,0 +1,56 @@
+package com.efiling.repository.support;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Describes a pageable list: a JPQL select into a projection whose root alias is {@code e},
+ * optional conditions and the whitelist of sortable columns. Ties are broken by e.id.
+ */
+public final class KeysetQuery<T> {
+
+    final Class<T> type;
+    final String select;
+    final Function<T, Long> idAccessor;
+    final List<String> conditions = new ArrayList<>();
+    final Map<String, Object> parameters = new HashMap<>();
+    final Map<String, SortField<T>> sortFields = new LinkedHashMap<>();
+    String defaultSort;
+
+    private KeysetQuery(Class<T> type, String select, Function<T, Long> idAccessor) {
+        this.type = type;
+        this.select = select;
+        this.idAccessor = idAccessor;
+    }
+
+    public static <T> KeysetQuery<T> select(Class<T> type, String select, Function<T, Long> idAccessor) {
+        return new KeysetQuery<>(type, select, idAccessor);
+    }
+
+    public KeysetQuery<T> where(String condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    public KeysetQuery<T> where(String condition, String parameter, Object value) {
+        return where(condition).param(parameter, value);
+    }
+
+    public KeysetQuery<T> param(String name, Object value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    public KeysetQuery<T> sortable(String name, String path, Class<?> valueType, Function<T, ?> accessor) {
+        sortFields.put(name, new SortField<>(name, path, valueType, accessor));
+        return this;
+    }
+
+    /**
+     * The sort used when the request names none; must be one of the sortable fields.
+     */
+    public KeysetQuery<T> defaultSort(String name) {
+        this.defaultSort = name;
+        return this;
+    }
+}
@@ -0,0 +1,11 @@
+package com.efiling.repository.support;
+
+import java.util.function.Function;
+
+/**
+ * A column a list may be sorted by: its name in the sort parameter, its JPQL path, the type
+ * of its values and how to read the value back from a returned row. Only non-null columns
+ * qualify, since the next page continues from the last row's value.
+ */
+public record SortField<T>(String name, String path, Class<?> type, Function<T, ?> accessor) {
+}
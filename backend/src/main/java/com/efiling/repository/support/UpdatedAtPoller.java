@@ -0,0 +1,53 @@
+package com.efiling.repository.support;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the window of a poll for rows changed by updated_at. Each poll reads the rows changed
+ * since the previous one started, less an overlap: updated_at is set before the transaction
+ * commits, so a row committed slightly after a poll started can carry an earlier timestamp
+ * and would otherwise fall between two windows. Rows in the overlap are read twice, which
+ * callers must tolerate.
+ */
+public class UpdatedAtPoller {
+
+    private static final Duration OVERLAP = Duration.ofSeconds(30);
+
+    private volatile LocalDateTime syncedAt;
+
+    /**
+     * When the last completed poll or full load started, or null before the first one.
+     */
+    public LocalDateTime getSyncedAt() {
+        return syncedAt;
+    }
+
+    /**
+     * Starts a poll, or returns null when nothing has been loaded yet and a full load is due.
+     */
+    public Window next() {
+        LocalDateTime last = syncedAt;
+        return last == null ? null : new Window(last.minus(OVERLAP), LocalDateTime.now());
+    }
+
+    /**
+     * Records a poll that read its whole window; the next one continues from its start.
+     */
+    public void completed(Window window) {
+        syncedAt = window.started();
+    }
+
+    /**
+     * Records a full load, or a resumed one, as of the given time.
+     */
+    public void loaded(LocalDateTime startedAt) {
+        syncedAt = startedAt;
+    }
+
+    /**
+     * Rows updated after since are the ones to read; started is when the poll began.
+     */
+    public record Window(LocalDateTime since, LocalDateTime started) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.efiling.security;
+
+/**
+ * A set of authorities as a bitset over the dense indexes of one {@link PermissionRegistry}
+ * generation.
+ */
+record AuthorityBits(long generation, long[] words) {
+
+    boolean intersects(long[] mask) {
+        int length = Math.min(words.length, mask.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & mask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean contains(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.efiling.security;
+
+import com.efiling.repository.support.EntityListenerDependency;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on roles and permissions; Hibernate resolves it as a Spring bean. Any change
+ * marks the {@link PermissionRegistry} for a rebuild on its next use.
+ */
+@Component
+public class AuthorityChangeListener {
+
+    private final PermissionRegistry permissionRegistry;
+
+    public AuthorityChangeListener(@EntityListenerDependency PermissionRegistry permissionRegistry) {
+        this.permissionRegistry = permissionRegistry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        permissionRegistry.markStale();
+    }
+}
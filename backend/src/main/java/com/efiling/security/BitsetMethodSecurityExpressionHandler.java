@@ -0,0 +1,140 @@
+package com.efiling.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates @PreAuthorize expressions against a root whose role and authority checks test
+ * bits in the {@link PermissionRegistry} instead of matching strings.
+ */
+public class BitsetMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final PermissionRegistry permissionRegistry;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public BitsetMethodSecurityExpressionHandler(PermissionRegistry permissionRegistry) {
+        this.permissionRegistry = permissionRegistry;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, mi);
+        context.setRootObject(new Root(authentication, mi.getThis()));
+        return context;
+    }
+
+    private class Root implements MethodSecurityExpressionOperations {
+
+        private final Supplier<Authentication> authentication;
+        private final Object target;
+        private Object filterObject;
+        private Object returnObject;
+
+        Root(Supplier<Authentication> authentication, Object target) {
+            this.authentication = authentication;
+            this.target = target;
+        }
+
+        @Override
+        public Authentication getAuthentication() {
+            return authentication.get();
+        }
+
+        @Override
+        public boolean hasAuthority(String authority) {
+            return permissionRegistry.hasAuthority(getAuthentication(), authority);
+        }
+
+        @Override
+        public boolean hasAnyAuthority(String... authorities) {
+            return permissionRegistry.hasAnyAuthority(getAuthentication(), authorities);
+        }
+
+        @Override
+        public boolean hasRole(String role) {
+            return permissionRegistry.hasAnyRole(getAuthentication(), role);
+        }
+
+        @Override
+        public boolean hasAnyRole(String... roles) {
+            return permissionRegistry.hasAnyRole(getAuthentication(), roles);
+        }
+
+        @Override
+        public boolean permitAll() {
+            return true;
+        }
+
+        @Override
+        public boolean denyAll() {
+            return false;
+        }
+
+        @Override
+        public boolean isAnonymous() {
+            return trustResolver.isAnonymous(getAuthentication());
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            Authentication auth = getAuthentication();
+            return auth != null && auth.isAuthenticated() && !trustResolver.isAnonymous(auth);
+        }
+
+        @Override
+        public boolean isRememberMe() {
+            return trustResolver.isRememberMe(getAuthentication());
+        }
+
+        @Override
+        public boolean isFullyAuthenticated() {
+            return trustResolver.isFullyAuthenticated(getAuthentication());
+        }
+
+        @Override
+        public boolean hasPermission(Object target, Object permission) {
+            return getPermissionEvaluator().hasPermission(getAuthentication(), target, permission);
+        }
+
+        @Override
+        public boolean hasPermission(Object targetId, String targetType, Object permission) {
+            PermissionEvaluator evaluator = getPermissionEvaluator();
+            return evaluator.hasPermission(getAuthentication(), (Serializable) targetId, targetType, permission);
+        }
+
+        @Override
+        public void setFilterObject(Object filterObject) {
+            this.filterObject = filterObject;
+        }
+
+        @Override
+        public Object getFilterObject() {
+            return filterObject;
+        }
+
+        @Override
+        public void setReturnObject(Object returnObject) {
+            this.returnObject = returnObject;
+        }
+
+        @Override
+        public Object getReturnObject() {
+            return returnObject;
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.efiling.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Injects the authenticated user into a controller method. The parameter may be a
+ * {@link UserPrincipal}, a {@link com.efiling.domain.entity.User} or a
+ * {@link com.efiling.dto.user.UserSummary}; see {@link CurrentUserContext}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,43 @@
+package com.efiling.security;
+
+import com.efiling.domain.entity.User;
+import com.efiling.dto.user.UserSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the request-scoped {@link CurrentUserContext}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final CurrentUserContext currentUserContext;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type == User.class || type == UserSummary.class || type == UserPrincipal.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Class<?> type = parameter.getParameterType();
+        if (type == User.class) {
+            return currentUserContext.getUser();
+        }
+        if (type == UserSummary.class) {
+            return currentUserContext.getSummary();
+        }
+        return currentUserContext.getPrincipal();
+    }
+}
@@ -0,0 +1,61 @@
+package com.efiling.security;
+
+import com.efiling.domain.entity.User;
+import com.efiling.dto.user.UserSummary;
+import com.efiling.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The authenticated user for the current request. The principal comes from the token claims;
+ * the entity and the summary are only queried when first asked for and then reused for the
+ * rest of the request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private final UserRepository userRepository;
+
+    private UserPrincipal principal;
+    private User user;
+    private UserSummary summary;
+
+    public UserPrincipal getPrincipal() {
+        if (principal == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+                throw new IllegalStateException("No authenticated user");
+            }
+            principal = userPrincipal;
+        }
+        return principal;
+    }
+
+    /**
+     * A lazy reference to the user. No query runs until a field other than the id is read,
+     * and because the request shares one persistence context the same instance is returned by
+     * any later lookup of this user, so identity comparisons against loaded associations hold.
+     */
+    public User getUser() {
+        if (user == null) {
+            user = userRepository.getReferenceById(getPrincipal().getId());
+        }
+        return user;
+    }
+
+    /**
+     * Scalar columns of the user without roles or associations, for callers that only read.
+     */
+    public UserSummary getSummary() {
+        if (summary == null) {
+            summary = userRepository.findSummaryById(getPrincipal().getId())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        }
+        return summary;
+    }
+}
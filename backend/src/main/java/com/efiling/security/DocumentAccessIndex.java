@@ -0,0 +1,348 @@
+package com.efiling.security;
+
+import com.efiling.repository.DocumentRepository;
+import com.efiling.repository.DocumentShareRepository;
+import com.efiling.repository.support.UpdatedAtPoller;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of which documents each user can list, as compressed bitmaps of document
+ * ids per owner, per institution (documents visible to the owner's institution), per share
+ * target and for shares with everyone. A listing is the union of a few bitmaps, paged by id.
+ *
+ * <p>Local uploads, deletions and share changes are applied after their transaction commits;
+ * changes on other nodes are picked up by polling updated_at, and the index is rebuilt
+ * nightly, which also drops documents deleted on other nodes. Builds run on their own thread.
+ * Until the first build finishes {@link #isReady()} is false and callers query the database
+ * instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentAccessIndex {
+
+    private static final long BUILD_RANGE = 10_000;
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final DocumentRepository documentRepository;
+    private final DocumentShareRepository documentShareRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps(0);
+    private ExecutorService builder;
+    private volatile boolean ready;
+    private final UpdatedAtPoller poller = new UpdatedAtPoller();
+
+    @PostConstruct
+    public void init() {
+        builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "document-index-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Documents shared with the user directly, with their institution or with everyone.
+     * Newest first, below beforeId when given.
+     */
+    public List<Long> findSharedWith(Long userId, Long institutionId, Long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(FastAggregation.or(get(bitmaps.sharedWithUser, userId),
+                    get(bitmaps.sharedWithInstitution, institutionId), bitmaps.sharedWithAll), beforeId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents the user uploaded or that their institution can see. Newest first, below
+     * beforeId when given.
+     */
+    public List<Long> findInstitutional(Long userId, Long institutionId, Long beforeId, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(FastAggregation.or(get(bitmaps.ownedBy, userId),
+                    get(bitmaps.visibleToInstitution, institutionId)), beforeId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes the document once the current transaction commits.
+     */
+    public void documentChanged(Long documentId) {
+        documentsChanged(List.of(documentId));
+    }
+
+    public void documentsChanged(Collection<Long> documentIds) {
+        if (!ready || documentIds.isEmpty()) {
+            // The build, or the first sync after it, will see the change
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(documentIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    refresh(documentIds);
+                } catch (Exception e) {
+                    // The next sync sees the change through updated_at
+                    log.warn("Failed to index documents {}: {}", documentIds, e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Builds scan every document, so they stay off the scheduler and startup threads
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        builder.execute(this::rebuild);
+    }
+
+    @Scheduled(cron = "${app.security.document-index.rebuild-cron}")
+    public void scheduleRebuild() {
+        builder.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.document-index.sync-interval}")
+    public void sync() {
+        UpdatedAtPoller.Window window = poller.next();
+        if (window == null) {
+            return;
+        }
+        Set<Long> changed = new HashSet<>(documentRepository.findIdsUpdatedSince(window.since()));
+        changed.addAll(documentShareRepository.findDocumentIdsUpdatedSince(window.since()));
+        changed.addAll(dueExpiries(window.started()));
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+        poller.completed(window);
+    }
+
+    private void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        Long maxId;
+        Bitmaps rebuilt;
+        try {
+            maxId = documentRepository.findMaxId();
+            rebuilt = new Bitmaps(maxId == null ? 0 : Math.toIntExact(maxId) + 1);
+            for (long from = 0; maxId != null && from < maxId; from += BUILD_RANGE) {
+                for (DocumentAcl acl : DocumentAcl.fromRows(
+                        documentRepository.findAccessRowsInRange(from, from + BUILD_RANGE)).values()) {
+                    apply(rebuilt, acl.documentId(), acl, started);
+                }
+            }
+            rebuilt.optimize();
+        } catch (Exception e) {
+            // Listings keep using the current index, or the database before the first build
+            log.error("Failed to rebuild document access index", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        poller.loaded(started);
+        ready = true;
+        log.info("Rebuilt document access index up to id {} in {} ms", maxId,
+                Duration.between(started, LocalDateTime.now()).toMillis());
+    }
+
+    private void refresh(Collection<Long> documentIds) {
+        Map<Long, DocumentAcl> acls = DocumentAcl.fromRows(documentRepository.findAccessRows(documentIds));
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            for (Long documentId : documentIds) {
+                apply(bitmaps, documentId, acls.get(documentId), now);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the document out of the bitmaps it was in and into the ones its ACL calls for; a
+     * null ACL means it was deleted. An owner moving to another institution is reflected once
+     * their documents are next refreshed, or by the next rebuild.
+     */
+    private static void apply(Bitmaps target, Long documentId, DocumentAcl acl, LocalDateTime now) {
+        int id = Math.toIntExact(documentId);
+        target.unplace(id);
+        List<DocumentAcl.Grant> previous = target.grants.remove(id);
+        if (previous != null) {
+            previous.forEach(grant -> target.bitmapFor(grant).remove(id));
+        }
+        LocalDateTime previousExpiry = target.nextExpiry.remove(id);
+        if (previousExpiry != null) {
+            target.expiries.remove(new Expiry(previousExpiry, documentId));
+        }
+        if (acl == null) {
+            return;
+        }
+
+        Long institutionId = acl.visibleToInstitution() ? acl.ownerInstitutionId() : null;
+        target.place(id, acl.ownerId(), institutionId);
+
+        List<DocumentAcl.Grant> live = acl.grants().stream().filter(grant -> grant.isLive(now)).toList();
+        LocalDateTime nextExpiry = null;
+        for (DocumentAcl.Grant grant : live) {
+            target.bitmapFor(grant).add(id);
+            if (grant.expiresAt() != null && (nextExpiry == null || grant.expiresAt().isBefore(nextExpiry))) {
+                nextExpiry = grant.expiresAt();
+            }
+        }
+        if (!live.isEmpty()) {
+            target.grants.put(id, live);
+        }
+        // The refresh at that time re-applies the document and queues its following expiry
+        if (nextExpiry != null) {
+            target.nextExpiry.put(id, nextExpiry);
+            target.expiries.add(new Expiry(nextExpiry, documentId));
+        }
+    }
+
+    private Set<Long> dueExpiries(LocalDateTime now) {
+        Set<Long> due = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            TreeSet<Expiry> expiries = bitmaps.expiries;
+            while (!expiries.isEmpty() && !expiries.first().at().isAfter(now)) {
+                Expiry expiry = expiries.pollFirst();
+                bitmaps.nextExpiry.remove(Math.toIntExact(expiry.documentId()));
+                due.add(expiry.documentId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return due;
+    }
+
+    private static RoaringBitmap get(Map<Long, RoaringBitmap> bitmaps, Long key) {
+        RoaringBitmap bitmap = key != null ? bitmaps.get(key) : null;
+        return bitmap != null ? bitmap : EMPTY;
+    }
+
+    private static List<Long> page(RoaringBitmap union, Long beforeId, int limit) {
+        if (beforeId != null) {
+            union = RoaringBitmap.remove(union, Math.max(beforeId, 0), 0x1_0000_0000L);
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, union.getCardinality()));
+        IntIterator iterator = union.getReverseIntIterator();
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    private static final class Bitmaps {
+        // Owner and visible-to institution of each indexed document by id, 0 for none, so a
+        // refresh knows which of those bitmaps to clear
+        long[] owners;
+        long[] institutions;
+        final Map<Long, RoaringBitmap> ownedBy = new HashMap<>();
+        final Map<Long, RoaringBitmap> visibleToInstitution = new HashMap<>();
+        final Map<Long, RoaringBitmap> sharedWithUser = new HashMap<>();
+        final Map<Long, RoaringBitmap> sharedWithInstitution = new HashMap<>();
+        final RoaringBitmap sharedWithAll = new RoaringBitmap();
+        // Live grants of shared documents only, so a refresh knows which share bitmaps to clear
+        final Map<Integer, List<DocumentAcl.Grant>> grants = new HashMap<>();
+        // Earliest grant expiry of each document, queued once per document in expiries
+        final Map<Integer, LocalDateTime> nextExpiry = new HashMap<>();
+        final TreeSet<Expiry> expiries = new TreeSet<>(
+                Comparator.comparing(Expiry::at).thenComparing(Expiry::documentId));
+
+        Bitmaps(int capacity) {
+            owners = new long[capacity];
+            institutions = new long[capacity];
+        }
+
+        void place(int id, Long ownerId, Long institutionId) {
+            if (id >= owners.length) {
+                int capacity = Math.max(id + 1, owners.length + (owners.length >> 1));
+                owners = Arrays.copyOf(owners, capacity);
+                institutions = Arrays.copyOf(institutions, capacity);
+            }
+            owners[id] = ownerId;
+            ownedBy.computeIfAbsent(ownerId, key -> new RoaringBitmap()).add(id);
+            if (institutionId != null) {
+                institutions[id] = institutionId;
+                visibleToInstitution.computeIfAbsent(institutionId, key -> new RoaringBitmap()).add(id);
+            }
+        }
+
+        void unplace(int id) {
+            if (id >= owners.length) {
+                return;
+            }
+            remove(ownedBy, owners[id], id);
+            remove(visibleToInstitution, institutions[id], id);
+            owners[id] = 0;
+            institutions[id] = 0;
+        }
+
+        private static void remove(Map<Long, RoaringBitmap> bitmaps, long key, int id) {
+            RoaringBitmap bitmap = key != 0 ? bitmaps.get(key) : null;
+            if (bitmap != null) {
+                bitmap.remove(id);
+            }
+        }
+
+        RoaringBitmap bitmapFor(DocumentAcl.Grant grant) {
+            return switch (grant.type()) {
+                case USER -> sharedWithUser.computeIfAbsent(grant.targetId(), key -> new RoaringBitmap());
+                case INSTITUTION -> sharedWithInstitution.computeIfAbsent(grant.targetId(), key -> new RoaringBitmap());
+                case ALL_USERS -> sharedWithAll;
+            };
+        }
+
+        void optimize() {
+            for (Map<Long, RoaringBitmap> map : List.of(ownedBy, visibleToInstitution, sharedWithUser,
+                    sharedWithInstitution)) {
+                map.values().forEach(RoaringBitmap::runOptimize);
+            }
+            sharedWithAll.runOptimize();
+        }
+    }
+
+    private record Expiry(LocalDateTime at, Long documentId) {
+    }
+}
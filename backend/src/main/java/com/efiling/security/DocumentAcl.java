@@ -0,0 +1,78 @@
+package com.efiling.security;
+
+import com.efiling.domain.entity.DocumentShare;
+import com.efiling.repository.DocumentRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Everything needed to decide who may see a document: its owner, whether the owner's
+ * institution may see it, and its active shares.
+ */
+public record DocumentAcl(Long documentId, Long ownerId, Long ownerInstitutionId, boolean visibleToInstitution,
+                          List<Grant> grants) {
+
+    public boolean permits(Long userId, Long institutionId, LocalDateTime now) {
+        if (ownerId.equals(userId)) {
+            return true;
+        }
+        if (visibleToInstitution && institutionId != null && institutionId.equals(ownerInstitutionId)) {
+            return true;
+        }
+        for (Grant grant : grants) {
+            if (!grant.isLive(now)) {
+                continue;
+            }
+            boolean matches = switch (grant.type()) {
+                case USER -> userId.equals(grant.targetId());
+                case INSTITUTION -> institutionId != null && institutionId.equals(grant.targetId());
+                case ALL_USERS -> true;
+            };
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Groups access rows, one per document and active share, into ACLs keyed by document id.
+     */
+    public static Map<Long, DocumentAcl> fromRows(Collection<DocumentRepository.AccessRow> rows) {
+        Map<Long, List<Grant>> grants = new HashMap<>();
+        Map<Long, DocumentRepository.AccessRow> documents = new LinkedHashMap<>();
+        for (DocumentRepository.AccessRow row : rows) {
+            documents.putIfAbsent(row.getDocumentId(), row);
+            List<Grant> documentGrants = grants.computeIfAbsent(row.getDocumentId(), id -> new ArrayList<>());
+            if (row.getShareType() != null) {
+                documentGrants.add(grant(row));
+            }
+        }
+        Map<Long, DocumentAcl> acls = new LinkedHashMap<>();
+        documents.forEach((id, row) -> acls.put(id, new DocumentAcl(id, row.getOwnerId(), row.getOwnerInstitutionId(),
+                Boolean.TRUE.equals(row.getVisibleToInstitution()), List.copyOf(grants.get(id)))));
+        return acls;
+    }
+
+    private static Grant grant(DocumentRepository.AccessRow row) {
+        DocumentShare.ShareType type = Boolean.TRUE.equals(row.getShareAllUsers())
+                ? DocumentShare.ShareType.ALL_USERS : row.getShareType();
+        Long targetId = switch (type) {
+            case USER -> row.getSharedWithUserId();
+            case INSTITUTION -> row.getSharedWithInstitutionId();
+            case ALL_USERS -> null;
+        };
+        return new Grant(type, targetId, row.getExpiresAt());
+    }
+
+    /**
+     * One active share; the target is a user or institution id, null for everyone.
+     */
+    public record Grant(DocumentShare.ShareType type, Long targetId, LocalDateTime expiresAt) {
+
+        public boolean isLive(LocalDateTime now) {
+            return expiresAt == null || expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.efiling.security;
+
+import com.efiling.repository.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Bounded LRU cache of {@link DocumentAcl}s. Misses are loaded together in one query. Local
+ * changes to a document or its shares invalidate its entry through
+ * {@link DocumentAclChangeListener}; changes on other nodes are picked up after the TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentAclCache {
+
+    private final DocumentRepository documentRepository;
+
+    @Value("${app.security.document-acl.cache-size}")
+    private int maxEntries;
+
+    @Value("${app.security.document-acl.ttl}")
+    private Duration ttl;
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // Bumped by every invalidation so a load that raced with one is not cached
+    private long invalidations;
+
+    /**
+     * ACLs for the given documents; documents that do not exist are absent from the result.
+     */
+    public Map<Long, DocumentAcl> getAll(Collection<Long> documentIds) {
+        long now = System.nanoTime();
+        Map<Long, DocumentAcl> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long seen;
+        synchronized (entries) {
+            seen = invalidations;
+            for (Long id : documentIds) {
+                Entry entry = entries.get(id);
+                if (entry != null && now - entry.loadedAt <= ttl.toNanos()) {
+                    result.put(id, entry.acl);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, DocumentAcl> loaded = load(missing);
+        result.putAll(loaded);
+        synchronized (entries) {
+            if (seen == invalidations) {
+                loaded.forEach((id, acl) -> entries.put(id, new Entry(acl, now)));
+            }
+        }
+        return result;
+    }
+
+    public Optional<DocumentAcl> get(Long documentId) {
+        return Optional.ofNullable(getAll(List.of(documentId)).get(documentId));
+    }
+
+    /**
+     * Drops the document's entry now and again once the current transaction completes, so a
+     * reader cannot cache the state from before the commit.
+     */
+    public void invalidate(Long documentId) {
+        evict(documentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(documentId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long documentId) {
+        synchronized (entries) {
+            entries.remove(documentId);
+            invalidations++;
+        }
+    }
+
+    private Map<Long, DocumentAcl> load(Collection<Long> documentIds) {
+        Map<Long, DocumentAcl> acls = DocumentAcl.fromRows(documentRepository.findAccessRows(documentIds));
+        log.debug("Loaded ACLs for {} of {} documents", acls.size(), documentIds.size());
+        return acls;
+    }
+
+    private record Entry(DocumentAcl acl, long loadedAt) {
+    }
+}
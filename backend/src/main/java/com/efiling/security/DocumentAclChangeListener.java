@@ -0,0 +1,43 @@
+package com.efiling.security;
+
+import com.efiling.domain.entity.Document;
+import com.efiling.domain.entity.DocumentShare;
+import com.efiling.repository.support.EntityListenerDependency;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on documents and shares; Hibernate resolves it as a Spring bean. Any change
+ * invalidates the affected document's cached ACL and re-indexes it in the
+ * {@link DocumentAccessIndex}.
+ */
+@Component
+public class DocumentAclChangeListener {
+
+    private final DocumentAclCache documentAclCache;
+    private final DocumentAccessIndex documentAccessIndex;
+
+    public DocumentAclChangeListener(@EntityListenerDependency DocumentAclCache documentAclCache,
+                                     @EntityListenerDependency DocumentAccessIndex documentAccessIndex) {
+        this.documentAclCache = documentAclCache;
+        this.documentAccessIndex = documentAccessIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long documentId = null;
+        if (entity instanceof Document document) {
+            documentId = document.getId();
+        } else if (entity instanceof DocumentShare share && share.getDocument() != null) {
+            documentId = share.getDocument().getId();
+        }
+        if (documentId != null) {
+            documentAclCache.invalidate(documentId);
+            documentAccessIndex.documentChanged(documentId);
+        }
+    }
+}
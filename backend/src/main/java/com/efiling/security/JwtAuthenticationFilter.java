@@ -1,5 +1,6 @@
 package com.efiling.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -22,7 +22,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final SecurityStateCache securityStateCache;
+    private final TokenRevocationIndex revocationIndex;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,15 +31,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
+            // Refresh tokens are only good for /auth/refresh; revocation is checked in memory
+            if (claims != null && !JwtTokenProvider.isRefreshToken(claims)
+                    && !revocationIndex.isRevoked(claims.getId())
+                    && !revocationIndex.isRevoked(JwtTokenProvider.getFamilyId(claims))) {
+                UserPrincipal userPrincipal = tokenProvider.getPrincipal(jwt, claims);
 
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                // Tokens issued before a password change or deactivation no longer authenticate
+                if (securityStateCache.isCurrent(userPrincipal.getId(), userPrincipal.getSecurityVersion())) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userPrincipal, null, userPrincipal.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -54,7 +61,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Skip JWT authentication for public endpoints
         return path.startsWith("/auth/login") ||
                path.startsWith("/auth/signup") ||
+               path.startsWith("/auth/refresh") ||
+               path.startsWith("/auth/logout") ||
                path.startsWith("/public/") ||
+               path.startsWith("/ws") ||
                (path.startsWith("/forms/public/") && "GET".equals(request.getMethod()));
     }
 
@@ -63,6 +73,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // EventSource cannot set headers, so the SSE stream also accepts the token as a parameter
+        if ("/notifications/stream".equals(request.getServletPath())) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 }
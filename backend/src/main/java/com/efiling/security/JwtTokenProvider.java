@@ -3,21 +3,34 @@ package com.efiling.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    static final String CLAIM_USERNAME = "username";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_MUST_CHANGE_PASSWORD = "mcp";
+    static final String CLAIM_SECURITY_VERSION = "sv";
+    static final String CLAIM_TYPE = "typ";
+    static final String CLAIM_FAMILY = "fam";
+
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_REFRESH = "refresh";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -27,74 +40,112 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    private final VerifiedTokenCache verifiedTokens;
+
     private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // Parsers are immutable and thread-safe, so one serves every request
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
+
+    public long getExpiration() {
+        return jwtExpiration;
     }
 
-    public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
 
+    /**
+     * Access tokens carry everything the principal is rebuilt from, so requests do not load the user.
+     * The family id ties them to the refresh token chain they were issued with.
+     */
+    public String generateToken(UserPrincipal userPrincipal, String familyId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
-                .claim("username", userPrincipal.getUsername())
-                .claim("email", userPrincipal.getEmail())
-                .claim("roles", userPrincipal.getAuthorities().stream()
+                .claim(CLAIM_TYPE, TYPE_ACCESS)
+                .claim(CLAIM_FAMILY, familyId)
+                .claim(CLAIM_USERNAME, userPrincipal.getUsername())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
+                .claim(CLAIM_MUST_CHANGE_PASSWORD, userPrincipal.isMustChangePassword())
+                .claim(CLAIM_SECURITY_VERSION, userPrincipal.getSecurityVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public String generateRefreshToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + refreshExpiration);
-
+    public String generateRefreshToken(UserPrincipal userPrincipal, String jti, String familyId, Date expiryDate) {
         return Jwts.builder()
+                .id(jti)
                 .subject(Long.toString(userPrincipal.getId()))
-                .issuedAt(now)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .claim(CLAIM_FAMILY, familyId)
+                .claim(CLAIM_SECURITY_VERSION, userPrincipal.getSecurityVersion())
+                .issuedAt(new Date())
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public static boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class));
+    }
+
+    public static String getFamilyId(Claims claims) {
+        return claims.get(CLAIM_FAMILY, String.class);
+    }
 
-        return Long.parseLong(claims.getSubject());
+    // Tokens issued before security versions existed count as version 0
+    public static long getSecurityVersion(Claims claims) {
+        Number securityVersion = claims.get(CLAIM_SECURITY_VERSION, Number.class);
+        return securityVersion != null ? securityVersion.longValue() : 0L;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims in one pass, or null when it is invalid or
+     * expired. Tokens seen recently are answered from the cache without verifying again.
+     */
+    public Claims parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(token, claims);
+            return claims;
         } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
+            // Routine for clients holding on to an old token
+            log.debug("Expired JWT token for subject {}", ex.getClaims().getSubject());
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.warn("Rejected JWT token: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * The principal for access token claims returned by {@link #parseToken}. It is shared by
+     * every request presenting the token, so its authorities and their bits are built once.
+     */
+    public UserPrincipal getPrincipal(String token, Claims claims) {
+        return verifiedTokens.getPrincipal(token, claims);
     }
 }
@@ -0,0 +1,92 @@
+package com.efiling.security;
+
+import com.efiling.util.SlidingWindowCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts failed logins per username and client address pair, and per address, over a sliding
+ * window. Once either exceeds its limit further attempts are refused before any password
+ * hashing, so guessing and credential stuffing cost almost no CPU. Keying the username limit by
+ * address means failures from one client never lock the account for everyone else. At most
+ * max-tracked pairs and addresses are counted; past that new keys are not tracked until the
+ * sweep frees room, and the per-address limit still applies to addresses already counted.
+ */
+@Component
+@Slf4j
+public class LoginAttemptTracker {
+
+    private static final int BUCKETS = 15;
+
+    @Value("${app.security.login.failure-window}")
+    private Duration window;
+
+    @Value("${app.security.login.max-failures-per-user}")
+    private int maxFailuresPerUser;
+
+    @Value("${app.security.login.max-failures-per-address}")
+    private int maxFailuresPerAddress;
+
+    @Value("${app.security.login.max-tracked}")
+    private int maxTracked;
+
+    private final Map<String, SlidingWindowCounter> userFailures = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowCounter> addressFailures = new ConcurrentHashMap<>();
+
+    public boolean isBlocked(String username, String address) {
+        long now = System.currentTimeMillis();
+        return exceeds(userFailures.get(key(username, address)), maxFailuresPerUser, now)
+                || exceeds(addressFailures.get(address), maxFailuresPerAddress, now);
+    }
+
+    public Duration getRetryAfter() {
+        return window.dividedBy(BUCKETS);
+    }
+
+    public void recordFailure(String username, String address) {
+        long now = System.currentTimeMillis();
+        increment(addressFailures, address, now);
+        increment(userFailures, key(username, address), now);
+    }
+
+    public void recordSuccess(String username, String address) {
+        SlidingWindowCounter counter = userFailures.remove(key(username, address));
+        if (counter != null) {
+            counter.reset();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        userFailures.values().removeIf(counter -> counter.expiresAt() < now);
+        addressFailures.values().removeIf(counter -> counter.expiresAt() < now);
+    }
+
+    private void increment(Map<String, SlidingWindowCounter> counters, String key, long now) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxTracked) {
+                log.warn("Login failure tracking is full, not counting {}", key);
+                return;
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter(window.toMillis(), BUCKETS));
+        }
+        counter.increment(now);
+    }
+
+    private static boolean exceeds(SlidingWindowCounter counter, int limit, long now) {
+        return counter != null && counter.sum(now) >= limit;
+    }
+
+    private static String key(String username, String address) {
+        return (username == null ? "" : username.trim().toLowerCase(Locale.ROOT)) + "|" + address;
+    }
+}
@@ -0,0 +1,199 @@
+package com.efiling.security;
+
+import com.efiling.repository.PermissionRepository;
+import com.efiling.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Gives every role and permission a dense index so a principal's authorities become a small
+ * bitset and each authorization check is a few map lookups and word ANDs instead of building
+ * and searching a set of strings. Indexes are rebuilt when roles or permissions are created,
+ * renamed or removed (see {@link AuthorityChangeListener}), and periodically to pick up
+ * changes made on other nodes; bitsets from an older generation are recomputed on use.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionRegistry {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final AuthorityBits NONE = new AuthorityBits(0, new long[0]);
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public boolean hasAuthority(Authentication authentication, String authority) {
+        Snapshot current = current();
+        Integer index = current.authorities.get(authority);
+        return index != null && bitsOf(authentication, current).contains(index);
+    }
+
+    public boolean hasAnyAuthority(Authentication authentication, String... authorities) {
+        Snapshot current = current();
+        AuthorityBits bits = bitsOf(authentication, current);
+        for (String authority : authorities) {
+            Integer index = current.authorities.get(authority);
+            if (index != null && bits.contains(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasAnyRole(Authentication authentication, String... roles) {
+        Snapshot current = current();
+        AuthorityBits bits = bitsOf(authentication, current);
+        for (String role : roles) {
+            Integer index = current.indexOfRole(role);
+            if (index != null && bits.contains(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Request authorization granting access to holders of any of the roles, written with or
+     * without the ROLE_ prefix as in hasAnyRole.
+     */
+    public AuthorizationManager<RequestAuthorizationContext> anyRole(String... roles) {
+        return new AuthorizationManager<>() {
+            private volatile Mask mask;
+
+            @Override
+            public AuthorizationDecision check(Supplier<Authentication> authentication,
+                                               RequestAuthorizationContext context) {
+                Snapshot current = current();
+                Mask compiled = mask;
+                if (compiled == null || compiled.generation != current.generation) {
+                    compiled = new Mask(current.generation, current.roleMask(roles));
+                    mask = compiled;
+                }
+                Authentication auth = authentication.get();
+                if (auth == null || !auth.isAuthenticated()) {
+                    return DENIED;
+                }
+                return bitsOf(auth, current).intersects(compiled.words) ? GRANTED : DENIED;
+            }
+        };
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.permissions.refresh-interval}")
+    public void refresh() {
+        stale = true;
+        current();
+    }
+
+    private Snapshot current() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    // Cleared first so a change committed during the rebuild marks it stale again
+                    stale = false;
+                    snapshot = build(snapshot == null ? 1 : snapshot.generation + 1);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot build(long generation) {
+        Map<String, Integer> authorities = new HashMap<>();
+        for (String role : roleRepository.findAllNames()) {
+            authorities.putIfAbsent(ROLE_PREFIX + role, authorities.size());
+        }
+        for (String permission : permissionRepository.findAllNames()) {
+            authorities.putIfAbsent(permission, authorities.size());
+        }
+
+        // Unchanged indexes keep existing bitsets valid
+        if (snapshot != null && snapshot.authorities.equals(authorities)) {
+            return snapshot;
+        }
+
+        Map<String, Integer> roles = new HashMap<>();
+        authorities.forEach((authority, index) -> {
+            if (authority.startsWith(ROLE_PREFIX)) {
+                roles.put(authority.substring(ROLE_PREFIX.length()), index);
+            }
+        });
+        log.info("Indexed {} authorities (generation {})", authorities.size(), generation);
+        return new Snapshot(generation, authorities, roles, (authorities.size() + 63) >>> 6);
+    }
+
+    private static AuthorityBits bitsOf(Authentication authentication, Snapshot current) {
+        if (authentication == null) {
+            return NONE;
+        }
+        UserPrincipal userPrincipal = authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal : null;
+        if (userPrincipal != null) {
+            AuthorityBits cached = userPrincipal.getAuthorityBits();
+            if (cached != null && cached.generation() == current.generation) {
+                return cached;
+            }
+        }
+
+        AuthorityBits bits = new AuthorityBits(current.generation, current.bitsOf(authentication.getAuthorities()));
+        if (userPrincipal != null) {
+            userPrincipal.setAuthorityBits(bits);
+        }
+        return bits;
+    }
+
+    private record Mask(long generation, long[] words) {
+    }
+
+    private record Snapshot(long generation, Map<String, Integer> authorities, Map<String, Integer> roles,
+                            int words) {
+
+        // Same prefix rule as SecurityExpressionRoot.hasRole
+        Integer indexOfRole(String role) {
+            return role.startsWith(ROLE_PREFIX) ? authorities.get(role) : roles.get(role);
+        }
+
+        long[] roleMask(String... names) {
+            long[] mask = new long[words];
+            for (String name : names) {
+                Integer index = indexOfRole(name);
+                if (index != null) {
+                    mask[index >>> 6] |= 1L << index;
+                }
+            }
+            return mask;
+        }
+
+        long[] bitsOf(Collection<? extends GrantedAuthority> granted) {
+            long[] bits = new long[words];
+            for (GrantedAuthority authority : granted) {
+                Integer index = authorities.get(authority.getAuthority());
+                if (index != null) {
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+            return bits;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.efiling.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -16,6 +19,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -32,13 +36,17 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PermissionRegistry permissionRegistry;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${app.security.bcrypt-strength}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -51,45 +59,64 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Hashes below the configured strength are rehashed on the next successful login
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
+    // Role and authority checks in @PreAuthorize test PermissionRegistry bits
+    @Bean
+    public MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+        return new BitsetMethodSecurityExpressionHandler(permissionRegistry);
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // A missing or expired token is a 401 so clients renew it; the default entry point answers 403
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of already authorized requests (SSE streams), and error
+                        // dispatches, which run unauthenticated and would otherwise turn a 403 into a 401
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Public endpoints
-                        .requestMatchers("/auth/login", "/auth/signup").permitAll()
+                        .requestMatchers("/auth/login", "/auth/signup", "/auth/refresh", "/auth/logout").permitAll()
                         .requestMatchers("/public/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/forms/public/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // WebSocket handshake, STOMP CONNECT carries the JWT
+                        .requestMatchers("/ws/**", "/ws").permitAll()
 
                         // Authenticated endpoints
                         .requestMatchers("/auth/change-password").authenticated()
                         .requestMatchers("/notifications/**").authenticated()
 
                         // External institutional user endpoints
-                        .requestMatchers("/submissions/**").hasAnyRole("EXTERNAL_INSTITUTIONAL", "BACK_OFFICE", "ADMINISTRATOR")
-                        .requestMatchers("/documents/upload").hasAnyRole("EXTERNAL_INSTITUTIONAL", "BACK_OFFICE", "ADMINISTRATOR")
+                        .requestMatchers("/submissions/**").access(permissionRegistry.anyRole("EXTERNAL_INSTITUTIONAL", "BACK_OFFICE", "ADMINISTRATOR"))
+                        .requestMatchers("/documents/upload").access(permissionRegistry.anyRole("EXTERNAL_INSTITUTIONAL", "BACK_OFFICE", "ADMINISTRATOR"))
 
                         // Back office endpoints
-                        .requestMatchers("/approvals/**").hasAnyRole("BACK_OFFICE", "ADMINISTRATOR")
-                        .requestMatchers("/signatures/**").hasAnyRole("BACK_OFFICE", "ADMINISTRATOR")
+                        .requestMatchers("/approvals/**").access(permissionRegistry.anyRole("BACK_OFFICE", "ADMINISTRATOR"))
+                        .requestMatchers("/signatures/**").access(permissionRegistry.anyRole("BACK_OFFICE", "ADMINISTRATOR"))
 
                         // Admin endpoints
-                        .requestMatchers("/admin/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/users/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/roles/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/institutions/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/workflows/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/document-types/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers(HttpMethod.GET, "/forms").hasRole("ADMINISTRATOR")
-                        .requestMatchers(HttpMethod.POST, "/forms").hasRole("ADMINISTRATOR")
-                        .requestMatchers(HttpMethod.PUT, "/forms/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers(HttpMethod.DELETE, "/forms/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/forms/manage/**").hasRole("ADMINISTRATOR")
+                        .requestMatchers("/actuator/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/admin/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/users/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/roles/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/institutions/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/workflows/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/document-types/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers(HttpMethod.GET, "/forms").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers(HttpMethod.POST, "/forms").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers(HttpMethod.PUT, "/forms/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers(HttpMethod.DELETE, "/forms/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
+                        .requestMatchers("/forms/manage/**").access(permissionRegistry.anyRole("ADMINISTRATOR"))
 
                         // All other requests need authentication
                         .anyRequest().authenticated()
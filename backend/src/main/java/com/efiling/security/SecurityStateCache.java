@@ -0,0 +1,88 @@
+package com.efiling.security;
+
+import com.efiling.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of each user's security version, active flag and institution, so a token
+ * or a document access check can use current state without loading the user. Entries are
+ * reloaded after the TTL, which is how changes made on other nodes are picked up; local
+ * changes call {@link #invalidate}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecurityStateCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.jwt.security-state.cache-size}")
+    private int maxEntries;
+
+    @Value("${app.jwt.security-state.ttl}")
+    private Duration ttl;
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Whether a token issued at the given security version is still good for the user.
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = cached(userId, now);
+        // A newer token than the cached version means the version moved on another node
+        if (entry == null || tokenVersion > entry.version) {
+            entry = load(userId, now);
+        }
+        return entry.active && tokenVersion == entry.version;
+    }
+
+    /**
+     * The user's institution id, or null when the user has none or does not exist.
+     */
+    public Long getInstitutionId(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = cached(userId, now);
+        return (entry != null ? entry : load(userId, now)).institutionId;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    private Entry cached(Long userId, long now) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+        }
+        return entry == null || now - entry.loadedAt > ttl.toNanos() ? null : entry;
+    }
+
+    private Entry load(Long userId, long now) {
+        Entry entry = userRepository.findSecurityStateById(userId)
+                .map(state -> new Entry(state.getSecurityVersion() != null ? state.getSecurityVersion() : 0L,
+                        Boolean.TRUE.equals(state.getIsActive()), state.getInstitutionId(), now))
+                .orElseGet(() -> new Entry(-1L, false, null, now));
+        synchronized (entries) {
+            entries.put(userId, entry);
+        }
+        return entry;
+    }
+
+    private record Entry(long version, boolean active, Long institutionId, long loadedAt) {
+    }
+}
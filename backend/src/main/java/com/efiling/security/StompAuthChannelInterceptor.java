@@ -0,0 +1,79 @@
+package com.efiling.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+
+/**
+ * Authenticates STOMP sessions with the JWT sent in the CONNECT frame's Authorization header,
+ * since browsers cannot set headers on the WebSocket handshake. Clients may only subscribe
+ * to their own user destinations. The principal is kept in the session attributes so the
+ * session can be closed once its token expires or is revoked.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    public static final String SESSION_PRINCIPAL = "userPrincipal";
+
+    private final JwtTokenProvider tokenProvider;
+    private final SecurityStateCache securityStateCache;
+    private final TokenRevocationIndex revocationIndex;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            String bearerToken = accessor.getFirstNativeHeader("Authorization");
+            if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+                throw new MessageDeliveryException("Missing authorization header");
+            }
+            Claims claims = tokenProvider.parseToken(bearerToken.substring(7));
+            if (claims == null || JwtTokenProvider.isRefreshToken(claims)) {
+                throw new MessageDeliveryException("Invalid token");
+            }
+            if (revocationIndex.isRevoked(claims.getId())
+                    || revocationIndex.isRevoked(JwtTokenProvider.getFamilyId(claims))) {
+                throw new MessageDeliveryException("Token revoked");
+            }
+            UserPrincipal userPrincipal = UserPrincipal.fromClaims(claims);
+            if (!securityStateCache.isCurrent(userPrincipal.getId(), userPrincipal.getSecurityVersion())) {
+                throw new MessageDeliveryException("Token revoked");
+            }
+            if (accessor.getSessionAttributes() != null) {
+                accessor.getSessionAttributes().put(SESSION_PRINCIPAL, userPrincipal);
+            }
+            accessor.setUser(new StompPrincipal(userPrincipal.getId()));
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (accessor.getUser() == null || destination == null || !destination.startsWith("/user/")) {
+                throw new MessageDeliveryException("Subscription not allowed");
+            }
+        } else if (accessor.getCommand() == StompCommand.SEND) {
+            throw new MessageDeliveryException("Sending is not supported");
+        }
+        return message;
+    }
+
+    // The name is the user id so notifications can be addressed without loading the user
+    private record StompPrincipal(Long userId) implements Principal {
+        @Override
+        public String getName() {
+            return userId.toString();
+        }
+    }
+}
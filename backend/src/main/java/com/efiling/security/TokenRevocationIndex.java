@@ -0,0 +1,119 @@
+package com.efiling.security;
+
+import com.efiling.domain.entity.RevokedToken;
+import com.efiling.repository.RevokedTokenRepository;
+import com.efiling.repository.support.UpdatedAtPoller;
+import com.efiling.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of revoked token ids, checked on every request. A Bloom filter answers the
+ * common "not revoked" case without I/O; its rare positives are confirmed against
+ * revoked_tokens. Other nodes' revocations are picked up by polling, and the filter is
+ * rebuilt daily so expired ids stop taking up space.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationIndex {
+
+    // Confirmed lookups remembered so a false positive does not hit the database every request
+    private static final int MAX_CONFIRMED = 10_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwt.revocation.expected-revocations}")
+    private int expectedRevocations;
+
+    @Value("${app.jwt.revocation.false-positive-rate}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private final Map<String, Boolean> confirmed = new ConcurrentHashMap<>();
+    private final UpdatedAtPoller poller = new UpdatedAtPoller();
+
+    @PostConstruct
+    public void init() {
+        filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String id) {
+        if (id == null || !filter.mightContain(id)) {
+            return false;
+        }
+        Boolean revoked = confirmed.get(id);
+        if (revoked == null) {
+            revoked = revokedTokenRepository.existsById(id);
+            if (confirmed.size() >= MAX_CONFIRMED) {
+                confirmed.clear();
+            }
+            confirmed.put(id, revoked);
+        }
+        return revoked;
+    }
+
+    /**
+     * Records the id as revoked until expiresAt. Takes effect on this node immediately and on
+     * others within the sync interval.
+     */
+    @Transactional
+    public void revoke(String id, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken revokedToken = revokedTokenRepository.findById(id)
+                .orElseGet(() -> RevokedToken.builder().id(id).revokedAt(now).build());
+        if (revokedToken.getExpiresAt() == null || revokedToken.getExpiresAt().isBefore(expiresAt)) {
+            revokedToken.setExpiresAt(expiresAt);
+        }
+        revokedTokenRepository.save(revokedToken);
+        add(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval}")
+    @Transactional
+    public void sync() {
+        UpdatedAtPoller.Window window = poller.next();
+        if (window == null) {
+            rebuild();
+            return;
+        }
+        // Adding an id twice is harmless
+        revokedTokenRepository.findIdsRevokedSince(window.since()).forEach(this::add);
+        poller.completed(window);
+    }
+
+    @Scheduled(cron = "${app.jwt.revocation.rebuild-cron}")
+    @Transactional
+    public void rebuild() {
+        LocalDateTime started = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(started);
+
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        List<String> ids = revokedTokenRepository.findUnexpiredIds(started);
+        ids.forEach(rebuilt::put);
+        filter = rebuilt;
+        confirmed.clear();
+        poller.loaded(started);
+
+        if (ids.size() > expectedRevocations) {
+            log.warn("{} revoked tokens exceed the expected {}; false positives will rise", ids.size(),
+                    expectedRevocations);
+        }
+        log.info("Rebuilt token revocation index with {} ids", ids.size());
+    }
+
+    private void add(String id) {
+        filter.put(id);
+        confirmed.remove(id);
+    }
+}
@@ -3,19 +3,20 @@ package com.efiling.security;
 import com.efiling.domain.entity.Permission;
 import com.efiling.domain.entity.Role;
 import com.efiling.domain.entity.User;
-import lombok.AllArgsConstructor;
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Getter
-@AllArgsConstructor
 public class UserPrincipal implements UserDetails {
 
     private Long id;
@@ -25,6 +26,29 @@ public class UserPrincipal implements UserDetails {
     private Collection<? extends GrantedAuthority> authorities;
     private boolean enabled;
     private boolean mustChangePassword;
+    private long securityVersion;
+
+    // The access token the principal was built from, null for principals loaded from the database
+    private String tokenId;
+    private String tokenFamilyId;
+    private Instant tokenExpiresAt;
+
+    // Authorities as bits of the PermissionRegistry generation they were computed for
+    @Getter(AccessLevel.NONE)
+    private volatile AuthorityBits authorityBits;
+
+    public UserPrincipal(Long id, String username, String email, String password,
+                         Collection<? extends GrantedAuthority> authorities, boolean enabled,
+                         boolean mustChangePassword, long securityVersion) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.authorities = authorities;
+        this.enabled = enabled;
+        this.mustChangePassword = mustChangePassword;
+        this.securityVersion = securityVersion;
+    }
 
     public static UserPrincipal create(User user) {
         Set<GrantedAuthority> authorities = new HashSet<>();
@@ -46,8 +70,50 @@ public class UserPrincipal implements UserDetails {
                 user.getPassword(),
                 authorities,
                 user.getIsActive(),
-                user.getMustChangePassword() != null ? user.getMustChangePassword() : false
+                user.getMustChangePassword() != null ? user.getMustChangePassword() : false,
+                user.getSecurityVersion() != null ? user.getSecurityVersion() : 0L
+        );
+    }
+
+    /**
+     * Rebuilds the principal from access token claims without touching the database.
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        List<?> roles = claims.get(JwtTokenProvider.CLAIM_ROLES, List.class);
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        if (roles != null) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(role.toString()));
+            }
+        }
+
+        UserPrincipal principal = new UserPrincipal(
+                Long.parseLong(claims.getSubject()),
+                claims.get(JwtTokenProvider.CLAIM_USERNAME, String.class),
+                claims.get(JwtTokenProvider.CLAIM_EMAIL, String.class),
+                null,
+                authorities,
+                true,
+                Boolean.TRUE.equals(claims.get(JwtTokenProvider.CLAIM_MUST_CHANGE_PASSWORD, Boolean.class)),
+                JwtTokenProvider.getSecurityVersion(claims)
         );
+        principal.tokenId = claims.getId();
+        principal.tokenFamilyId = JwtTokenProvider.getFamilyId(claims);
+        principal.tokenExpiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return principal;
+    }
+
+    AuthorityBits getAuthorityBits() {
+        return authorityBits;
+    }
+
+    void setAuthorityBits(AuthorityBits authorityBits) {
+        this.authorityBits = authorityBits;
+    }
+
+    public UserPrincipal withPassword(String password) {
+        return new UserPrincipal(id, username, email, password, authorities, enabled, mustChangePassword,
+                securityVersion);
     }
 
     @Override
@@ -0,0 +1,124 @@
+package com.efiling.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Claims of recently verified tokens, so a client sending the same token again skips the
+ * signature check and JSON parsing. Entries are keyed by the token's signature segment, hold
+ * the whole token for an exact match, and are dropped at the token's expiry. Expired entries
+ * are swept on a timer; when the cache is full anyway, the oldest tenth is evicted to make
+ * room. An entry also keeps the principal built from its claims, along with the authority bits
+ * computed for it.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${app.jwt.verified-cache.size}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Keys in the order they were cached; may still hold keys already removed from entries
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public Claims get(String token) {
+        Entry entry = find(token);
+        return entry != null ? entry.claims : null;
+    }
+
+    /**
+     * The principal for a verified access token, built on first use and then reused for as
+     * long as the token stays cached.
+     */
+    public UserPrincipal getPrincipal(String token, Claims claims) {
+        Entry entry = find(token);
+        if (entry == null || entry.claims != claims) {
+            return UserPrincipal.fromClaims(claims);
+        }
+        UserPrincipal principal = entry.principal;
+        if (principal == null) {
+            // Racing requests may each build one; any of them will do
+            principal = UserPrincipal.fromClaims(claims);
+            entry.principal = principal;
+        }
+        return principal;
+    }
+
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictOldest(Math.max(1, maxEntries / 10));
+        }
+        String key = signatureOf(token);
+        Entry previous = entries.put(key, new Entry(token.getBytes(StandardCharsets.US_ASCII), claims,
+                claims.getExpiration().getTime()));
+        if (previous == null) {
+            insertionOrder.offer(key);
+        }
+    }
+
+    public void remove(String token) {
+        entries.remove(signatureOf(token));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.verified-cache.sweep-interval}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        insertionOrder.removeIf(key -> !entries.containsKey(key));
+    }
+
+    private void evictOldest(int count) {
+        for (int i = 0; i < count; i++) {
+            String key = insertionOrder.poll();
+            if (key == null) {
+                return;
+            }
+            entries.remove(key);
+        }
+    }
+
+    private Entry find(String token) {
+        Entry entry = entries.get(signatureOf(token));
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(signatureOf(token), entry);
+            return null;
+        }
+        // The signature alone does not cover a tampered header or payload
+        if (!MessageDigest.isEqual(entry.token, token.getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        return entry;
+    }
+
+    private static String signatureOf(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    private static final class Entry {
+        private final byte[] token;
+        private final Claims claims;
+        private final long expiresAt;
+        private volatile UserPrincipal principal;
+
+        Entry(byte[] token, Claims claims, long expiresAt) {
+            this.token = token;
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.efiling.service;
+
+import com.efiling.domain.entity.Approval;
+import com.efiling.domain.entity.ApprovalAction;
+import com.efiling.domain.entity.ApprovalStep;
+import com.efiling.domain.entity.Institution;
+import com.efiling.domain.entity.User;
+import com.efiling.dto.approval.BottleneckReport;
+import com.efiling.repository.ApprovalActionRepository;
+import com.efiling.repository.ApprovalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Records how long approvals sit in each workflow step. Step exits are published as
+ * Micrometer timers with percentile histograms (HdrHistogram backed), tagged by workflow,
+ * step, institution and outcome; the bottleneck report aggregates the persisted wait times.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApprovalMetricsService {
+
+    private static final String STEP_ENTERED = "efiling.approval.step.entered";
+    private static final String STEP_DURATION = "efiling.approval.step.duration";
+
+    private final MeterRegistry meterRegistry;
+    private final ApprovalRepository approvalRepository;
+    private final ApprovalActionRepository approvalActionRepository;
+
+    @Value("${app.approval.metrics.slo}")
+    private Duration[] serviceLevelObjectives;
+
+    public void recordStepEntered(Approval approval, ApprovalStep step) {
+        approval.setCurrentStepStartedAt(LocalDateTime.now());
+
+        Counter.builder(STEP_ENTERED)
+                .description("Approvals that entered a workflow step")
+                .tag("workflow", workflowTag(approval))
+                .tag("step", step.getStepName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Stamps the action with the time spent in the step and, for actions that move the
+     * approval out of the step, records it in the step latency histogram.
+     */
+    public void recordStepAction(Approval approval, ApprovalStep step, ApprovalAction action) {
+        LocalDateTime enteredAt = approval.getCurrentStepStartedAt() != null
+                ? approval.getCurrentStepStartedAt()
+                : approval.getStartedAt();
+        if (enteredAt == null) {
+            return;
+        }
+
+        Duration wait = Duration.between(enteredAt, action.getActionedAt());
+        action.setWaitSeconds(wait.getSeconds());
+
+        if (action.getAction() != ApprovalAction.ActionType.APPROVE
+                && action.getAction() != ApprovalAction.ActionType.REJECT) {
+            return;
+        }
+
+        Timer.builder(STEP_DURATION)
+                .description("Time approvals spend waiting in a workflow step")
+                .tag("workflow", workflowTag(approval))
+                .tag("step", step.getStepName())
+                .tag("institution", institutionTag(approval))
+                .tag("outcome", action.getAction().name())
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .minimumExpectedValue(Duration.ofMinutes(1))
+                .maximumExpectedValue(Duration.ofDays(30))
+                .register(meterRegistry)
+                .record(wait);
+    }
+
+    @Transactional(readOnly = true)
+    public BottleneckReport getBottleneckReport(LocalDateTime since) {
+        return BottleneckReport.builder()
+                .since(since)
+                .generatedAt(LocalDateTime.now())
+                .stepLatency(approvalActionRepository.summarizeStepLatency(since))
+                .backlog(approvalRepository.summarizeStepBacklog())
+                .build();
+    }
+
+    private String workflowTag(Approval approval) {
+        String code = approval.getWorkflow().getWorkflowCode();
+        return code != null ? code : String.valueOf(approval.getWorkflow().getId());
+    }
+
+    private String institutionTag(Approval approval) {
+        try {
+            User submitter = approval.getFormSubmission().getSubmittedBy();
+            Institution institution = submitter != null ? submitter.getInstitution() : null;
+            return institution != null ? institution.getCode() : "none";
+        } catch (Exception e) {
+            log.debug("Could not resolve institution for approval {}", approval.getId(), e);
+            return "unknown";
+        }
+    }
+}
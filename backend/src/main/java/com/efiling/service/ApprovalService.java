@@ -2,6 +2,8 @@ package com.efiling.service;
 
 import com.efiling.domain.entity.*;
 import com.efiling.repository.*;
+import com.efiling.service.notification.NotificationAudience;
+import com.efiling.service.notification.NotificationFanoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -9,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +22,8 @@ public class ApprovalService {
     private final ApprovalWorkflowRepository workflowRepository;
     private final FormSubmissionRepository formSubmissionRepository;
     private final NotificationService notificationService;
+    private final NotificationFanoutService notificationFanoutService;
+    private final ApprovalMetricsService approvalMetricsService;
 
     @Transactional
     public Approval initiateApproval(FormSubmission formSubmission, Long workflowId) {
@@ -37,6 +42,7 @@ public class ApprovalService {
                 .startedAt(LocalDateTime.now())
                 .build();
 
+        approvalMetricsService.recordStepEntered(approval, workflow.getSteps().get(0));
         approval = approvalRepository.save(approval);
 
         // Update form submission status
@@ -76,6 +82,7 @@ public class ApprovalService {
                 .actionedAt(LocalDateTime.now())
                 .build();
 
+        approvalMetricsService.recordStepAction(approval, currentStep, action);
         approval.getActions().add(action);
 
         // Process based on action type
@@ -105,9 +112,8 @@ public class ApprovalService {
             // Notify submitter
             notificationService.sendNotification(
                     submission.getSubmittedBy(),
-                    Notification.NotificationType.APPROVED,
-                    "Submission Approved",
-                    "Your submission " + submission.getSubmissionNumber() + " has been approved.",
+                    "SUBMISSION_APPROVED",
+                    Map.of("submissionNumber", submission.getSubmissionNumber()),
                     Notification.NotificationChannel.EMAIL,
                     "FormSubmission",
                     submission.getId()
@@ -118,6 +124,7 @@ public class ApprovalService {
             ApprovalStep nextStep = getStepByOrder(approval, approval.getCurrentStepOrder());
 
             if (nextStep != null) {
+                approvalMetricsService.recordStepEntered(approval, nextStep);
                 notifyStepApprovers(approval, nextStep);
             }
         }
@@ -135,9 +142,8 @@ public class ApprovalService {
         // Notify submitter
         notificationService.sendNotification(
                 submission.getSubmittedBy(),
-                Notification.NotificationType.REJECTED,
-                "Submission Rejected",
-                "Your submission " + submission.getSubmissionNumber() + " has been rejected.",
+                "SUBMISSION_REJECTED",
+                Map.of("submissionNumber", submission.getSubmissionNumber()),
                 Notification.NotificationChannel.EMAIL,
                 "FormSubmission",
                 submission.getId()
@@ -152,9 +158,8 @@ public class ApprovalService {
         // Notify submitter
         notificationService.sendNotification(
                 submission.getSubmittedBy(),
-                Notification.NotificationType.CHANGES_REQUESTED,
-                "Changes Requested",
-                "Changes have been requested for your submission " + submission.getSubmissionNumber(),
+                "CHANGES_REQUESTED",
+                Map.of("submissionNumber", submission.getSubmissionNumber()),
                 Notification.NotificationChannel.EMAIL,
                 "FormSubmission",
                 submission.getId()
@@ -162,24 +167,15 @@ public class ApprovalService {
     }
 
     private void notifyStepApprovers(Approval approval, ApprovalStep step) {
-        // Notify users assigned to this step
-        step.getApproverUsers().forEach(user -> {
-            notificationService.sendNotification(
-                    user,
-                    Notification.NotificationType.APPROVAL_REQUIRED,
-                    "Approval Required",
-                    "A submission requires your approval: " + approval.getFormSubmission().getSubmissionNumber(),
-                    Notification.NotificationChannel.EMAIL,
-                    "Approval",
-                    approval.getId()
-            );
-        });
-
-        // Notify users with roles assigned to this step
-        step.getApproverRoles().forEach(role -> {
-            // In a real implementation, you would query users with this role
-            log.info("Notification would be sent to users with role: {}", role.getName());
-        });
+        // Notify users assigned to this step and users holding one of its roles, each once
+        notificationFanoutService.notifyAudience(
+                NotificationAudience.approvalStep(step.getId()),
+                "APPROVAL_REQUIRED",
+                Map.of("submissionNumber", approval.getFormSubmission().getSubmissionNumber()),
+                Notification.NotificationChannel.EMAIL,
+                "Approval",
+                approval.getId()
+        );
     }
 
     private ApprovalStep getCurrentStep(Approval approval) {
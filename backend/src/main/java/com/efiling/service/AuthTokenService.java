@@ -0,0 +1,120 @@
+package com.efiling.service;
+
+import com.efiling.domain.entity.RefreshToken;
+import com.efiling.domain.entity.User;
+import com.efiling.repository.RefreshTokenRepository;
+import com.efiling.repository.UserRepository;
+import com.efiling.security.JwtTokenProvider;
+import com.efiling.security.TokenRevocationIndex;
+import com.efiling.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues access/refresh token pairs and rotates refresh tokens. Every login starts a token
+ * family; each refresh uses up the presented token and issues the next one in the family.
+ * Presenting a used refresh token means it was copied, so the whole family is revoked,
+ * which also rejects the family's outstanding access tokens.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthTokenService {
+
+    private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationIndex revocationIndex;
+
+    @Transactional
+    public TokenPair issueTokens(UserPrincipal userPrincipal) {
+        return issue(userPrincipal, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair. Returns null when the token was already used,
+     * after revoking its family; throws for tokens that are invalid for any other reason.
+     */
+    @Transactional
+    public TokenPair refresh(String refreshToken) {
+        Claims claims = tokenProvider.parseToken(refreshToken);
+        if (claims == null || !JwtTokenProvider.isRefreshToken(claims)) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+
+        RefreshToken stored = refreshTokenRepository.findByJti(claims.getId())
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        if (stored.getUsedAt() != null || stored.getRevokedAt() != null) {
+            log.warn("Refresh token reuse for user {}; revoking token family {}", claims.getSubject(),
+                    stored.getFamilyId());
+            revokeFamily(stored.getFamilyId());
+            return null;
+        }
+
+        User user = userRepository.findById(Long.parseLong(claims.getSubject()))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        UserPrincipal userPrincipal = UserPrincipal.create(user);
+        if (!userPrincipal.isEnabled()
+                || userPrincipal.getSecurityVersion() != JwtTokenProvider.getSecurityVersion(claims)) {
+            throw new RuntimeException("Refresh token no longer valid");
+        }
+
+        stored.setUsedAt(LocalDateTime.now());
+        return issue(userPrincipal, stored.getFamilyId());
+    }
+
+    /**
+     * Ends the session the refresh token belongs to, including its access tokens.
+     */
+    @Transactional
+    public void logout(String refreshToken) {
+        Claims claims = tokenProvider.parseToken(refreshToken);
+        if (claims == null || !JwtTokenProvider.isRefreshToken(claims)) {
+            return;
+        }
+        revokeFamily(JwtTokenProvider.getFamilyId(claims));
+    }
+
+    @Scheduled(cron = "${app.jwt.revocation.rebuild-cron}")
+    @Transactional
+    public void deleteExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+        // No token of the family outlives a refresh token issued now
+        revocationIndex.revoke(familyId, LocalDateTime.now().plus(Duration.ofMillis(tokenProvider.getRefreshExpiration())));
+    }
+
+    private TokenPair issue(UserPrincipal userPrincipal, String familyId) {
+        String jti = UUID.randomUUID().toString();
+        Date expiresAt = new Date(System.currentTimeMillis() + tokenProvider.getRefreshExpiration());
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .jti(jti)
+                .familyId(familyId)
+                .user(userRepository.getReferenceById(userPrincipal.getId()))
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .build());
+
+        return new TokenPair(
+                tokenProvider.generateToken(userPrincipal, familyId),
+                tokenProvider.generateRefreshToken(userPrincipal, jti, familyId, expiresAt),
+                userPrincipal);
+    }
+
+    public record TokenPair(String accessToken, String refreshToken, UserPrincipal userPrincipal) {
+    }
+}
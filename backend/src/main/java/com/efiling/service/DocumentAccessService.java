@@ -0,0 +1,49 @@
+package com.efiling.service;
+
+import com.efiling.security.DocumentAcl;
+import com.efiling.security.DocumentAclCache;
+import com.efiling.security.SecurityStateCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides whether a user may see a document from the cached document ACL and the user's
+ * cached institution, so a warm check runs no queries.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentAccessService {
+
+    private final DocumentAclCache documentAclCache;
+    private final SecurityStateCache securityStateCache;
+
+    public boolean hasAccess(Long documentId, Long userId) {
+        DocumentAcl acl = documentAclCache.get(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+        return acl.permits(userId, securityStateCache.getInstitutionId(userId), LocalDateTime.now());
+    }
+
+    /**
+     * The subset of the given documents the user may see, in the given order. Unknown ids are
+     * left out.
+     */
+    public Set<Long> filterAccessible(Collection<Long> documentIds, Long userId) {
+        Map<Long, DocumentAcl> acls = documentAclCache.getAll(documentIds);
+        Long institutionId = securityStateCache.getInstitutionId(userId);
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> accessible = new LinkedHashSet<>();
+        for (Long documentId : documentIds) {
+            DocumentAcl acl = acls.get(documentId);
+            if (acl != null && acl.permits(userId, institutionId, now)) {
+                accessible.add(documentId);
+            }
+        }
+        return accessible;
+    }
+}
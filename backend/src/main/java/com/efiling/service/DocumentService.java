@@ -2,7 +2,12 @@ package com.efiling.service;
 
 import com.efiling.domain.entity.Document;
 import com.efiling.domain.entity.User;
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.document.DocumentSummary;
 import com.efiling.repository.DocumentRepository;
+import com.efiling.repository.support.KeysetPager;
+import com.efiling.repository.support.KeysetQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,9 +25,14 @@ public class DocumentService {
 
     private final DocumentRepository documentRepository;
     private final DocumentStorageService storageService;
+    private final KeysetPager keysetPager;
 
+    /**
+     * Stores the file and records the document. Returns a summary rather than the entity, whose
+     * uploader is the request's lazy user reference.
+     */
     @Transactional
-    public Document uploadDocument(MultipartFile file, String documentType, User uploadedBy) throws Exception {
+    public DocumentSummary uploadDocument(MultipartFile file, String documentType, User uploadedBy) throws Exception {
         // Store file
         String filePath = storageService.storeFile(file, documentType);
 
@@ -46,7 +56,22 @@ public class DocumentService {
                 .checksum(checksum)
                 .build();
 
-        return documentRepository.save(document);
+        document = documentRepository.save(document);
+        return DocumentSummary.builder()
+                .id(document.getId())
+                .documentNumber(document.getDocumentNumber())
+                .filename(document.getFilename())
+                .originalFilename(document.getOriginalFilename())
+                .documentType(document.getDocumentType())
+                .mimeType(document.getMimeType())
+                .fileSize(document.getFileSize())
+                .status(document.getStatus())
+                .isSigned(document.getIsSigned())
+                .uploadedById(uploadedBy.getId())
+                .uploadedByUsername(uploadedBy.getUsername())
+                .uploadedByEmail(uploadedBy.getEmail())
+                .createdAt(document.getCreatedAt())
+                .build();
     }
 
     public Document getDocument(Long id) {
@@ -58,8 +83,23 @@ public class DocumentService {
         return documentRepository.findByUploadedBy(user);
     }
 
-    public List<Document> getAllDocuments() {
-        return documentRepository.findAll();
+    /**
+     * A page of documents, optionally limited to the given statuses. Sortable by createdAt
+     * (the default, newest first) or id.
+     */
+    public CursorPage<DocumentSummary> getDocuments(List<Document.DocumentStatus> statuses, PageParams page) {
+        KeysetQuery<DocumentSummary> query = KeysetQuery.select(DocumentSummary.class,
+                        "SELECT new com.efiling.dto.document.DocumentSummary(e.id, e.documentNumber, e.filename, " +
+                        "e.originalFilename, e.documentType, e.mimeType, e.fileSize, e.status, e.isSigned, " +
+                        "u.id, u.username, u.email, e.createdAt) FROM Document e JOIN e.uploadedBy u",
+                        DocumentSummary::getId)
+                .sortable("createdAt", "e.createdAt", LocalDateTime.class, DocumentSummary::getCreatedAt)
+                .sortable("id", "e.id", Long.class, DocumentSummary::getId)
+                .defaultSort("createdAt");
+        if (statuses != null && !statuses.isEmpty()) {
+            query.where("e.status IN :statuses", "statuses", statuses);
+        }
+        return keysetPager.page(query, page);
     }
 
     @Transactional
@@ -5,13 +5,20 @@ import com.efiling.repository.DocumentRepository;
 import com.efiling.repository.DocumentShareRepository;
 import com.efiling.repository.InstitutionRepository;
 import com.efiling.repository.UserRepository;
+import com.efiling.security.DocumentAccessIndex;
+import com.efiling.security.SecurityStateCache;
+import com.efiling.service.notification.NotificationAudience;
+import com.efiling.service.notification.NotificationFanoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,9 +31,17 @@ public class DocumentShareService {
     private final UserRepository userRepository;
     private final InstitutionRepository institutionRepository;
     private final NotificationService notificationService;
+    private final NotificationFanoutService notificationFanoutService;
+    private final DocumentAccessService documentAccessService;
+    private final DocumentAccessIndex documentAccessIndex;
+    private final SecurityStateCache securityStateCache;
+
+    @Value("${app.notification.fanout.all-users}")
+    private boolean notifyAllUsers;
 
     @Transactional
-    public DocumentShare shareWithUser(Long documentId, Long sharedByUserId, Long sharedWithUserId, String message) {
+    public DocumentShare shareWithUser(Long documentId, Long sharedByUserId, Long sharedWithUserId, String message,
+                                       LocalDateTime expiresAt) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
@@ -42,6 +57,7 @@ public class DocumentShareService {
                 .shareType(DocumentShare.ShareType.USER)
                 .sharedWithUser(sharedWith)
                 .message(message)
+                .expiresAt(expiresAt)
                 .isActive(true)
                 .build();
 
@@ -50,9 +66,8 @@ public class DocumentShareService {
         // Send notification
         notificationService.sendNotification(
                 sharedWith,
-                Notification.NotificationType.GENERAL,
-                "Document Shared",
-                "A document has been shared with you: " + document.getDocumentNumber(),
+                "DOCUMENT_SHARED",
+                Map.of("documentNumber", document.getDocumentNumber()),
                 Notification.NotificationChannel.EMAIL,
                 "DocumentShare",
                 share.getId()
@@ -62,7 +77,8 @@ public class DocumentShareService {
     }
 
     @Transactional
-    public DocumentShare shareWithInstitution(Long documentId, Long sharedByUserId, Long institutionId, String message) {
+    public DocumentShare shareWithInstitution(Long documentId, Long sharedByUserId, Long institutionId, String message,
+                                              LocalDateTime expiresAt) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
@@ -78,30 +94,27 @@ public class DocumentShareService {
                 .shareType(DocumentShare.ShareType.INSTITUTION)
                 .sharedWithInstitution(institution)
                 .message(message)
+                .expiresAt(expiresAt)
                 .isActive(true)
                 .build();
 
         DocumentShare savedShare = documentShareRepository.save(share);
 
         // Notify all users in the institution
-        final Long shareId = savedShare.getId();
-        institution.getUsers().forEach(user -> {
-            notificationService.sendNotification(
-                    user,
-                    Notification.NotificationType.GENERAL,
-                    "Document Shared with Institution",
-                    "A document has been shared with your institution: " + document.getDocumentNumber(),
-                    Notification.NotificationChannel.IN_APP,
-                    "DocumentShare",
-                    shareId
-            );
-        });
+        notificationFanoutService.notifyAudience(
+                NotificationAudience.institution(institution.getId()),
+                "DOCUMENT_SHARED_INSTITUTION",
+                Map.of("documentNumber", document.getDocumentNumber()),
+                Notification.NotificationChannel.IN_APP,
+                "DocumentShare",
+                savedShare.getId()
+        );
 
         return savedShare;
     }
 
     @Transactional
-    public DocumentShare shareWithAllUsers(Long documentId, Long sharedByUserId, String message) {
+    public DocumentShare shareWithAllUsers(Long documentId, Long sharedByUserId, String message, LocalDateTime expiresAt) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
@@ -114,33 +127,68 @@ public class DocumentShareService {
                 .shareType(DocumentShare.ShareType.ALL_USERS)
                 .shareAllUsers(true)
                 .message(message)
+                .expiresAt(expiresAt)
                 .isActive(true)
                 .build();
 
-        return documentShareRepository.save(share);
-    }
-
-    public List<Document> getSharedDocuments(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        DocumentShare savedShare = documentShareRepository.save(share);
 
-        List<DocumentShare> shares = documentShareRepository.findSharedDocumentsForUser(user, user.getInstitution());
+        if (notifyAllUsers) {
+            notificationFanoutService.notifyAudience(
+                    NotificationAudience.allUsers(),
+                    "DOCUMENT_SHARED_ALL",
+                    Map.of("documentNumber", document.getDocumentNumber()),
+                    Notification.NotificationChannel.IN_APP,
+                    "DocumentShare",
+                    savedShare.getId()
+            );
+        }
 
-        return shares.stream()
-                .map(DocumentShare::getDocument)
-                .distinct()
-                .collect(Collectors.toList());
+        return savedShare;
     }
 
-    public List<Document> getInstitutionalDocuments(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Documents shared with the user, newest first. Pass the last id of the previous page as
+     * beforeId to continue; a null limit returns everything.
+     */
+    public List<Document> getSharedDocuments(Long userId, Long beforeId, Integer limit) {
+        Long institutionId = securityStateCache.getInstitutionId(userId);
+        if (documentAccessIndex.isReady()) {
+            return findInOrder(documentAccessIndex.findSharedWith(userId, institutionId, beforeId, limitOf(limit)));
+        }
+        return documentRepository.findSharedWithBefore(userId, institutionId, LocalDateTime.now(),
+                beforeOf(beforeId), PageRequest.of(0, limitOf(limit)));
+    }
 
-        if (user.getInstitution() == null) {
+    /**
+     * The user's own documents and those their institution can see, newest first, paged like
+     * {@link #getSharedDocuments}.
+     */
+    public List<Document> getInstitutionalDocuments(Long userId, Long beforeId, Integer limit) {
+        Long institutionId = securityStateCache.getInstitutionId(userId);
+        if (institutionId == null) {
             return List.of();
         }
+        if (documentAccessIndex.isReady()) {
+            return findInOrder(documentAccessIndex.findInstitutional(userId, institutionId, beforeId, limitOf(limit)));
+        }
+        return documentRepository.findInstitutionalBefore(userId, institutionId, beforeOf(beforeId),
+                PageRequest.of(0, limitOf(limit)));
+    }
 
-        return documentRepository.findAccessibleDocumentsByUser(user, user.getInstitution());
+    // Ids the index still holds for documents deleted on another node are skipped
+    private List<Document> findInOrder(List<Long> ids) {
+        Map<Long, Document> documents = documentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+        return ids.stream().map(documents::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private static int limitOf(Integer limit) {
+        return limit != null && limit > 0 ? limit : Integer.MAX_VALUE;
+    }
+
+    private static long beforeOf(Long beforeId) {
+        return beforeId != null ? beforeId : Long.MAX_VALUE;
     }
 
     @Transactional
@@ -164,34 +212,18 @@ public class DocumentShareService {
     }
 
     public boolean hasAccessToDocument(Long documentId, Long userId) {
-        Document document = documentRepository.findById(documentId)
-                .orElseThrow(() -> new RuntimeException("Document not found"));
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Check if user uploaded the document
-        if (document.getUploadedBy().getId().equals(userId)) {
-            return true;
-        }
-
-        // Check if document is visible to institution
-        if (document.getVisibleToInstitution() && user.getInstitution() != null &&
-            document.getUploadedBy().getInstitution() != null &&
-            document.getUploadedBy().getInstitution().getId().equals(user.getInstitution().getId())) {
-            return true;
-        }
-
-        // Check if document is specifically shared with user
-        if (documentShareRepository.existsByDocumentAndSharedWithUser(document, user)) {
-            return true;
-        }
+        return documentAccessService.hasAccess(documentId, userId);
+    }
 
-        // Check if document is shared with all users
-        if (documentShareRepository.existsByDocumentAndShareAllUsersTrue(document)) {
-            return true;
+    /**
+     * Batch form of {@link #hasAccessToDocument} for list views.
+     */
+    public Map<Long, Boolean> hasAccessToDocuments(List<Long> documentIds, Long userId) {
+        Set<Long> accessible = documentAccessService.filterAccessible(documentIds, userId);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long documentId : documentIds) {
+            result.put(documentId, accessible.contains(documentId));
         }
-
-        return false;
+        return result;
     }
 }
@@ -5,14 +5,20 @@ import com.efiling.domain.entity.Document;
 import com.efiling.domain.entity.DocumentChecklistResponse;
 import com.efiling.domain.entity.DocumentType;
 import com.efiling.domain.entity.User;
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.documenttype.DocumentTypeSummary;
 import com.efiling.repository.ChecklistItemRepository;
 import com.efiling.repository.DocumentChecklistResponseRepository;
 import com.efiling.repository.DocumentTypeRepository;
+import com.efiling.repository.support.KeysetPager;
+import com.efiling.repository.support.KeysetQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +30,7 @@ public class DocumentTypeService {
     private final DocumentTypeRepository documentTypeRepository;
     private final ChecklistItemRepository checklistItemRepository;
     private final DocumentChecklistResponseRepository checklistResponseRepository;
+    private final KeysetPager keysetPager;
 
     @Transactional
     public DocumentType createDocumentType(DocumentType documentType, Long createdBy) {
@@ -90,8 +97,22 @@ public class DocumentTypeService {
                 .orElseThrow(() -> new RuntimeException("Document type not found"));
     }
 
-    public List<DocumentType> getAllDocumentTypes() {
-        return documentTypeRepository.findAll();
+    /**
+     * A page of document types without their checklists. Sortable by name (the default) or
+     * createdAt.
+     */
+    public CursorPage<DocumentTypeSummary> getDocumentTypes(Boolean active, PageParams page) {
+        KeysetQuery<DocumentTypeSummary> query = KeysetQuery.select(DocumentTypeSummary.class,
+                        "SELECT new com.efiling.dto.documenttype.DocumentTypeSummary(e.id, e.name, e.description, " +
+                        "e.code, e.isActive, e.requiresChecklist, e.createdAt) FROM DocumentType e",
+                        DocumentTypeSummary::getId)
+                .sortable("name", "e.name", String.class, DocumentTypeSummary::getName)
+                .sortable("createdAt", "e.createdAt", LocalDateTime.class, DocumentTypeSummary::getCreatedAt)
+                .defaultSort("name");
+        if (active != null) {
+            query.where("e.isActive = :active", "active", active);
+        }
+        return keysetPager.page(query, page);
     }
 
     public List<DocumentType> getActiveDocumentTypes() {
@@ -3,9 +3,15 @@ package com.efiling.service;
 import com.efiling.domain.entity.Form;
 import com.efiling.domain.entity.FormSubmission;
 import com.efiling.domain.entity.User;
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.form.FormSubmissionSummary;
+import com.efiling.dto.form.SubmissionStats;
 import com.efiling.repository.FormRepository;
 import com.efiling.repository.FormSubmissionRepository;
-import com.efiling.repository.UserRepository;
+import com.efiling.repository.support.KeysetPager;
+import com.efiling.repository.support.KeysetQuery;
+import com.efiling.security.SecurityStateCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -22,9 +30,11 @@ public class FormService {
 
     private final FormRepository formRepository;
     private final FormSubmissionRepository formSubmissionRepository;
-    private final UserRepository userRepository;
     private final ApprovalService approvalService;
     private final NotificationService notificationService;
+    private final WorkflowRoutingService workflowRoutingService;
+    private final KeysetPager keysetPager;
+    private final SecurityStateCache securityStateCache;
 
     public Form getForm(Long id) {
         return formRepository.findById(id)
@@ -80,17 +90,37 @@ public class FormService {
 
         submission = formSubmissionRepository.save(submission);
 
+        // Pick the workflow from the form's routing rules, falling back to the form default
+        WorkflowRoutingService.RoutingDecision decision = workflowRoutingService.route(form, formData);
+
+        if (decision.isSkipApproval()) {
+            submission.setStatus(FormSubmission.SubmissionStatus.APPROVED);
+            submission.setCompletedAt(LocalDateTime.now());
+            submission = formSubmissionRepository.save(submission);
+            log.info("Submission {} auto-approved by routing rule {}", submissionNumber, decision.getMatchedRuleId());
+
+            notificationService.sendNotification(
+                    submittedBy,
+                    "SUBMISSION_AUTO_APPROVED",
+                    Map.of("submissionNumber", submissionNumber),
+                    com.efiling.domain.entity.Notification.NotificationChannel.EMAIL,
+                    "FormSubmission",
+                    submission.getId()
+            );
+
+            return submission;
+        }
+
         // Initiate approval workflow if configured
-        if (form.getApprovalWorkflowId() != null) {
-            approvalService.initiateApproval(submission, form.getApprovalWorkflowId());
+        if (decision.getWorkflowId() != null) {
+            approvalService.initiateApproval(submission, decision.getWorkflowId());
         }
 
         // Send notification
         notificationService.sendNotification(
                 submittedBy,
-                com.efiling.domain.entity.Notification.NotificationType.SUBMISSION_RECEIVED,
-                "Submission Received",
-                "Your submission " + submissionNumber + " has been received and is being processed.",
+                "SUBMISSION_RECEIVED",
+                Map.of("submissionNumber", submissionNumber),
                 com.efiling.domain.entity.Notification.NotificationChannel.EMAIL,
                 "FormSubmission",
                 submission.getId()
@@ -104,19 +134,53 @@ public class FormService {
                 .orElseThrow(() -> new RuntimeException("Submission not found"));
     }
 
-    public List<FormSubmission> getUserSubmissions(User user) {
-        return formSubmissionRepository.findBySubmittedBy(user);
+    /**
+     * A page of the user's own submissions. Sortable by createdAt (the default, newest first)
+     * or id.
+     */
+    public CursorPage<FormSubmissionSummary> getUserSubmissions(Long userId, PageParams page) {
+        return keysetPager.page(submissionQuery().where("u.id = :userId", "userId", userId), page);
     }
 
-    public List<FormSubmission> getInstitutionalSubmissions(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * How many submissions the user has in each status.
+     */
+    @Transactional(readOnly = true)
+    public SubmissionStats getUserSubmissionStats(Long userId) {
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        for (FormSubmissionRepository.StatusCount count : formSubmissionRepository.countByStatusForUser(userId)) {
+            byStatus.put(count.getStatus().name(), count.getCount());
+            total += count.getCount();
+        }
+        return SubmissionStats.builder().total(total).byStatus(byStatus).build();
+    }
 
-        if (user.getInstitution() == null) {
-            return List.of();
+    /**
+     * A page of the user's submissions and those their institution can see, paged like
+     * {@link #getUserSubmissions}. Empty for users without an institution.
+     */
+    public CursorPage<FormSubmissionSummary> getInstitutionalSubmissions(Long userId, PageParams page) {
+        Long institutionId = securityStateCache.getInstitutionId(userId);
+        if (institutionId == null) {
+            return CursorPage.<FormSubmissionSummary>builder().items(List.of()).build();
         }
+        KeysetQuery<FormSubmissionSummary> query = submissionQuery()
+                .where("(u.id = :userId OR (u.institution.id = :institutionId AND e.visibleToInstitution = true))")
+                .param("userId", userId)
+                .param("institutionId", institutionId);
+        return keysetPager.page(query, page);
+    }
 
-        return formSubmissionRepository.findAccessibleSubmissionsByUser(user, user.getInstitution());
+    private static KeysetQuery<FormSubmissionSummary> submissionQuery() {
+        return KeysetQuery.select(FormSubmissionSummary.class,
+                        "SELECT new com.efiling.dto.form.FormSubmissionSummary(e.id, e.submissionNumber, f.id, f.name, " +
+                        "u.id, u.username, e.status, e.submittedAt, e.createdAt) " +
+                        "FROM FormSubmission e JOIN e.submittedBy u LEFT JOIN e.form f",
+                        FormSubmissionSummary::getId)
+                .sortable("createdAt", "e.createdAt", LocalDateTime.class, FormSubmissionSummary::getCreatedAt)
+                .sortable("id", "e.id", Long.class, FormSubmissionSummary::getId)
+                .defaultSort("createdAt");
     }
 
     private String generateSubmissionNumber() {
@@ -1,13 +1,18 @@
 package com.efiling.service;
 
 import com.efiling.domain.entity.Institution;
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.institution.InstitutionSummary;
 import com.efiling.repository.InstitutionRepository;
+import com.efiling.repository.support.KeysetPager;
+import com.efiling.repository.support.KeysetQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +20,7 @@ import java.util.List;
 public class InstitutionService {
 
     private final InstitutionRepository institutionRepository;
+    private final KeysetPager keysetPager;
 
     @Transactional
     public Institution createInstitution(String code, String name, String institutionType,
@@ -48,8 +54,28 @@ public class InstitutionService {
                 .orElseThrow(() -> new RuntimeException("Institution not found"));
     }
 
-    public List<Institution> getAllInstitutions() {
-        return institutionRepository.findAll();
+    /**
+     * A page of institutions, optionally only active or inactive ones and only those whose name
+     * or code starts with q. Sortable by name (the default), code or createdAt.
+     */
+    public CursorPage<InstitutionSummary> getInstitutions(Boolean active, String q, PageParams page) {
+        KeysetQuery<InstitutionSummary> query = KeysetQuery.select(InstitutionSummary.class,
+                        "SELECT new com.efiling.dto.institution.InstitutionSummary(e.id, e.code, e.name, " +
+                        "e.institutionType, e.description, e.contactEmail, e.contactPhone, e.address, e.isActive, " +
+                        "e.createdAt) FROM Institution e",
+                        InstitutionSummary::getId)
+                .sortable("name", "e.name", String.class, InstitutionSummary::getName)
+                .sortable("code", "e.code", String.class, InstitutionSummary::getCode)
+                .sortable("createdAt", "e.createdAt", LocalDateTime.class, InstitutionSummary::getCreatedAt)
+                .defaultSort("name");
+        if (active != null) {
+            query.where("e.isActive = :active", "active", active);
+        }
+        if (q != null && !q.isBlank()) {
+            String prefix = q.trim().toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            query.where("(LOWER(e.name) LIKE :q ESCAPE '\\' OR LOWER(e.code) LIKE :q ESCAPE '\\')", "q", prefix);
+        }
+        return keysetPager.page(query, page);
     }
 
     @Transactional
@@ -0,0 +1,116 @@
+package com.efiling.service;
+
+import com.efiling.security.LoginAttemptTracker;
+import com.efiling.security.LoginRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password verification on a small dedicated pool so BCrypt can never take more than
+ * its share of the CPUs. The pool's queue is the admission control: when it is full a login
+ * is refused right away with 503 instead of piling up behind the others, and a login that
+ * waits longer than the timeout is abandoned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginService {
+
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final AuthenticationManager authenticationManager;
+    private final LoginAttemptTracker attemptTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.login.workers}")
+    private int workers;
+
+    @Value("${app.security.login.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${app.security.login.timeout}")
+    private Duration timeout;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("efiling.login.queue", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for password verification")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Authentication authenticate(String username, String password, String address) {
+        if (attemptTracker.isBlocked(username, address)) {
+            log.warn("Login throttled for user {} from {}", username, address);
+            throw new LoginRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many failed login attempts, please try again later", attemptTracker.getRetryAfter());
+        }
+
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password)));
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+
+        try {
+            Authentication authentication = result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            attemptTracker.recordSuccess(username, address);
+            return authentication;
+        } catch (TimeoutException e) {
+            // Cancelled tasks still queued never run
+            result.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BadCredentialsException badCredentials) {
+                attemptTracker.recordFailure(username, address);
+                throw badCredentials;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private LoginRejectedException busy() {
+        return new LoginRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Login is busy, please try again shortly", BUSY_RETRY_AFTER);
+    }
+}
@@ -2,26 +2,48 @@ package com.efiling.service;
 
 import com.efiling.domain.entity.Notification;
 import com.efiling.domain.entity.User;
+import com.efiling.dto.notification.NotificationFeedFilter;
+import com.efiling.dto.notification.NotificationFeedItem;
+import com.efiling.dto.notification.NotificationFeedPage;
+import com.efiling.repository.NotificationFeedRepository;
 import com.efiling.repository.NotificationRepository;
+import com.efiling.repository.UserNotificationCounterRepository;
+import com.efiling.repository.UserRepository;
+import com.efiling.service.notification.NotificationCreatedEvent;
+import com.efiling.service.notification.NotificationDispatcher;
+import com.efiling.service.notification.NotificationTemplateService;
+import com.efiling.service.notification.RenderedNotification;
+import com.efiling.service.notification.UnreadCountChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationFeedRepository notificationFeedRepository;
+    private final UserRepository userRepository;
+    private final UserNotificationCounterRepository counterRepository;
+    private final NotificationTemplateService templateService;
     private final JavaMailSender mailSender;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.notification.email.from}")
     private String emailFrom;
@@ -29,104 +51,135 @@ public class NotificationService {
     @Value("${app.notification.email.enabled}")
     private boolean emailEnabled;
 
-    @Value("${app.notification.sms.enabled}")
-    private boolean smsEnabled;
-
-    @Async
+    /**
+     * Writes the notification to the outbox in the caller's transaction. Delivery happens after
+     * commit through {@link NotificationDispatcher}, so a rolled back caller never sends anything.
+     */
     @Transactional
     public void sendNotification(User user, Notification.NotificationType type, String subject,
                                    String message, Notification.NotificationChannel channel,
                                    String referenceType, Long referenceId) {
+        sendNotification(user, type, subject, message, null, channel, referenceType, referenceId);
+    }
+
+    /**
+     * Renders the template in the user's locale and writes it to the outbox like
+     * {@link #sendNotification(User, Notification.NotificationType, String, String,
+     * Notification.NotificationChannel, String, Long)}.
+     */
+    @Transactional
+    public void sendNotification(User user, String templateCode, Map<String, ?> params,
+                                 Notification.NotificationChannel channel, String referenceType, Long referenceId) {
+        RenderedNotification rendered = templateService.render(templateCode, user.getLocale(), params);
+        sendNotification(user, rendered.getType(), rendered.getSubject(), rendered.getText(),
+                channel == Notification.NotificationChannel.EMAIL ? rendered.getHtml() : null,
+                channel, referenceType, referenceId);
+    }
+
+    private void sendNotification(User user, Notification.NotificationType type, String subject, String message,
+                                  String htmlMessage, Notification.NotificationChannel channel,
+                                  String referenceType, Long referenceId) {
+        // In-app notifications are just stored in DB
+        boolean inApp = channel == Notification.NotificationChannel.IN_APP;
+
         Notification notification = Notification.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .type(type)
+                .priority(Notification.NotificationPriority.forType(type))
                 .subject(subject)
                 .message(message)
+                .htmlMessage(htmlMessage)
                 .channel(channel)
                 .referenceType(referenceType)
                 .referenceId(referenceId)
-                .status(Notification.NotificationStatus.PENDING)
+                .status(inApp ? Notification.NotificationStatus.SENT : Notification.NotificationStatus.PENDING)
+                .sentAt(inApp ? LocalDateTime.now() : null)
                 .build();
 
-        notificationRepository.save(notification);
-
-        try {
-            switch (channel) {
-                case EMAIL -> sendEmail(notification);
-                case SMS -> sendSms(notification);
-                case PUSH -> sendPushNotification(notification);
-                case IN_APP -> {
-                    // In-app notifications are just stored in DB
-                    notification.setStatus(Notification.NotificationStatus.SENT);
-                }
-            }
-            notification.setSentAt(LocalDateTime.now());
-            notification.setStatus(Notification.NotificationStatus.SENT);
-        } catch (Exception e) {
-            log.error("Failed to send notification", e);
-            notification.setStatus(Notification.NotificationStatus.FAILED);
-            notification.setErrorMessage(e.getMessage());
-            notification.setRetryCount(notification.getRetryCount() + 1);
-        }
+        notification = notificationRepository.save(notification);
+        counterRepository.increment(user.getId(), 1);
 
-        notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notification.getId(), user.getId(), channel,
+                type, subject, referenceType, referenceId));
     }
 
-    private void sendEmail(Notification notification) {
-        if (!emailEnabled) {
-            log.info("Email notifications disabled");
+    @Transactional
+    public void markAsRead(Long notificationId, Long userId) {
+        if (notificationRepository.markAsRead(notificationId, userId, LocalDateTime.now()) == 1) {
+            counterRepository.decrement(userId, 1);
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(userId));
             return;
         }
 
-        try {
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-            mailMessage.setFrom(emailFrom);
-            mailMessage.setTo(notification.getUser().getEmail());
-            mailMessage.setSubject(notification.getSubject());
-            mailMessage.setText(notification.getMessage());
-
-            mailSender.send(mailMessage);
-            log.info("Email sent to {}", notification.getUser().getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send email", e);
-            throw new RuntimeException("Failed to send email", e);
+        // Nothing updated: already read, someone else's, or missing
+        if (!notificationRepository.existsByIdAndUserId(notificationId, userId)) {
+            if (notificationRepository.existsById(notificationId)) {
+                throw new RuntimeException("Unauthorized");
+            }
+            throw new RuntimeException("Notification not found");
         }
     }
 
-    private void sendSms(Notification notification) {
-        if (!smsEnabled) {
-            log.info("SMS notifications disabled");
-            return;
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        if (updated > 0) {
+            counterRepository.decrement(userId, updated);
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(userId));
         }
-        // Twilio SMS implementation would go here
-        log.info("SMS would be sent to {}", notification.getUser().getPhoneNumber());
+        return updated;
     }
 
-    private void sendPushNotification(Notification notification) {
-        // Push notification implementation would go here
-        log.info("Push notification would be sent to user {}", notification.getUser().getId());
+    public long getUnreadCount(Long userId) {
+        return counterRepository.findUnreadCount(userId).orElse(0L);
     }
 
     @Transactional
-    public void markAsRead(Long notificationId, Long userId) {
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
+    public int rebuildUnreadCounters() {
+        return counterRepository.rebuildAll();
+    }
 
-        if (!notification.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized");
+    /**
+     * Returns one page of the user's notifications, newest first. The cursor is the opaque
+     * nextCursor of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public NotificationFeedPage getFeed(Long userId, NotificationFeedFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_FEED_SIZE : Math.max(1, Math.min(size, MAX_FEED_SIZE));
+
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] position = decoded.split("\\|");
+                beforeCreatedAt = LocalDateTime.parse(position[0]);
+                beforeId = Long.parseLong(position[1]);
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid cursor");
+            }
         }
 
-        notification.setIsRead(true);
-        notification.setReadAt(LocalDateTime.now());
-        notificationRepository.save(notification);
-    }
+        // Fetch one extra row to know whether another page exists
+        List<NotificationFeedItem> items = notificationFeedRepository.findPage(userId,
+                filter != null ? filter : new NotificationFeedFilter(), beforeCreatedAt, beforeId, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
 
-    public List<Notification> getUserNotifications(User user) {
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user);
-    }
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationFeedItem last = items.get(items.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
 
-    public List<Notification> getUnreadNotifications(User user) {
-        return notificationRepository.findByUserAndIsRead(user, false);
+        return NotificationFeedPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     /**
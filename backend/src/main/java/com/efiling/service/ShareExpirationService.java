@@ -0,0 +1,145 @@
+package com.efiling.service;
+
+import com.efiling.domain.entity.DocumentShare;
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.DocumentShareRepository;
+import com.efiling.security.DocumentAccessIndex;
+import com.efiling.security.DocumentAclCache;
+import com.efiling.service.notification.NotificationAudience;
+import com.efiling.service.notification.NotificationFanoutService;
+import com.efiling.service.search.SearchIndexer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Retires shares whose expires_at has passed and warns about shares that are about to expire.
+ * Access checks already ignore expired shares; the sweep keeps the table and caches in line
+ * with them. Both passes walk a partial index over active shares with an expiry, in batches
+ * locked with SKIP LOCKED so several nodes can sweep at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShareExpirationService {
+
+    private static final DateTimeFormatter EXPIRY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final DocumentShareRepository documentShareRepository;
+    private final DocumentAclCache documentAclCache;
+    private final DocumentAccessIndex documentAccessIndex;
+    private final SearchIndexer searchIndexer;
+    private final NotificationService notificationService;
+    private final NotificationFanoutService notificationFanoutService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.document-share.expiry.batch-size}")
+    private int batchSize;
+
+    @Value("${app.document-share.expiry.warning-lead}")
+    private Duration warningLead;
+
+    // JPA cannot declare partial indexes, so this one is created here
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_document_shares_active_expiry " +
+                    "ON document_shares (expires_at) WHERE is_active AND expires_at IS NOT NULL");
+        } catch (Exception e) {
+            log.error("Failed to create the share expiry index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.document-share.expiry.sweep-interval}")
+    public void sweep() {
+        int expired = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> expireBatch(LocalDateTime.now()));
+            expired += count;
+        } while (count == batchSize);
+
+        int warned = 0;
+        do {
+            count = transactionTemplate.execute(status -> warnBatch(LocalDateTime.now()));
+            warned += count;
+        } while (count == batchSize);
+
+        if (expired > 0 || warned > 0) {
+            log.info("Expired {} document shares, warned about {}", expired, warned);
+        }
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        List<DocumentShareRepository.ShareRef> shares = documentShareRepository.lockExpired(now, batchSize);
+        if (shares.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(shares.size());
+        Set<Long> documentIds = new HashSet<>();
+        for (DocumentShareRepository.ShareRef share : shares) {
+            ids.add(share.getId());
+            documentIds.add(share.getDocumentId());
+        }
+        documentShareRepository.deactivate(ids, now);
+
+        // The bulk update bypasses the entity listeners that normally keep these in step
+        documentIds.forEach(documentAclCache::invalidate);
+        documentAccessIndex.documentsChanged(documentIds);
+        searchIndexer.documentsChanged(documentIds);
+        return shares.size();
+    }
+
+    private int warnBatch(LocalDateTime now) {
+        List<Long> ids = documentShareRepository.lockExpiringUnwarned(now, now.plus(warningLead), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        documentShareRepository.markExpiryWarned(ids, now);
+        for (DocumentShare share : documentShareRepository.findWithParticipantsByIdIn(ids)) {
+            warn(share);
+        }
+        return ids.size();
+    }
+
+    private void warn(DocumentShare share) {
+        Map<String, Object> params = Map.of(
+                "documentNumber", share.getDocument().getDocumentNumber(),
+                "expiresAt", share.getExpiresAt().format(EXPIRY_FORMAT));
+
+        switch (share.getShareType()) {
+            case USER -> {
+                if (share.getSharedWithUser() != null) {
+                    notificationService.sendNotification(share.getSharedWithUser(), "SHARE_EXPIRING", params,
+                            Notification.NotificationChannel.EMAIL, "DocumentShare", share.getId());
+                }
+            }
+            case INSTITUTION -> {
+                if (share.getSharedWithInstitution() != null) {
+                    notificationFanoutService.notifyAudience(
+                            NotificationAudience.institution(share.getSharedWithInstitution().getId()),
+                            "SHARE_EXPIRING", params, Notification.NotificationChannel.IN_APP,
+                            "DocumentShare", share.getId());
+                }
+            }
+            case ALL_USERS -> {
+                // Only the owner hears about it; warning every user would be noise
+            }
+        }
+
+        notificationService.sendNotification(share.getSharedBy(), "SHARE_EXPIRING_OWNER", params,
+                Notification.NotificationChannel.IN_APP, "DocumentShare", share.getId());
+    }
+}
@@ -0,0 +1,40 @@
+package com.efiling.service;
+
+import com.efiling.dto.admin.SystemStats;
+import com.efiling.repository.DocumentRepository;
+import com.efiling.repository.InstitutionRepository;
+import com.efiling.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totals for the admin dashboard, counted in the database rather than by listing rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class SystemStatsService {
+
+    private final UserRepository userRepository;
+    private final InstitutionRepository institutionRepository;
+    private final DocumentRepository documentRepository;
+
+    @Transactional(readOnly = true)
+    public SystemStats getStats() {
+        Map<String, Long> documentsByStatus = new TreeMap<>();
+        long totalDocuments = 0;
+        for (DocumentRepository.StatusCount count : documentRepository.countByStatus()) {
+            documentsByStatus.put(count.getStatus().name(), count.getCount());
+            totalDocuments += count.getCount();
+        }
+        return SystemStats.builder()
+                .totalUsers(userRepository.count())
+                .totalInstitutions(institutionRepository.count())
+                .totalDocuments(totalDocuments)
+                .documentsByStatus(documentsByStatus)
+                .build();
+    }
+}
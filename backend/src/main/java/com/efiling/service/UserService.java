@@ -4,9 +4,15 @@ import com.efiling.domain.entity.Institution;
 import com.efiling.domain.entity.Role;
 import com.efiling.domain.entity.User;
 import com.efiling.dto.auth.SignupRequest;
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.common.PageParams;
+import com.efiling.dto.user.UserSummary;
 import com.efiling.repository.InstitutionRepository;
 import com.efiling.repository.RoleRepository;
 import com.efiling.repository.UserRepository;
+import com.efiling.repository.support.KeysetPager;
+import com.efiling.repository.support.KeysetQuery;
+import com.efiling.security.SecurityStateCache;
 import com.efiling.util.PasswordGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +20,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -27,6 +34,8 @@ public class UserService {
     private final InstitutionRepository institutionRepository;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
+    private final SecurityStateCache securityStateCache;
+    private final KeysetPager keysetPager;
 
     @Transactional
     public User createUser(SignupRequest signupRequest) {
@@ -49,6 +58,7 @@ public class UserService {
                 .firstName(signupRequest.getFirstName())
                 .lastName(signupRequest.getLastName())
                 .phoneNumber(signupRequest.getPhoneNumber())
+                .locale(signupRequest.getLocale())
                 .institutionName(signupRequest.getInstitutionName())
                 .institutionType(signupRequest.getInstitutionType())
                 .userType(signupRequest.getUserType() != null ? signupRequest.getUserType() : User.UserType.EXTERNAL_INSTITUTIONAL)
@@ -122,12 +132,42 @@ public class UserService {
         }
     }
 
+    /**
+     * Changes the password and retires every token issued before it. Returns the updated user
+     * so the caller can issue fresh tokens.
+     */
     @Transactional
-    public void changePassword(User user, String newPassword) {
+    public User changePassword(User user, String newPassword) {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setMustChangePassword(false);
-        userRepository.save(user);
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        User saved = userRepository.save(user);
+        securityStateCache.invalidate(saved.getId());
         log.info("Password changed for user: {}", user.getUsername());
+        return saved;
+    }
+
+    /**
+     * A page of users, optionally of one type and whose username or email starts with q
+     * (ignoring case). Sortable by username (the default), email or createdAt.
+     */
+    public CursorPage<UserSummary> getUsers(User.UserType userType, String q, PageParams page) {
+        KeysetQuery<UserSummary> query = KeysetQuery.select(UserSummary.class,
+                        "SELECT new com.efiling.dto.user.UserSummary(e.id, e.username, e.email, e.firstName, " +
+                        "e.lastName, e.userType, e.institution.id, e.locale, e.isActive, e.createdAt) FROM User e",
+                        UserSummary::getId)
+                .sortable("username", "e.username", String.class, UserSummary::getUsername)
+                .sortable("email", "e.email", String.class, UserSummary::getEmail)
+                .sortable("createdAt", "e.createdAt", LocalDateTime.class, UserSummary::getCreatedAt)
+                .defaultSort("username");
+        if (userType != null) {
+            query.where("e.userType = :userType", "userType", userType);
+        }
+        if (q != null && !q.isBlank()) {
+            String prefix = q.trim().toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            query.where("(LOWER(e.username) LIKE :q ESCAPE '\\' OR LOWER(e.email) LIKE :q ESCAPE '\\')", "q", prefix);
+        }
+        return keysetPager.page(query, page);
     }
 
     public User getUserById(Long id) {
@@ -0,0 +1,317 @@
+package com.efiling.service;
+
+import com.efiling.domain.entity.Form;
+import com.efiling.domain.entity.RoutingRule;
+import com.efiling.dto.routing.RoutingConditionRequest;
+import com.efiling.dto.routing.RoutingRuleRequest;
+import com.efiling.repository.ApprovalWorkflowRepository;
+import com.efiling.repository.FormRepository;
+import com.efiling.repository.RoutingRuleRepository;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Decides which approval workflow a submission goes through based on its data.
+ * Active rules of a form are compiled once per form version into an ordered list of
+ * predicates and cached; editing a rule bumps the form version so every node recompiles.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowRoutingService {
+
+    private static final TypeReference<List<RoutingConditionRequest>> CONDITIONS_TYPE = new TypeReference<>() {};
+
+    private final RoutingRuleRepository routingRuleRepository;
+    private final FormRepository formRepository;
+    private final ApprovalWorkflowRepository workflowRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, CompiledRuleSet> ruleSetCache = new ConcurrentHashMap<>();
+
+    public RoutingDecision route(Form form, String formData) {
+        CompiledRuleSet ruleSet = getRuleSet(form);
+
+        if (ruleSet.rules.isEmpty()) {
+            return RoutingDecision.defaultFor(form);
+        }
+
+        JsonNode data;
+        try {
+            data = objectMapper.readTree(formData);
+        } catch (Exception e) {
+            log.warn("Submission data for form {} is not valid JSON, using default workflow", form.getId());
+            return RoutingDecision.defaultFor(form);
+        }
+
+        for (CompiledRule rule : ruleSet.rules) {
+            if (rule.matches(data)) {
+                log.debug("Submission for form {} matched routing rule {}", form.getId(), rule.ruleId);
+                return rule.action == RoutingRule.RoutingAction.SKIP_APPROVAL
+                        ? new RoutingDecision(null, true, rule.ruleId)
+                        : new RoutingDecision(rule.workflowId, false, rule.ruleId);
+            }
+        }
+
+        return RoutingDecision.defaultFor(form);
+    }
+
+    public List<RoutingRule> getRules(Long formId) {
+        return routingRuleRepository.findByFormIdOrderByPriorityAsc(formId);
+    }
+
+    @Transactional
+    public RoutingRule createRule(Long formId, RoutingRuleRequest request) {
+        Form form = formRepository.findById(formId)
+                .orElseThrow(() -> new RuntimeException("Form not found"));
+
+        RoutingRule rule = RoutingRule.builder().form(form).build();
+        applyRequest(rule, request);
+        rule = routingRuleRepository.save(rule);
+
+        bumpFormVersion(form);
+        return rule;
+    }
+
+    @Transactional
+    public RoutingRule updateRule(Long ruleId, RoutingRuleRequest request) {
+        RoutingRule rule = routingRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Routing rule not found"));
+
+        applyRequest(rule, request);
+        rule = routingRuleRepository.save(rule);
+
+        bumpFormVersion(rule.getForm());
+        return rule;
+    }
+
+    @Transactional
+    public void deleteRule(Long ruleId) {
+        RoutingRule rule = routingRuleRepository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Routing rule not found"));
+
+        Form form = rule.getForm();
+        routingRuleRepository.delete(rule);
+        bumpFormVersion(form);
+    }
+
+    private void applyRequest(RoutingRule rule, RoutingRuleRequest request) {
+        if (request.getAction() == RoutingRule.RoutingAction.ROUTE_TO_WORKFLOW) {
+            if (request.getApprovalWorkflowId() == null) {
+                throw new RuntimeException("Workflow is required for ROUTE_TO_WORKFLOW rules");
+            }
+            if (!workflowRepository.existsById(request.getApprovalWorkflowId())) {
+                throw new RuntimeException("Workflow not found");
+            }
+        }
+
+        // Compile eagerly so invalid rules are rejected at save time rather than at submission
+        request.getConditions().forEach(WorkflowRoutingService::compileCondition);
+
+        try {
+            rule.setConditions(objectMapper.writeValueAsString(request.getConditions()));
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid routing conditions", e);
+        }
+
+        rule.setName(request.getName());
+        rule.setPriority(request.getPriority() != null ? request.getPriority() : 100);
+        rule.setAction(request.getAction());
+        rule.setApprovalWorkflowId(request.getAction() == RoutingRule.RoutingAction.ROUTE_TO_WORKFLOW
+                ? request.getApprovalWorkflowId() : null);
+        rule.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
+    }
+
+    private void bumpFormVersion(Form form) {
+        form.setVersion(versionOf(form) + 1);
+        formRepository.save(form);
+        ruleSetCache.remove(form.getId());
+    }
+
+    private CompiledRuleSet getRuleSet(Form form) {
+        int version = versionOf(form);
+        CompiledRuleSet cached = ruleSetCache.get(form.getId());
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+
+        List<CompiledRule> rules = new ArrayList<>();
+        for (RoutingRule rule : routingRuleRepository.findByFormIdAndIsActiveTrueOrderByPriorityAsc(form.getId())) {
+            try {
+                rules.add(compileRule(rule));
+            } catch (Exception e) {
+                log.error("Skipping invalid routing rule {} for form {}", rule.getId(), form.getId(), e);
+            }
+        }
+
+        CompiledRuleSet compiled = new CompiledRuleSet(version, List.copyOf(rules));
+        ruleSetCache.put(form.getId(), compiled);
+        log.debug("Compiled {} routing rules for form {} version {}", rules.size(), form.getId(), version);
+        return compiled;
+    }
+
+    private static int versionOf(Form form) {
+        return form.getVersion() != null ? form.getVersion() : 0;
+    }
+
+    private CompiledRule compileRule(RoutingRule rule) throws Exception {
+        List<RoutingConditionRequest> conditions = objectMapper.readValue(rule.getConditions(), CONDITIONS_TYPE);
+
+        List<Predicate<JsonNode>> predicates = new ArrayList<>(conditions.size());
+        for (RoutingConditionRequest condition : conditions) {
+            predicates.add(compileCondition(condition));
+        }
+
+        return new CompiledRule(rule.getId(), rule.getAction(), rule.getApprovalWorkflowId(), predicates);
+    }
+
+    private static Predicate<JsonNode> compileCondition(RoutingConditionRequest condition) {
+        if (condition.getField() == null || condition.getField().isBlank()) {
+            throw new RuntimeException("Routing condition field is required");
+        }
+        if (condition.getOperator() == null) {
+            throw new RuntimeException("Routing condition operator is required");
+        }
+
+        JsonPointer pointer = JsonPointer.compile("/" + condition.getField().trim().replace('.', '/'));
+        String value = condition.getValue();
+
+        Predicate<JsonNode> test = switch (condition.getOperator()) {
+            case EXISTS -> node -> true;
+            case EQ -> equalsPredicate(value);
+            case NE -> equalsPredicate(value).negate();
+            case GT -> comparePredicate(condition, c -> c > 0);
+            case GTE -> comparePredicate(condition, c -> c >= 0);
+            case LT -> comparePredicate(condition, c -> c < 0);
+            case LTE -> comparePredicate(condition, c -> c <= 0);
+            case IN -> {
+                Set<String> allowed = new HashSet<>();
+                for (String option : requireValue(condition).split(",")) {
+                    allowed.add(option.trim());
+                }
+                yield node -> allowed.contains(node.asText());
+            }
+            case CONTAINS -> {
+                String needle = requireValue(condition);
+                yield node -> {
+                    if (node.isArray()) {
+                        for (JsonNode element : node) {
+                            if (needle.equals(element.asText())) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    }
+                    return node.asText().contains(needle);
+                };
+            }
+        };
+
+        // Missing fields never match, except that NE treats them as "not equal"
+        boolean matchMissing = condition.getOperator() == RoutingRule.Operator.NE;
+        return data -> {
+            JsonNode node = data.at(pointer);
+            if (node.isMissingNode() || node.isNull()) {
+                return matchMissing;
+            }
+            return test.test(node);
+        };
+    }
+
+    private static Predicate<JsonNode> equalsPredicate(String value) {
+        String expected = value != null ? value : "";
+        BigDecimal numeric = toDecimal(expected);
+        if (numeric == null) {
+            return node -> expected.equals(node.asText());
+        }
+        return node -> {
+            BigDecimal actual = toDecimal(node);
+            return actual != null ? actual.compareTo(numeric) == 0 : expected.equals(node.asText());
+        };
+    }
+
+    private static Predicate<JsonNode> comparePredicate(RoutingConditionRequest condition,
+                                                        IntPredicate accept) {
+        BigDecimal threshold = toDecimal(requireValue(condition));
+        if (threshold == null) {
+            throw new RuntimeException("Operator " + condition.getOperator() + " requires a numeric value for field "
+                    + condition.getField());
+        }
+        return node -> {
+            BigDecimal actual = toDecimal(node);
+            return actual != null && accept.test(actual.compareTo(threshold));
+        };
+    }
+
+    private static String requireValue(RoutingConditionRequest condition) {
+        if (condition.getValue() == null) {
+            throw new RuntimeException("Operator " + condition.getOperator() + " requires a value for field "
+                    + condition.getField());
+        }
+        return condition.getValue();
+    }
+
+    private static BigDecimal toDecimal(JsonNode node) {
+        if (node.isNumber()) {
+            return node.decimalValue();
+        }
+        return node.isTextual() ? toDecimal(node.asText()) : null;
+    }
+
+    private static BigDecimal toDecimal(String text) {
+        try {
+            return new BigDecimal(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RoutingDecision {
+        private final Long workflowId;
+        private final boolean skipApproval;
+        private final Long matchedRuleId;
+
+        static RoutingDecision defaultFor(Form form) {
+            return new RoutingDecision(form.getApprovalWorkflowId(), false, null);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class CompiledRuleSet {
+        private final int version;
+        private final List<CompiledRule> rules;
+    }
+
+    @AllArgsConstructor
+    private static class CompiledRule {
+        private final Long ruleId;
+        private final RoutingRule.RoutingAction action;
+        private final Long workflowId;
+        private final List<Predicate<JsonNode>> conditions;
+
+        boolean matches(JsonNode data) {
+            for (Predicate<JsonNode> condition : conditions) {
+                if (!condition.test(data)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
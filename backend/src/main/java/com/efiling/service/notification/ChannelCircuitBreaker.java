@@ -0,0 +1,96 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stops dispatching to a channel whose downstream keeps failing. After a number of
+ * consecutive batches in which every delivery failed with a retryable error the circuit
+ * opens; once the open period has passed a single trial batch is let through, and its
+ * outcome closes the circuit or opens it again.
+ */
+@Component
+@Slf4j
+public class ChannelCircuitBreaker {
+
+    @Value("${app.notification.circuit-breaker.failure-threshold}")
+    private int failureThreshold;
+
+    @Value("${app.notification.circuit-breaker.open-duration}")
+    private Duration openDuration;
+
+    private final Map<Notification.NotificationChannel, ChannelState> states =
+            new EnumMap<>(Notification.NotificationChannel.class);
+
+    /**
+     * Channels that must not be claimed right now. A channel past its open period is left
+     * out once, so exactly one batch acts as the trial.
+     */
+    public synchronized Set<Notification.NotificationChannel> blockedChannels() {
+        Set<Notification.NotificationChannel> blocked = EnumSet.noneOf(Notification.NotificationChannel.class);
+        long now = System.nanoTime();
+        states.forEach((channel, state) -> {
+            if (state.openUntilNanos == 0) {
+                return;
+            }
+            if (state.trialInFlight || now < state.openUntilNanos) {
+                blocked.add(channel);
+            }
+        });
+        return blocked;
+    }
+
+    /**
+     * Whether a claimed batch for the channel may be sent. Marks the trial batch as in flight
+     * when the circuit is half open.
+     */
+    public synchronized boolean tryAcquire(Notification.NotificationChannel channel) {
+        ChannelState state = states.get(channel);
+        if (state == null || state.openUntilNanos == 0) {
+            return true;
+        }
+        if (state.trialInFlight || System.nanoTime() < state.openUntilNanos) {
+            return false;
+        }
+        state.trialInFlight = true;
+        return true;
+    }
+
+    public synchronized void recordSuccess(Notification.NotificationChannel channel) {
+        ChannelState state = states.get(channel);
+        if (state == null) {
+            return;
+        }
+        if (state.openUntilNanos != 0) {
+            log.info("Circuit for {} notifications closed", channel);
+        }
+        states.remove(channel);
+    }
+
+    public synchronized void recordFailure(Notification.NotificationChannel channel) {
+        ChannelState state = states.computeIfAbsent(channel, c -> new ChannelState());
+        state.consecutiveFailures++;
+        if (state.trialInFlight || state.consecutiveFailures >= failureThreshold) {
+            if (state.openUntilNanos == 0 || state.trialInFlight) {
+                log.warn("Circuit for {} notifications opened for {} after {} failed batches",
+                        channel, openDuration, state.consecutiveFailures);
+            }
+            state.openUntilNanos = System.nanoTime() + openDuration.toNanos();
+            state.trialInFlight = false;
+        }
+    }
+
+    private static class ChannelState {
+        private int consecutiveFailures;
+        private long openUntilNanos; // 0 while the circuit is closed
+        private boolean trialInFlight;
+    }
+}
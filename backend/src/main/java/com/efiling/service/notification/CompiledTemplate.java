@@ -0,0 +1,90 @@
+package com.efiling.service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into literal and placeholder segments. Rendering appends to a
+ * caller supplied buffer and never re-scans the source text.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;  // literals[i] precedes variables[i]; the last has no variable
+    private final String[] variables;
+    private final int sizeHint;
+
+    private CompiledTemplate(String[] literals, String[] variables, int sizeHint) {
+        this.literals = literals;
+        this.variables = variables;
+        this.sizeHint = sizeHint;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new RuntimeException("Unclosed placeholder at position " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty() || !name.matches("[A-Za-z][A-Za-z0-9_.]*")) {
+                throw new RuntimeException("Invalid placeholder name '" + name + "' at position " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(name);
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new),
+                source.length() + 16 * variables.size());
+    }
+
+    public int getSizeHint() {
+        return sizeHint;
+    }
+
+    /**
+     * Appends the rendered template to out. Missing parameters render as empty text; with
+     * escapeHtml set, parameter values (never the template itself) are HTML escaped.
+     */
+    public void renderTo(StringBuilder out, Map<String, ?> params, boolean escapeHtml) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            Object value = params.get(variables[i]);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (escapeHtml) {
+                appendEscaped(out, text);
+            } else {
+                out.append(text);
+            }
+        }
+        out.append(literals[literals.length - 1]);
+    }
+
+    private static void appendEscaped(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.efiling.service.notification;
+
+import lombok.Getter;
+
+/**
+ * Delivery failure with a retry classification. Retryable failures (timeouts, 4xx replies,
+ * dropped connections) stay eligible for another attempt; permanent ones are never retried.
+ */
+@Getter
+public class DeliveryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean retryable;
+
+    public DeliveryException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    public static DeliveryException retryable(String message, Throwable cause) {
+        return new DeliveryException(message, true, cause);
+    }
+
+    public static DeliveryException permanent(String message, Throwable cause) {
+        return new DeliveryException(message, false, cause);
+    }
+
+    public static DeliveryException from(Exception e) {
+        if (e instanceof DeliveryException deliveryException) {
+            return deliveryException;
+        }
+        return retryable(e.getMessage(), e);
+    }
+}
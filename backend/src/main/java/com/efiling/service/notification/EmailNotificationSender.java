@@ -0,0 +1,187 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends email over pooled SMTP connections, many messages per connection, throttled by a
+ * token bucket for the configured provider. Failures are classified from the SMTP reply:
+ * 4xx and connection problems are retryable, 5xx and malformed addresses are permanent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailNotificationSender implements NotificationSender {
+
+    private final SmtpTransportPool transportPool;
+
+    @Value("${app.notification.email.from}")
+    private String emailFrom;
+
+    @Value("${app.notification.email.enabled}")
+    private boolean emailEnabled;
+
+    @Value("${app.notification.email.smtp-pool.rate-per-second}")
+    private double ratePerSecond;
+
+    @Value("${app.notification.email.smtp-pool.burst}")
+    private int burst;
+
+    private TokenBucket providerLimit;
+
+    @PostConstruct
+    public void init() {
+        providerLimit = new TokenBucket(ratePerSecond, burst);
+    }
+
+    @Override
+    public Notification.NotificationChannel getChannel() {
+        return Notification.NotificationChannel.EMAIL;
+    }
+
+    @Override
+    public void send(OutboundNotification notification) {
+        DeliveryException failure = sendAll(List.of(notification)).get(notification.getId());
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public Map<Long, DeliveryException> sendAll(List<OutboundNotification> notifications) {
+        Map<Long, DeliveryException> failures = new HashMap<>();
+        if (!emailEnabled) {
+            log.info("Email notifications disabled");
+            return failures;
+        }
+
+        SmtpTransportPool.PooledTransport transport = null;
+        try {
+            for (int i = 0; i < notifications.size(); i++) {
+                OutboundNotification notification = notifications.get(i);
+                MimeMessage message;
+                try {
+                    message = buildMessage(notification);
+                } catch (MessagingException e) {
+                    failures.put(notification.getId(), DeliveryException.permanent(e.getMessage(), e));
+                    continue;
+                }
+
+                if (transport != null && transport.isExhausted()) {
+                    transportPool.release(transport, false);
+                    transport = null;
+                }
+                if (transport == null) {
+                    try {
+                        transport = transportPool.borrow();
+                    } catch (MessagingException e) {
+                        // Every further borrow would wait as long again; the rest is retried later
+                        failRemaining(notifications, i, failures, DeliveryException.retryable(e.getMessage(), e));
+                        break;
+                    }
+                }
+
+                try {
+                    providerLimit.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failRemaining(notifications, i, failures, DeliveryException.retryable("Interrupted", e));
+                    break;
+                }
+                try {
+                    transport.getTransport().sendMessage(message, message.getAllRecipients());
+                    transport.messageSent();
+                    log.info("Email sent to {}", notification.getEmail());
+                } catch (MessagingException e) {
+                    failures.put(notification.getId(), classify(e));
+                    if (!transport.isConnected()) {
+                        transportPool.release(transport, true);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                transportPool.release(transport, false);
+            }
+        }
+
+        return failures;
+    }
+
+    private static void failRemaining(List<OutboundNotification> notifications, int from,
+                                      Map<Long, DeliveryException> failures, DeliveryException failure) {
+        for (OutboundNotification notification : notifications.subList(from, notifications.size())) {
+            failures.putIfAbsent(notification.getId(), failure);
+        }
+    }
+
+    private MimeMessage buildMessage(OutboundNotification notification) throws MessagingException {
+        if (notification.getEmail() == null || notification.getEmail().isBlank()) {
+            throw new AddressException("Recipient has no email address");
+        }
+
+        MimeMessage message = new MimeMessage(transportPool.getSession());
+        message.setFrom(new InternetAddress(emailFrom));
+        message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(notification.getEmail(), true));
+        message.setSubject(notification.getSubject(), StandardCharsets.UTF_8.name());
+        if (notification.getHtmlMessage() != null) {
+            // Plain text first: clients show the last alternative they can render
+            MimeMultipart alternatives = new MimeMultipart("alternative");
+            MimeBodyPart text = new MimeBodyPart();
+            text.setText(notification.getMessage(), StandardCharsets.UTF_8.name());
+            MimeBodyPart html = new MimeBodyPart();
+            html.setContent(notification.getHtmlMessage(), "text/html; charset=UTF-8");
+            alternatives.addBodyPart(text);
+            alternatives.addBodyPart(html);
+            message.setContent(alternatives);
+        } else {
+            message.setText(notification.getMessage(), StandardCharsets.UTF_8.name());
+        }
+        message.saveChanges();
+        return message;
+    }
+
+    static DeliveryException classify(MessagingException e) {
+        int replyCode = 0;
+        if (e instanceof SMTPSendFailedException sendFailed) {
+            replyCode = sendFailed.getReturnCode();
+        } else if (e instanceof SMTPAddressFailedException addressFailed) {
+            replyCode = addressFailed.getReturnCode();
+        } else if (e.getNextException() instanceof SMTPAddressFailedException addressFailed) {
+            replyCode = addressFailed.getReturnCode();
+        }
+
+        if (replyCode >= 500) {
+            return DeliveryException.permanent("SMTP " + replyCode + ": " + e.getMessage(), e);
+        }
+        if (replyCode >= 400 || e instanceof AuthenticationFailedException) {
+            return DeliveryException.retryable("SMTP " + replyCode + ": " + e.getMessage(), e);
+        }
+        if (e instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0) {
+            return DeliveryException.permanent(e.getMessage(), e);
+        }
+        // Anything else is a connection level problem
+        return DeliveryException.retryable(e.getMessage(), e);
+    }
+}
@@ -0,0 +1,26 @@
+package com.efiling.service.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * In-process relay for single node deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.realtime.relay", havingValue = "local")
+public class LocalPushRelay implements PushRelay {
+
+    private volatile Consumer<PushMessage> listener = message -> { };
+
+    @Override
+    public void publish(PushMessage message) {
+        listener.accept(message);
+    }
+
+    @Override
+    public void setListener(Consumer<PushMessage> listener) {
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,60 @@
+package com.efiling.service.notification;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set of users a notification is fanned out to, resolved in SQL rather than by loading users.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class NotificationAudience {
+
+    public enum Kind {
+        INSTITUTION,
+        ROLES,
+        APPROVAL_STEP,
+        ALL_USERS
+    }
+
+    private final Kind kind;
+    private final Long targetId;
+    private final List<Long> roleIds;
+
+    public static NotificationAudience institution(Long institutionId) {
+        return new NotificationAudience(Kind.INSTITUTION, institutionId, List.of());
+    }
+
+    public static NotificationAudience roles(Collection<Long> roleIds) {
+        return new NotificationAudience(Kind.ROLES, null, List.copyOf(roleIds));
+    }
+
+    /**
+     * Users assigned to the step directly or through one of its approver roles, each once.
+     */
+    public static NotificationAudience approvalStep(Long stepId) {
+        return new NotificationAudience(Kind.APPROVAL_STEP, stepId, List.of());
+    }
+
+    public static NotificationAudience allUsers() {
+        return new NotificationAudience(Kind.ALL_USERS, null, List.of());
+    }
+
+    public static NotificationAudience of(Kind kind, Long targetId, Collection<Long> roleIds) {
+        return new NotificationAudience(kind, targetId, roleIds != null ? List.copyOf(roleIds) : List.of());
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case INSTITUTION -> "institution " + targetId;
+            case ROLES -> "roles " + roleIds;
+            case APPROVAL_STEP -> "approval step " + targetId;
+            case ALL_USERS -> "all users";
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Buffers claimed email/SMS notifications per user, channel and type and merges each window
+ * into a single digest, rendered from the DIGEST template in the recipient's locale. Windows
+ * only hold the ids, subjects and the first notification, and the rows stay claimed in the
+ * outbox while buffered, so a node that dies mid-window has its claims released by the reaper
+ * and nothing is lost. Once max-windows are open, new windows are refused and their
+ * notifications are sent on their own, so a burst across many users cannot grow the buffer.
+ * A window that reaches max-items is closed as it fills and handed to the worker that filled
+ * it through {@link #drainFull}; later notifications for the user open a new window.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCoalescer {
+
+    private static final String DIGEST_TEMPLATE = "DIGEST";
+    private static final int LISTED_SUBJECTS = 20;
+
+    private final NotificationTemplateService templateService;
+
+    @Value("${app.notification.digest.enabled}")
+    private boolean enabled;
+
+    @Value("${app.notification.digest.window}")
+    private Duration window;
+
+    @Value("${app.notification.digest.max-items}")
+    private int maxItems;
+
+    @Value("${app.notification.digest.max-windows}")
+    private int maxWindows;
+
+    private final Map<WindowKey, DigestWindow> windows = new HashMap<>();
+    private final List<DigestWindow> full = new ArrayList<>();
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public boolean accepts(OutboundNotification notification) {
+        // Transactional messages are never held back, their latency matters more than volume
+        return enabled
+                && notification.getPriority() != Notification.NotificationPriority.TRANSACTIONAL
+                && (notification.getChannel() == Notification.NotificationChannel.EMAIL
+                || notification.getChannel() == Notification.NotificationChannel.SMS);
+    }
+
+    /**
+     * Buffers the notification, or returns false when it would open a window past max-windows
+     * and should be sent right away instead.
+     */
+    public synchronized boolean add(OutboundNotification notification) {
+        WindowKey key = new WindowKey(notification.getUserId(), notification.getChannel(), notification.getType());
+        DigestWindow digestWindow = windows.get(key);
+        if (digestWindow == null) {
+            if (windows.size() >= maxWindows) {
+                return false;
+            }
+            digestWindow = new DigestWindow(notification);
+            windows.put(key, digestWindow);
+        }
+        digestWindow.add(notification);
+        if (digestWindow.size >= maxItems) {
+            windows.remove(key);
+            full.add(digestWindow);
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the lane's windows that have been open long enough or are full.
+     */
+    public List<Digest> drainReady(Notification.NotificationPriority priority) {
+        return toDigests(drain(priority, false));
+    }
+
+    /**
+     * Removes and returns the lane's windows that reached max-items.
+     */
+    public List<Digest> drainFull(Notification.NotificationPriority priority) {
+        return toDigests(takeFull(priority));
+    }
+
+    public List<Digest> drainAll() {
+        return toDigests(drain(null, true));
+    }
+
+    private synchronized List<DigestWindow> drain(Notification.NotificationPriority priority, boolean all) {
+        long now = System.nanoTime();
+        List<DigestWindow> ready = takeFull(priority);
+        Iterator<DigestWindow> iterator = windows.values().iterator();
+        while (iterator.hasNext()) {
+            DigestWindow digestWindow = iterator.next();
+            if (priority != null && digestWindow.first.getPriority() != priority) {
+                continue;
+            }
+            if (all || now - digestWindow.openedAtNanos >= window.toNanos()) {
+                iterator.remove();
+                ready.add(digestWindow);
+            }
+        }
+        return ready;
+    }
+
+    private synchronized List<DigestWindow> takeFull(Notification.NotificationPriority priority) {
+        List<DigestWindow> taken = new ArrayList<>();
+        Iterator<DigestWindow> iterator = full.iterator();
+        while (iterator.hasNext()) {
+            DigestWindow digestWindow = iterator.next();
+            if (priority == null || digestWindow.first.getPriority() == priority) {
+                iterator.remove();
+                taken.add(digestWindow);
+            }
+        }
+        return taken;
+    }
+
+    // Rendered outside the lock so lane workers adding to other windows never wait on it
+    private List<Digest> toDigests(List<DigestWindow> ready) {
+        List<Digest> digests = new ArrayList<>(ready.size());
+        for (DigestWindow digestWindow : ready) {
+            try {
+                digests.add(digestWindow.toDigest(templateService));
+            } catch (Exception e) {
+                // The rows stay claimed and are picked up again once the reaper releases them
+                log.error("Failed to render digest for user {}", digestWindow.first.getUserId(), e);
+            }
+        }
+        return digests;
+    }
+
+    private record WindowKey(Long userId, Notification.NotificationChannel channel,
+                             Notification.NotificationType type) {
+    }
+
+    /**
+     * A merged notification and the outbox rows it stands for.
+     */
+    public record Digest(OutboundNotification notification, long[] memberIds) {
+    }
+
+    private static class DigestWindow {
+        private final OutboundNotification first;
+        private final long openedAtNanos = System.nanoTime();
+        private final List<String> subjects = new ArrayList<>();
+        private long[] ids = new long[4];
+        private int size;
+        private int maxRetryCount;
+        private boolean sameReference = true;
+
+        DigestWindow(OutboundNotification first) {
+            this.first = first;
+        }
+
+        void add(OutboundNotification notification) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = notification.getId();
+            if (subjects.size() < LISTED_SUBJECTS) {
+                subjects.add(notification.getSubject());
+            }
+            if (notification.getRetryCount() != null) {
+                maxRetryCount = Math.max(maxRetryCount, notification.getRetryCount());
+            }
+            sameReference &= Objects.equals(first.getReferenceType(), notification.getReferenceType())
+                    && Objects.equals(first.getReferenceId(), notification.getReferenceId());
+        }
+
+        Digest toDigest(NotificationTemplateService templateService) {
+            long[] memberIds = Arrays.copyOf(ids, size);
+            if (size == 1) {
+                return new Digest(first, memberIds);
+            }
+
+            StringBuilder items = new StringBuilder();
+            for (String subject : subjects) {
+                items.append("- ").append(subject).append('\n');
+            }
+            if (size > subjects.size()) {
+                items.append("- ... (+").append(size - subjects.size()).append(")\n");
+            }
+            RenderedNotification rendered = templateService.render(DIGEST_TEMPLATE, first.getLocale(), Map.of(
+                    "count", size,
+                    "subject", Objects.toString(first.getSubject(), ""),
+                    "items", items.toString()));
+
+            OutboundNotification digest = OutboundNotification.builder()
+                    .id(first.getId())
+                    .channel(first.getChannel())
+                    .type(first.getType())
+                    .priority(first.getPriority())
+                    .subject(rendered.getSubject())
+                    .message(rendered.getText())
+                    .referenceType(sameReference ? first.getReferenceType() : null)
+                    .referenceId(sameReference ? first.getReferenceId() : null)
+                    .retryCount(maxRetryCount)
+                    .userId(first.getUserId())
+                    .email(first.getEmail())
+                    .phoneNumber(first.getPhoneNumber())
+                    .locale(first.getLocale())
+                    .providerStatus(first.getProviderStatus())
+                    .createdAt(first.getCreatedAt())
+                    .build();
+            return new Digest(digest, memberIds);
+        }
+    }
+}
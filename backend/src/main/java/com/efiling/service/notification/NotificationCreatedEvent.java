@@ -0,0 +1,21 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when notification rows are written to the outbox. Listeners run after the
+ * surrounding transaction commits, so rolled back notifications are never delivered.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationCreatedEvent {
+    private final Long notificationId;
+    private final Long userId;
+    private final Notification.NotificationChannel channel;
+    private final Notification.NotificationType type;
+    private final String subject;
+    private final String referenceType;
+    private final Long referenceId;
+}
@@ -0,0 +1,386 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.NotificationOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the notification outbox. Each priority lane has its own workers, which claim PENDING
+ * rows of that lane in batches, deliver them through the sender for their channel within the
+ * lane's rate limits and write the outcome back with one statement per batch. A worker that
+ * sees a full batch starts a helper, so a lane's pool grows with its backlog while the other
+ * lanes keep their own workers.
+ * Retryable failures are rescheduled with backoff and channels with an open circuit are
+ * left alone until their downstream recovers. Email and SMS go through the coalescer and
+ * are sent as digests when their window closes, by a thread each lane keeps for that, so
+ * delivery and rate limit waits never hold up the scheduler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final String DELIVERY_LATENCY = "efiling.notification.delivery.latency";
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final List<NotificationSender> senders;
+    private final NotificationRetryPolicy retryPolicy;
+    private final ChannelCircuitBreaker circuitBreaker;
+    private final NotificationCoalescer coalescer;
+    private final OutboundRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Value("${app.notification.dispatcher.claim-timeout}")
+    private Duration claimTimeout;
+
+    private final Map<Notification.NotificationChannel, NotificationSender> sendersByChannel =
+            new EnumMap<>(Notification.NotificationChannel.class);
+    private final Map<Notification.NotificationPriority, Lane> lanes =
+            new EnumMap<>(Notification.NotificationPriority.class);
+
+    @PostConstruct
+    public void init() {
+        senders.forEach(sender -> sendersByChannel.put(sender.getChannel(), sender));
+
+        for (Notification.NotificationPriority priority : Notification.NotificationPriority.values()) {
+            String prefix = "app.notification.lanes." + priority.name().toLowerCase(Locale.ROOT);
+            lanes.put(priority, new Lane(priority,
+                    environment.getRequiredProperty(prefix + ".workers", Integer.class),
+                    environment.getRequiredProperty(prefix + ".batch-size", Integer.class)));
+        }
+
+        // Buffered rows stay claimed, so a window must close before the reaper reclaims them
+        if (coalescer.getWindow().compareTo(claimTimeout) >= 0) {
+            throw new IllegalStateException("app.notification.digest.window must be shorter than the claim timeout");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(lane -> lane.executor.shutdown());
+        flushDigests(coalescer.drainAll());
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.digest.flush-interval}")
+    public void flushDigests() {
+        lanes.values().forEach(this::triggerFlush);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.dispatcher.poll-interval}")
+    public void poll() {
+        triggerDrain();
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.dispatcher.reaper-interval}")
+    public void releaseStaleClaims() {
+        int released = outboxRepository.releaseStaleClaims(LocalDateTime.now().minus(claimTimeout));
+        if (released > 0) {
+            log.warn("Released {} notifications claimed by a dispatcher that did not finish", released);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (event.getChannel() != Notification.NotificationChannel.IN_APP) {
+            triggerDrain();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationFanout(NotificationFanoutEvent event) {
+        if (event.getChannel() != Notification.NotificationChannel.IN_APP) {
+            triggerDrain();
+        }
+    }
+
+    /**
+     * Starts a drain worker in every lane that is not already fully busy.
+     */
+    public void triggerDrain() {
+        lanes.values().forEach(this::triggerDrain);
+    }
+
+    private void triggerDrain(Lane lane) {
+        int active;
+        while ((active = lane.activeWorkers.get()) < lane.workers) {
+            if (lane.activeWorkers.compareAndSet(active, active + 1)) {
+                try {
+                    lane.executor.execute(() -> drain(lane));
+                } catch (RejectedExecutionException e) {
+                    lane.activeWorkers.decrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    // One flush per lane at a time; the windows stay buffered until it gets to them
+    private void triggerFlush(Lane lane) {
+        if (!lane.flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lane.executor.execute(() -> {
+                try {
+                    flushDigests(coalescer.drainReady(lane.priority));
+                } finally {
+                    lane.flushing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            lane.flushing.set(false);
+        }
+    }
+
+    private void drain(Lane lane) {
+        try {
+            while (true) {
+                List<OutboundNotification> batch = outboxRepository.claimPending(
+                        lane.priority, lane.batchSize, circuitBreaker.blockedChannels());
+                if (batch.isEmpty()) {
+                    return;
+                }
+                if (batch.size() == lane.batchSize) {
+                    triggerDrain(lane);
+                }
+                List<OutboundNotification> immediate = new ArrayList<>(batch.size());
+                for (OutboundNotification notification : batch) {
+                    if (!coalescer.accepts(notification) || !coalescer.add(notification)) {
+                        immediate.add(notification);
+                    }
+                }
+                deliver(immediate, Map.of());
+                flushDigests(coalescer.drainFull(lane.priority));
+                if (batch.size() < lane.batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Notification dispatch failed in {} lane", lane.priority, e);
+        } finally {
+            lane.activeWorkers.decrementAndGet();
+        }
+    }
+
+    private void flushDigests(List<NotificationCoalescer.Digest> digests) {
+        if (digests.isEmpty()) {
+            return;
+        }
+        List<OutboundNotification> batch = new ArrayList<>(digests.size());
+        Map<Long, long[]> members = new HashMap<>();
+        for (NotificationCoalescer.Digest digest : digests) {
+            batch.add(digest.notification());
+            members.put(digest.notification().getId(), digest.memberIds());
+        }
+        try {
+            deliver(batch, members);
+        } catch (Exception e) {
+            // The rows are still claimed and are picked up again once the reaper releases them
+            log.error("Notification digest dispatch failed", e);
+        }
+    }
+
+    /**
+     * Sends the batch and records the outcome. A digest's outcome applies to every row it
+     * stands for, as listed in members.
+     */
+    private void deliver(List<OutboundNotification> batch, Map<Long, long[]> members) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Notification.NotificationChannel, List<OutboundNotification>> byChannel =
+                new EnumMap<>(Notification.NotificationChannel.class);
+        for (OutboundNotification notification : batch) {
+            byChannel.computeIfAbsent(notification.getChannel(), channel -> new ArrayList<>()).add(notification);
+        }
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        List<Long> released = new ArrayList<>();
+        List<NotificationOutboxRepository.FailedDelivery> failed = new ArrayList<>();
+
+        byChannel.forEach((channel, notifications) -> {
+            if (!circuitBreaker.tryAcquire(channel)) {
+                notifications.forEach(notification -> addMembers(released, notification.getId(), members));
+                return;
+            }
+
+            NotificationSender sender = sendersByChannel.get(channel);
+            Map<Long, DeliveryException> failures;
+            if (sender == null) {
+                failures = new HashMap<>();
+                for (OutboundNotification notification : notifications) {
+                    failures.put(notification.getId(), DeliveryException.permanent("No sender for channel " + channel, null));
+                }
+            } else {
+                failures = sendThrottled(sender, notifications);
+            }
+
+            int retryableFailures = 0;
+            for (OutboundNotification notification : notifications) {
+                DeliveryException failure = failures.get(notification.getId());
+                if (failure == null) {
+                    addMembers(sent, notification.getId(), members);
+                    recordLatency(notification);
+                    continue;
+                }
+
+                // Permanent failures and exhausted retries are dead-lettered; CANCELLED is kept for
+                // notifications dropped on purpose
+                Notification.NotificationStatus status = Notification.NotificationStatus.DEAD_LETTER;
+                LocalDateTime nextAttemptAt = null;
+                if (failure.isRetryable()) {
+                    retryableFailures++;
+                    nextAttemptAt = retryPolicy.nextAttemptAt(notification.getRetryCount());
+                    if (nextAttemptAt != null) {
+                        status = Notification.NotificationStatus.FAILED;
+                    }
+                }
+                log.warn("Failed to send notification {} ({}): {}", notification.getId(), status, failure.getMessage());
+                List<Long> ids = new ArrayList<>();
+                addMembers(ids, notification.getId(), members);
+                for (Long id : ids) {
+                    failed.add(new NotificationOutboxRepository.FailedDelivery(
+                            id, failure.getMessage(), status, nextAttemptAt));
+                }
+            }
+
+            // Only a batch that failed entirely with retryable errors points at the downstream
+            if (retryableFailures == notifications.size()) {
+                circuitBreaker.recordFailure(channel);
+            } else {
+                circuitBreaker.recordSuccess(channel);
+            }
+        });
+
+        outboxRepository.markSent(sent);
+        outboxRepository.markFailed(failed);
+        outboxRepository.releaseClaims(released);
+        log.debug("Dispatched {} notifications ({} failed, {} held back)",
+                batch.size(), failed.size(), released.size());
+    }
+
+    /**
+     * Sends a channel's notifications, grouped by lane, as fast as the lane's bucket allows:
+     * whatever has a permit goes out together, and the worker only waits when it runs dry.
+     */
+    private Map<Long, DeliveryException> sendThrottled(NotificationSender sender,
+                                                       List<OutboundNotification> notifications) {
+        Map<Long, DeliveryException> failures = new HashMap<>();
+        Map<Notification.NotificationPriority, List<OutboundNotification>> byLane =
+                new EnumMap<>(Notification.NotificationPriority.class);
+        for (OutboundNotification notification : notifications) {
+            byLane.computeIfAbsent(notification.getPriority(), lane -> new ArrayList<>()).add(notification);
+        }
+
+        byLane.forEach((lane, laneNotifications) -> {
+            TokenBucket bucket = rateLimiter.bucket(lane, sender.getChannel());
+            if (bucket == null) {
+                send(sender, laneNotifications, failures);
+                return;
+            }
+            List<OutboundNotification> chunk = new ArrayList<>();
+            for (int i = 0; i < laneNotifications.size(); i++) {
+                if (!bucket.tryAcquire()) {
+                    send(sender, chunk, failures);
+                    chunk.clear();
+                    try {
+                        bucket.acquire();
+                    } catch (InterruptedException e) {
+                        // Shutting down: whatever has not gone out is retried later
+                        Thread.currentThread().interrupt();
+                        for (OutboundNotification notification : laneNotifications.subList(i, laneNotifications.size())) {
+                            failures.put(notification.getId(), DeliveryException.retryable("Interrupted", e));
+                        }
+                        return;
+                    }
+                }
+                chunk.add(laneNotifications.get(i));
+            }
+            send(sender, chunk, failures);
+        });
+        return failures;
+    }
+
+    private void send(NotificationSender sender, List<OutboundNotification> notifications,
+                      Map<Long, DeliveryException> failures) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            failures.putAll(sender.sendAll(notifications));
+        } catch (Exception e) {
+            log.error("{} sender failed", sender.getChannel(), e);
+            for (OutboundNotification notification : notifications) {
+                failures.put(notification.getId(), DeliveryException.from(e));
+            }
+        }
+    }
+
+    private void recordLatency(OutboundNotification notification) {
+        if (notification.getCreatedAt() == null) {
+            return;
+        }
+        Timer.builder(DELIVERY_LATENCY)
+                .description("Time from a notification being queued to it being sent")
+                .tag("lane", notification.getPriority().name())
+                .tag("channel", notification.getChannel().name())
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofMinutes(5))
+                .register(meterRegistry)
+                .record(Duration.between(notification.getCreatedAt(), LocalDateTime.now()));
+    }
+
+    private static void addMembers(List<Long> target, Long id, Map<Long, long[]> members) {
+        long[] memberIds = members.get(id);
+        if (memberIds == null) {
+            target.add(id);
+            return;
+        }
+        for (long memberId : memberIds) {
+            target.add(memberId);
+        }
+    }
+
+    private static class Lane {
+        private final Notification.NotificationPriority priority;
+        private final int workers;
+        private final int batchSize;
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        Lane(Notification.NotificationPriority priority, int workers, int batchSize) {
+            this.priority = priority;
+            this.workers = workers;
+            this.batchSize = batchSize;
+
+            // The extra thread is for digest flushes, which must not wait behind a long drain
+            executor.setCorePoolSize(workers + 1);
+            executor.setMaxPoolSize(workers + 1);
+            executor.setQueueCapacity(workers);
+            executor.setThreadNamePrefix("notification-" + priority.name().toLowerCase(Locale.ROOT) + "-");
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(30);
+            executor.initialize();
+        }
+    }
+}
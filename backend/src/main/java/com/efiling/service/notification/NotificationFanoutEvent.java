@@ -0,0 +1,20 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published once per fan-out statement, after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationFanoutEvent {
+    private final NotificationAudience audience;
+    private final Notification.NotificationChannel channel;
+    private final int recipientCount;
+    private final Notification.NotificationType type;
+    private final String subject;
+    private final String referenceType;
+    private final Long referenceId;
+}
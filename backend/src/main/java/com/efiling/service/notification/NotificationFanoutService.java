@@ -0,0 +1,95 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one notification per member of an audience with a single INSERT ... SELECT,
+ * so large institutions or roles never materialize User entities.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationFanoutService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationTemplateService templateService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public int notifyAudience(NotificationAudience audience, Notification.NotificationType type, String subject,
+                              String message, Notification.NotificationChannel channel,
+                              String referenceType, Long referenceId) {
+        int recipients = outboxRepository.insertForAudience(audience, type, priorityFor(audience), subject, message,
+                channel, referenceType, referenceId);
+
+        log.info("Queued {} {} notifications for {}", recipients, channel, audience);
+        if (recipients > 0) {
+            eventPublisher.publishEvent(new NotificationFanoutEvent(audience, channel, recipients,
+                    type, subject, referenceType, referenceId));
+        }
+        return recipients;
+    }
+
+    /**
+     * Renders the template once per locale present in the audience and inserts each locale's
+     * members with one statement.
+     */
+    @Transactional
+    public int notifyAudience(NotificationAudience audience, String templateCode, Map<String, ?> params,
+                              Notification.NotificationChannel channel, String referenceType, Long referenceId) {
+        // Group the members' locales by the template locale they resolve to
+        Map<String, List<String>> localesByTemplate = new LinkedHashMap<>();
+        Map<String, Boolean> includesUnset = new LinkedHashMap<>();
+        for (String locale : outboxRepository.findAudienceLocales(audience)) {
+            String templateLocale = templateService.resolveLocale(templateCode, locale);
+            List<String> locales = localesByTemplate.computeIfAbsent(templateLocale, key -> new ArrayList<>());
+            if (locale == null) {
+                includesUnset.put(templateLocale, true);
+            } else {
+                locales.add(locale);
+            }
+        }
+
+        Notification.NotificationPriority priority = priorityFor(audience);
+        boolean email = channel == Notification.NotificationChannel.EMAIL;
+        int recipients = 0;
+        RenderedNotification summary = null;
+        for (Map.Entry<String, List<String>> group : localesByTemplate.entrySet()) {
+            RenderedNotification rendered = templateService.render(templateCode, group.getKey(), params);
+            recipients += outboxRepository.insertForAudience(audience,
+                    new NotificationOutboxRepository.LocaleGroup(group.getValue(),
+                            includesUnset.getOrDefault(group.getKey(), false)),
+                    rendered.getType(), priority, rendered.getSubject(), rendered.getText(),
+                    email ? rendered.getHtml() : null, channel, referenceType, referenceId);
+            if (summary == null || group.getKey().equals(templateService.getDefaultLocale())) {
+                summary = rendered;
+            }
+        }
+
+        log.info("Queued {} {} notifications for {} in {} locale(s)", recipients, channel, audience,
+                localesByTemplate.size());
+        if (recipients > 0) {
+            eventPublisher.publishEvent(new NotificationFanoutEvent(audience, channel, recipients,
+                    summary.getType(), summary.getSubject(), referenceType, referenceId));
+        }
+        return recipients;
+    }
+
+    private static Notification.NotificationPriority priorityFor(NotificationAudience audience) {
+        // Approvers act on what they receive; everything else sent to an audience is bulk
+        return audience.getKind() == NotificationAudience.Kind.APPROVAL_STEP
+                ? Notification.NotificationPriority.APPROVAL
+                : Notification.NotificationPriority.BULK;
+    }
+}
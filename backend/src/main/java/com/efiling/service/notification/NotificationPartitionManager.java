@@ -0,0 +1,278 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.UserNotificationCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the notifications table range-partitioned by month on created_at. On first start the
+ * plain table created by Hibernate is converted in place; afterwards a daily job creates the
+ * upcoming partitions and, for partitions past the retention period, writes a gzipped CSV
+ * archive to storage before detaching and dropping them. Queries ordered by created_at with
+ * a LIMIT only scan the newest partitions. Whether partitioned or not, the status check is
+ * kept in step with {@link Notification.NotificationStatus}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPartitionManager {
+
+    private static final String TABLE = "notifications";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String STATUS_CHECK = TABLE + "_status_check";
+
+    // Serializes maintenance across nodes
+    private static final long ADVISORY_LOCK_KEY = 0x4e6f7469664c6f63L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserNotificationCounterRepository counterRepository;
+
+    @Value("${app.notification.partitioning.enabled}")
+    private boolean enabled;
+
+    @Value("${app.notification.partitioning.premake-months}")
+    private int premakeMonths;
+
+    @Value("${app.notification.partitioning.retention-months}")
+    private int retentionMonths;
+
+    @Value("${app.storage.type}")
+    private String storageType;
+
+    @Value("${app.storage.local.path}")
+    private String localStoragePath;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    lock();
+                    if (!isPartitioned()) {
+                        convertToPartitioned();
+                    }
+                });
+                maintain();
+            } catch (Exception e) {
+                log.error("Failed to prepare notification partitions", e);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                updateStatusCheck();
+                // Covered by idx_notifications_lane and idx_notifications_retry; update never drops it
+                jdbcTemplate.execute("DROP INDEX IF EXISTS idx_notifications_status");
+            });
+        } catch (Exception e) {
+            log.error("Failed to update the notification status check and indexes", e);
+        }
+    }
+
+    // ddl-auto: update never alters the check Hibernate wrote when it created the table, so
+    // statuses added to the enum since would be rejected
+    private void updateStatusCheck() {
+        String expected = Arrays.stream(Notification.NotificationStatus.values())
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", "));
+        List<String> current = jdbcTemplate.queryForList(
+                "SELECT pg_get_constraintdef(oid) FROM pg_constraint WHERE conrelid = ?::regclass AND conname = ?",
+                String.class, TABLE, STATUS_CHECK);
+        if (!current.isEmpty() && Arrays.stream(Notification.NotificationStatus.values())
+                .allMatch(value -> current.get(0).contains("'" + value.name() + "'"))) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP CONSTRAINT IF EXISTS " + STATUS_CHECK);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + STATUS_CHECK
+                + " CHECK (status IN (" + expected + "))");
+        log.info("Notification status check now allows {}", expected);
+    }
+
+    @Scheduled(cron = "${app.notification.partitioning.maintenance-cron}")
+    public void maintain() {
+        if (!enabled || !Boolean.TRUE.equals(transactionTemplate.execute(status -> isPartitioned()))) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= premakeMonths; i++) {
+                createPartition(current.plusMonths(i));
+            }
+        });
+
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        boolean dropped = false;
+        for (String partition : listPartitions()) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                dropped |= archiveAndDrop(partition);
+            }
+        }
+
+        if (dropped) {
+            // Unread notifications may have gone with the dropped partitions
+            transactionTemplate.executeWithoutResult(status -> counterRepository.rebuildAll());
+        }
+    }
+
+    private boolean archiveAndDrop(String partition) {
+        if (!"local".equals(storageType)) {
+            log.warn("Not dropping notification partition {}: archiving to {} storage is not supported",
+                    partition, storageType);
+            return false;
+        }
+
+        try {
+            Path archive = archive(partition);
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            });
+            log.info("Archived notification partition {} to {} and dropped it", partition, archive);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to archive notification partition {}", partition, e);
+            return false;
+        }
+    }
+
+    private Path archive(String partition) throws IOException {
+        Path directory = Paths.get(localStoragePath).resolve("archive").resolve(TABLE);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temp = directory.resolve(partition + ".csv.gz.tmp");
+
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to write archive for " + partition, e);
+                }
+            });
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    /**
+     * Replaces the plain table with a partitioned one holding the same rows. Runs once, in a
+     * single transaction with the table locked. Non-unique indexes are recreated from their
+     * original definitions; the primary key becomes (id, created_at) as partitioning requires.
+     */
+    private void convertToPartitioned() {
+        log.info("Converting {} to a monthly partitioned table", TABLE);
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+
+        List<String> indexDefinitions = jdbcTemplate.queryForList(
+                "SELECT i.indexdef FROM pg_indexes i " +
+                "JOIN pg_class c ON c.relname = i.indexname " +
+                "JOIN pg_index x ON x.indexrelid = c.oid " +
+                "WHERE i.schemaname = current_schema() AND i.tablename = ? AND NOT x.indisunique",
+                String.class, TABLE);
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM " + TABLE, Timestamp.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + TABLE, Long.class);
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + TABLE + "_pk_seq");
+        jdbcTemplate.queryForObject("SELECT setval('" + TABLE + "_pk_seq', ?, false)", Long.class, maxId + 1);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + "_partitioned (LIKE " + TABLE + ") " +
+                "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_partitioned ALTER COLUMN id SET DEFAULT nextval('"
+                + TABLE + "_pk_seq')");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_partitioned ADD PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_partitioned ADD CONSTRAINT fk_notifications_user " +
+                "FOREIGN KEY (user_id) REFERENCES users (id)");
+
+        YearMonth first = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        for (YearMonth month = first; !month.isAfter(YearMonth.now().plusMonths(premakeMonths));
+             month = month.plusMonths(1)) {
+            createPartition(TABLE + "_partitioned", month);
+        }
+
+        jdbcTemplate.execute("INSERT INTO " + TABLE + "_partitioned SELECT * FROM " + TABLE);
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_partitioned RENAME TO " + TABLE);
+        jdbcTemplate.execute("ALTER SEQUENCE " + TABLE + "_pk_seq OWNED BY " + TABLE + ".id");
+
+        // The saved definitions refer to the table by name, which now resolves to the new one
+        for (String definition : indexDefinitions) {
+            jdbcTemplate.execute(definition);
+        }
+        log.info("Converted {} to a partitioned table starting at {}", TABLE, first);
+    }
+
+    private void createPartition(YearMonth month) {
+        createPartition(TABLE, month);
+    }
+
+    private void createPartition(String parent, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + "_p" + month.format(PARTITION_SUFFIX) +
+                " PARTITION OF " + parent + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    private List<String> listPartitions() {
+        return new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? ORDER BY c.relname",
+                String.class, TABLE));
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = current_schema() AND c.relname = ?",
+                String.class, TABLE);
+        return !kinds.isEmpty() && "p".equals(kinds.get(0));
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ADVISORY_LOCK_KEY);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
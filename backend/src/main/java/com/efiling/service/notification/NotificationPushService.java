@@ -0,0 +1,177 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.UserNotificationCounter;
+import com.efiling.dto.notification.PushFrame;
+import com.efiling.dto.notification.PushNotificationSummary;
+import com.efiling.repository.NotificationOutboxRepository;
+import com.efiling.repository.UserNotificationCounterRepository;
+import com.efiling.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes new notifications and unread count changes to connected clients. Committed events
+ * go through the relay so every node sees them; each node keeps only the users connected to
+ * it and queues a pending frame per user. Frames are flushed on a short interval, on the
+ * session registry's writer thread, so a burst of notifications (e.g. a fan-out) costs one
+ * counter query and one message per user.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPushService {
+
+    private static final int AUDIENCE_CHUNK_SIZE = 1000;
+
+    private final PushRelay relay;
+    private final PushSessionRegistry sessions;
+    private final NotificationOutboxRepository outboxRepository;
+    private final UserNotificationCounterRepository counterRepository;
+
+    @Value("${app.notification.realtime.max-per-frame}")
+    private int maxPerFrame;
+
+    private final Map<Long, PendingFrame> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        relay.setListener(this::onRelayMessage);
+    }
+
+    public SseEmitter openStream(UserPrincipal userPrincipal) {
+        SseEmitter emitter = sessions.openStream(userPrincipal);
+        try {
+            emitter.send(SseEmitter.event().name(PushSessionRegistry.SSE_EVENT).data(PushFrame.builder()
+                    .unreadCount(counterRepository.findUnreadCount(userPrincipal.getId()).orElse(0L))
+                    .notifications(List.of())
+                    .build()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        relay.publish(PushMessage.from(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationFanout(NotificationFanoutEvent event) {
+        if (event.getRecipientCount() > 0) {
+            relay.publish(PushMessage.from(event));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        relay.publish(PushMessage.countChanged(event.getUserId()));
+    }
+
+    void onRelayMessage(PushMessage message) {
+        if (!sessions.hasConnections()) {
+            return;
+        }
+
+        PushNotificationSummary summary = message.toSummary();
+        if (!message.targetsAudience()) {
+            if (sessions.isConnected(message.getUserId())) {
+                enqueue(message.getUserId(), summary);
+            }
+            return;
+        }
+
+        NotificationAudience audience = message.toAudience();
+        List<Long> connected = new ArrayList<>(sessions.connectedUserIds());
+        for (int from = 0; from < connected.size(); from += AUDIENCE_CHUNK_SIZE) {
+            List<Long> chunk = connected.subList(from, Math.min(from + AUDIENCE_CHUNK_SIZE, connected.size()));
+            for (Long userId : outboxRepository.filterAudienceMembers(audience, chunk)) {
+                enqueue(userId, summary);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.realtime.flush-interval}")
+    public void flush() {
+        // Frames queued while a flush is still writing go out with the next one
+        if (pending.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        if (!sessions.submit(() -> {
+            try {
+                flushPending();
+            } catch (Exception e) {
+                log.warn("Failed to push notification frames", e);
+            } finally {
+                flushing.set(false);
+            }
+        })) {
+            flushing.set(false);
+        }
+    }
+
+    private void flushPending() {
+        Map<Long, PendingFrame> frames = new HashMap<>();
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            PendingFrame frame = pending.remove(userId);
+            if (frame != null) {
+                frames.put(userId, frame);
+            }
+        }
+
+        Map<Long, Long> unreadCounts = new HashMap<>();
+        for (UserNotificationCounter counter : counterRepository.findAllById(frames.keySet())) {
+            unreadCounts.put(counter.getUserId(), counter.getUnreadCount());
+        }
+
+        frames.forEach((userId, frame) -> {
+            try {
+                sessions.send(userId, PushFrame.builder()
+                        .unreadCount(unreadCounts.getOrDefault(userId, 0L))
+                        .notifications(frame.notifications)
+                        .truncated(frame.truncated)
+                        .build());
+            } catch (Exception e) {
+                log.warn("Failed to push notifications to user {}", userId, e);
+            }
+        });
+        log.debug("Pushed notification frames to {} users", frames.size());
+    }
+
+    private void enqueue(Long userId, PushNotificationSummary summary) {
+        // compute() keeps the add atomic with respect to flush() removing the frame
+        pending.compute(userId, (id, frame) -> {
+            PendingFrame target = frame != null ? frame : new PendingFrame();
+            target.add(summary, maxPerFrame);
+            return target;
+        });
+    }
+
+    private static class PendingFrame {
+        private final List<PushNotificationSummary> notifications = new ArrayList<>();
+        private boolean truncated;
+
+        void add(PushNotificationSummary summary, int limit) {
+            if (summary == null) {
+                return;
+            }
+            if (notifications.size() < limit) {
+                notifications.add(summary);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
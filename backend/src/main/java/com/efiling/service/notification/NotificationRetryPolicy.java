@@ -0,0 +1,46 @@
+package com.efiling.service.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for failed deliveries. The delay doubles with every attempt
+ * up to a cap, and half of it is randomized so notifications that failed together (e.g. during
+ * an SMTP outage) do not all come due at the same moment.
+ */
+@Component
+public class NotificationRetryPolicy {
+
+    @Value("${app.notification.retry.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${app.notification.retry.initial-backoff}")
+    private Duration initialBackoff;
+
+    @Value("${app.notification.retry.max-backoff}")
+    private Duration maxBackoff;
+
+    /**
+     * Returns when a notification that has failed attemptsSoFar + 1 times should be retried,
+     * or null when it has used up its attempts and belongs in the dead letter state.
+     */
+    public LocalDateTime nextAttemptAt(int attemptsSoFar) {
+        int attempts = attemptsSoFar + 1;
+        if (attempts >= maxAttempts) {
+            return null;
+        }
+
+        long initialMillis = initialBackoff.toMillis();
+        long capMillis = maxBackoff.toMillis();
+        int shift = Math.min(attempts - 1, 30);
+        long delay = initialMillis > capMillis >> shift ? capMillis : initialMillis << shift;
+
+        long half = delay / 2;
+        long jittered = half + ThreadLocalRandom.current().nextLong(half + 1);
+        return LocalDateTime.now().plus(Duration.ofMillis(jittered));
+    }
+}
@@ -0,0 +1,35 @@
+package com.efiling.service.notification;
+
+import com.efiling.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts FAILED notifications whose backoff has elapsed back into the outbox. Each run moves a
+ * bounded batch, oldest due first, and skips channels with an open circuit, so a backlog built
+ * up during an outage drains at a steady pace instead of all at once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetryScheduler {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final ChannelCircuitBreaker circuitBreaker;
+    private final NotificationDispatcher dispatcher;
+
+    @Value("${app.notification.retry.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.notification.retry.interval}")
+    public void requeueDueRetries() {
+        int requeued = outboxRepository.requeueDueRetries(batchSize, circuitBreaker.blockedChannels());
+        if (requeued > 0) {
+            log.debug("Requeued {} notifications for retry", requeued);
+            dispatcher.triggerDrain();
+        }
+    }
+}
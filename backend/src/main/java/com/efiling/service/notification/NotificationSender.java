@@ -0,0 +1,33 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers claimed notifications for a single channel. Throwing marks the notification as failed.
+ */
+public interface NotificationSender {
+
+    Notification.NotificationChannel getChannel();
+
+    void send(OutboundNotification notification) throws Exception;
+
+    /**
+     * Delivers a batch and returns the failures keyed by notification id. Senders that can
+     * reuse a connection across messages override this.
+     */
+    default Map<Long, DeliveryException> sendAll(List<OutboundNotification> notifications) {
+        Map<Long, DeliveryException> failures = new HashMap<>();
+        for (OutboundNotification notification : notifications) {
+            try {
+                send(notification);
+            } catch (Exception e) {
+                failures.put(notification.getId(), DeliveryException.from(e));
+            }
+        }
+        return failures;
+    }
+}
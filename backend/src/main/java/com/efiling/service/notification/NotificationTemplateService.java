@@ -0,0 +1,279 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.domain.entity.NotificationTemplate;
+import com.efiling.dto.notification.NotificationTemplateRequest;
+import com.efiling.repository.NotificationTemplateRepository;
+import com.efiling.repository.support.UpdatedAtPoller;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders notification subjects and bodies from templates stored per code and locale.
+ * Templates are compiled once and cached; a scheduled check picks up edits made on any node.
+ * Rendering reuses a per-thread buffer, and fan-outs render once per locale rather than per
+ * recipient, so large audiences cost a handful of strings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationTemplateService {
+
+    private static final String DEFAULTS_LOCATION = "classpath:notification-templates/*.properties";
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private final NotificationTemplateRepository templateRepository;
+
+    @Value("${app.notification.templates.default-locale}")
+    private String defaultLocale;
+
+    private final Map<String, CompiledTemplateSet> templates = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    private final UpdatedAtPoller poller = new UpdatedAtPoller();
+    private volatile long loadedCount;
+
+    public String getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * Renders the template for the code in the closest available locale: the exact tag, its
+     * language, then the default locale.
+     */
+    public RenderedNotification render(String code, String locale, Map<String, ?> params) {
+        CompiledTemplateSet template = resolve(code, locale);
+        return new RenderedNotification(template.type, template.locale,
+                renderToString(template.subject, params, false),
+                renderToString(template.text, params, false),
+                template.html != null ? renderToString(template.html, params, true) : null);
+    }
+
+    /**
+     * The locale of the template that {@link #render} would use for the given locale.
+     */
+    public String resolveLocale(String code, String locale) {
+        return resolve(code, locale).locale;
+    }
+
+    /**
+     * Locales that have their own template for the code, including the default.
+     */
+    public Set<String> localesFor(String code) {
+        Set<String> locales = new TreeSet<>();
+        for (CompiledTemplateSet template : templates.values()) {
+            if (template.code.equals(code)) {
+                locales.add(template.locale);
+            }
+        }
+        return locales;
+    }
+
+    public List<NotificationTemplate> getTemplates() {
+        return templateRepository.findAllByOrderByCodeAscLocaleAsc();
+    }
+
+    @Transactional
+    public NotificationTemplate saveTemplate(NotificationTemplateRequest request) {
+        // Compile first so a broken template is rejected rather than cached
+        CompiledTemplateSet compiled = compile(request.getCode(), request.getLocale(), request.getType(),
+                request.getSubject(), request.getTextBody(), request.getHtmlBody());
+
+        NotificationTemplate template = templateRepository.findByCodeAndLocale(request.getCode(), request.getLocale())
+                .orElseGet(() -> NotificationTemplate.builder()
+                        .code(request.getCode())
+                        .locale(request.getLocale())
+                        .build());
+        template.setType(request.getType());
+        template.setSubject(request.getSubject());
+        template.setTextBody(request.getTextBody());
+        template.setHtmlBody(request.getHtmlBody() != null && !request.getHtmlBody().isBlank()
+                ? request.getHtmlBody() : null);
+        template = templateRepository.save(template);
+
+        afterCommit(() -> templates.put(key(compiled.code, compiled.locale), compiled));
+        return template;
+    }
+
+    @Transactional
+    public void deleteTemplate(Long id) {
+        NotificationTemplate template = templateRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Template not found"));
+        templateRepository.delete(template);
+        String key = key(template.getCode(), template.getLocale());
+        afterCommit(() -> templates.remove(key));
+    }
+
+    /**
+     * Inserts the bundled default templates that are not in the database yet. Existing rows
+     * are left alone so edits survive restarts.
+     */
+    @Transactional
+    public void seedDefaults() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(DEFAULTS_LOCATION)) {
+                String filename = Objects.requireNonNull(resource.getFilename());
+                String locale = filename.substring(0, filename.length() - ".properties".length());
+
+                Properties properties = new Properties();
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+
+                for (String name : properties.stringPropertyNames()) {
+                    if (!name.endsWith(".type")) {
+                        continue;
+                    }
+                    String code = name.substring(0, name.length() - ".type".length());
+                    if (templateRepository.existsByCodeAndLocale(code, locale)) {
+                        continue;
+                    }
+                    templateRepository.save(NotificationTemplate.builder()
+                            .code(code)
+                            .locale(locale)
+                            .type(Notification.NotificationType.valueOf(properties.getProperty(name)))
+                            .subject(properties.getProperty(code + ".subject"))
+                            .textBody(properties.getProperty(code + ".text"))
+                            .htmlBody(properties.getProperty(code + ".html"))
+                            .build());
+                    log.info("Created default notification template {} ({})", code, locale);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to seed default notification templates", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        reload(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.templates.reload-interval}")
+    public void reloadChanged() {
+        reload(false);
+    }
+
+    private synchronized void reload(boolean full) {
+        LocalDateTime started = LocalDateTime.now();
+        UpdatedAtPoller.Window window = poller.next();
+        LocalDateTime latest = templateRepository.findLastUpdatedAt();
+        long count = templateRepository.count();
+        // A changed count catches deletions, which leave no newer timestamp behind
+        boolean everything = full || window == null || count != loadedCount;
+        if (!everything && (latest == null || !latest.isAfter(window.since()))) {
+            return;
+        }
+
+        List<NotificationTemplate> changed = everything
+                ? templateRepository.findAll()
+                : templateRepository.findByUpdatedAtAfter(window.since());
+        Map<String, CompiledTemplateSet> compiled = new HashMap<>();
+        for (NotificationTemplate template : changed) {
+            try {
+                compiled.put(key(template.getCode(), template.getLocale()), compile(template.getCode(),
+                        template.getLocale(), template.getType(), template.getSubject(), template.getTextBody(),
+                        template.getHtmlBody()));
+            } catch (Exception e) {
+                log.error("Skipping invalid notification template {} ({})", template.getCode(),
+                        template.getLocale(), e);
+            }
+        }
+
+        if (everything) {
+            templates.keySet().retainAll(compiled.keySet());
+        }
+        templates.putAll(compiled);
+        poller.loaded(started);
+        loadedCount = count;
+        log.debug("Loaded {} notification templates", compiled.size());
+    }
+
+    /**
+     * Runs the action once the current transaction commits, so a rolled back edit never
+     * reaches the cache.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private CompiledTemplateSet resolve(String code, String locale) {
+        List<String> candidates = new ArrayList<>(3);
+        if (locale != null && !locale.isBlank()) {
+            candidates.add(locale);
+            int separator = locale.indexOf('-');
+            if (separator > 0) {
+                candidates.add(locale.substring(0, separator));
+            }
+        }
+        candidates.add(defaultLocale);
+
+        for (String candidate : candidates) {
+            CompiledTemplateSet template = templates.get(key(code, candidate));
+            if (template != null) {
+                return template;
+            }
+        }
+        throw new RuntimeException("Notification template not found: " + code);
+    }
+
+    private String renderToString(CompiledTemplate template, Map<String, ?> params, boolean escapeHtml) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.getSizeHint());
+        template.renderTo(buffer, params, escapeHtml);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    private static CompiledTemplateSet compile(String code, String locale, Notification.NotificationType type,
+                                               String subject, String text, String html) {
+        return new CompiledTemplateSet(code, locale, type,
+                CompiledTemplate.compile(subject),
+                CompiledTemplate.compile(text),
+                html != null && !html.isBlank() ? CompiledTemplate.compile(html) : null);
+    }
+
+    private static String key(String code, String locale) {
+        return code + '|' + locale;
+    }
+
+    @AllArgsConstructor
+    private static class CompiledTemplateSet {
+        private final String code;
+        private final String locale;
+        private final Notification.NotificationType type;
+        private final CompiledTemplate subject;
+        private final CompiledTemplate text;
+        private final CompiledTemplate html;
+    }
+}
@@ -0,0 +1,33 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claimed outbox row with the recipient's contact details, so senders never touch JPA entities.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class OutboundNotification {
+    private final Long id;
+    private final Notification.NotificationChannel channel;
+    private final Notification.NotificationType type;
+    private final Notification.NotificationPriority priority;
+    private final String subject;
+    private final String message;
+    private final String htmlMessage;
+    private final String referenceType;
+    private final Long referenceId;
+    private final Integer retryCount;
+    private final Long userId;
+    private final String email;
+    private final String phoneNumber;
+    private final String locale;
+    private final String providerStatus;
+    private final LocalDateTime createdAt;
+}
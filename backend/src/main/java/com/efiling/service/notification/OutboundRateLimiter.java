@@ -0,0 +1,54 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token buckets per delivery lane and channel, configured as
+ * app.notification.lanes.&lt;lane&gt;.rate.&lt;channel&gt; (messages per second). Lanes without a
+ * rate for a channel are not limited there. Provider-wide limits are applied by the senders
+ * themselves; keeping the approval and bulk rates below them leaves headroom for
+ * transactional mail.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboundRateLimiter {
+
+    private final Environment environment;
+
+    private final Map<Notification.NotificationPriority, Map<Notification.NotificationChannel, TokenBucket>> buckets =
+            new EnumMap<>(Notification.NotificationPriority.class);
+
+    @PostConstruct
+    public void init() {
+        for (Notification.NotificationPriority lane : Notification.NotificationPriority.values()) {
+            String prefix = "app.notification.lanes." + lane.name().toLowerCase(Locale.ROOT);
+            int burst = environment.getProperty(prefix + ".burst", Integer.class, 1);
+
+            Map<Notification.NotificationChannel, TokenBucket> laneBuckets =
+                    new EnumMap<>(Notification.NotificationChannel.class);
+            for (Notification.NotificationChannel channel : Notification.NotificationChannel.values()) {
+                Double rate = environment.getProperty(
+                        prefix + ".rate." + channel.name().toLowerCase(Locale.ROOT), Double.class);
+                if (rate != null && rate > 0) {
+                    laneBuckets.put(channel, new TokenBucket(rate, burst));
+                }
+            }
+            buckets.put(lane, laneBuckets);
+        }
+    }
+
+    /**
+     * The bucket for the lane and channel, or null when it is not limited.
+     */
+    public TokenBucket bucket(Notification.NotificationPriority lane, Notification.NotificationChannel channel) {
+        return buckets.get(lane).get(channel);
+    }
+}
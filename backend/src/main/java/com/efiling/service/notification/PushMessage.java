@@ -0,0 +1,92 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.dto.notification.PushNotificationSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * What the push relay carries between nodes. Either targets a single user or an audience,
+ * which each node resolves against its own connected sessions. A message without a type
+ * only signals that the unread count changed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushMessage {
+
+    // pg_notify payloads are limited to 8000 bytes
+    private static final int MAX_SUBJECT_LENGTH = 200;
+
+    private Long userId;
+    private NotificationAudience.Kind audienceKind;
+    private Long audienceTargetId;
+    private List<Long> audienceRoleIds;
+
+    private Long notificationId;
+    private Notification.NotificationType type;
+    private String subject;
+    private String referenceType;
+    private Long referenceId;
+
+    public static PushMessage from(NotificationCreatedEvent event) {
+        return PushMessage.builder()
+                .userId(event.getUserId())
+                .notificationId(event.getNotificationId())
+                .type(event.getType())
+                .subject(truncate(event.getSubject()))
+                .referenceType(event.getReferenceType())
+                .referenceId(event.getReferenceId())
+                .build();
+    }
+
+    public static PushMessage from(NotificationFanoutEvent event) {
+        NotificationAudience audience = event.getAudience();
+        return PushMessage.builder()
+                .audienceKind(audience.getKind())
+                .audienceTargetId(audience.getTargetId())
+                .audienceRoleIds(audience.getRoleIds())
+                .type(event.getType())
+                .subject(truncate(event.getSubject()))
+                .referenceType(event.getReferenceType())
+                .referenceId(event.getReferenceId())
+                .build();
+    }
+
+    public static PushMessage countChanged(Long userId) {
+        return PushMessage.builder().userId(userId).build();
+    }
+
+    public boolean targetsAudience() {
+        return audienceKind != null;
+    }
+
+    public NotificationAudience toAudience() {
+        return NotificationAudience.of(audienceKind, audienceTargetId, audienceRoleIds);
+    }
+
+    public PushNotificationSummary toSummary() {
+        if (type == null) {
+            return null;
+        }
+        return PushNotificationSummary.builder()
+                .id(notificationId)
+                .type(type)
+                .subject(subject)
+                .referenceType(referenceType)
+                .referenceId(referenceId)
+                .build();
+    }
+
+    private static String truncate(String subject) {
+        if (subject == null || subject.length() <= MAX_SUBJECT_LENGTH) {
+            return subject;
+        }
+        return subject.substring(0, MAX_SUBJECT_LENGTH);
+    }
+}
@@ -0,0 +1,21 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class PushNotificationSender implements NotificationSender {
+
+    @Override
+    public Notification.NotificationChannel getChannel() {
+        return Notification.NotificationChannel.PUSH;
+    }
+
+    @Override
+    public void send(OutboundNotification notification) {
+        // Push notification implementation would go here
+        log.info("Push notification would be sent to user {}", notification.getUserId());
+    }
+}
@@ -0,0 +1,14 @@
+package com.efiling.service.notification;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries push messages to every node, including the one that published them. Each node
+ * then delivers to the sessions connected to it.
+ */
+public interface PushRelay {
+
+    void publish(PushMessage message);
+
+    void setListener(Consumer<PushMessage> listener);
+}
@@ -0,0 +1,238 @@
+package com.efiling.service.notification;
+
+import com.efiling.dto.notification.PushFrame;
+import com.efiling.security.SecurityStateCache;
+import com.efiling.security.StompAuthChannelInterceptor;
+import com.efiling.security.TokenRevocationIndex;
+import com.efiling.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks the push sessions connected to this node. STOMP sessions are tracked by Spring's
+ * user registry (the principal name is the user id), SSE streams are kept here. Scheduled
+ * pushes and heartbeats write to the sockets on the registry's own writer thread, so a slow
+ * client never holds up the scheduler.
+ *
+ * <p>A session lives no longer than the access token it was opened with: SSE streams time out
+ * when the token expires, and a periodic check closes SSE and STOMP sessions whose token has
+ * expired or been revoked, or whose user logged out everywhere, changed password or was
+ * deactivated.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PushSessionRegistry {
+
+    public static final String USER_DESTINATION = "/queue/notifications";
+    public static final String SSE_EVENT = "notifications";
+
+    private final SimpUserRegistry simpUserRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PushSocketTracker socketTracker;
+    private final TokenRevocationIndex revocationIndex;
+    private final SecurityStateCache securityStateCache;
+
+    @Value("${app.notification.realtime.sse-timeout}")
+    private Duration sseTimeout;
+
+    private final Map<Long, List<Stream>> emitters = new ConcurrentHashMap<>();
+    private final AtomicBoolean heartbeating = new AtomicBoolean();
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private ExecutorService writer;
+
+    @PostConstruct
+    public void init() {
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "push-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * Runs the writes on the writer thread. Returns false when the registry is shutting down.
+     */
+    public boolean submit(Runnable writes) {
+        try {
+            writer.execute(writes);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens an SSE stream for the principal of an access token. The stream times out when the
+     * token expires, after which the client reconnects with a fresh one.
+     */
+    public SseEmitter openStream(UserPrincipal principal) {
+        Long userId = principal.getId();
+        Duration timeout = sseTimeout;
+        if (principal.getTokenExpiresAt() != null) {
+            Duration remaining = Duration.between(Instant.now(), principal.getTokenExpiresAt());
+            if (remaining.compareTo(timeout) < 0) {
+                timeout = remaining.isNegative() ? Duration.ZERO : remaining;
+            }
+        }
+        // A timeout of 0 would mean none at all
+        SseEmitter emitter = new SseEmitter(Math.max(1, timeout.toMillis()));
+        Stream stream = new Stream(emitter, principal);
+        emitters.compute(userId, (id, streams) -> {
+            List<Stream> registered = streams != null ? streams : new CopyOnWriteArrayList<>();
+            registered.add(stream);
+            return registered;
+        });
+
+        emitter.onCompletion(() -> remove(userId, stream));
+        emitter.onTimeout(() -> remove(userId, stream));
+        emitter.onError(e -> remove(userId, stream));
+        return emitter;
+    }
+
+    public boolean hasConnections() {
+        return !emitters.isEmpty() || simpUserRegistry.getUserCount() > 0;
+    }
+
+    public boolean isConnected(Long userId) {
+        return emitters.containsKey(userId) || simpUserRegistry.getUser(userId.toString()) != null;
+    }
+
+    public Set<Long> connectedUserIds() {
+        Set<Long> userIds = new HashSet<>(emitters.keySet());
+        for (SimpUser user : simpUserRegistry.getUsers()) {
+            try {
+                userIds.add(Long.valueOf(user.getName()));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring STOMP user {}", user.getName());
+            }
+        }
+        return userIds;
+    }
+
+    public void send(Long userId, PushFrame frame) {
+        if (simpUserRegistry.getUser(userId.toString()) != null) {
+            messagingTemplate.convertAndSendToUser(userId.toString(), USER_DESTINATION, frame);
+        }
+
+        List<Stream> streams = emitters.get(userId);
+        if (streams != null) {
+            for (Stream stream : streams) {
+                try {
+                    stream.emitter().send(SseEmitter.event().name(SSE_EVENT).data(frame));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, stream);
+                }
+            }
+        }
+    }
+
+    // Keeps idle SSE streams from being closed by proxies
+    @Scheduled(fixedDelayString = "${app.notification.realtime.heartbeat-interval}")
+    public void heartbeat() {
+        if (emitters.isEmpty() || !heartbeating.compareAndSet(false, true)) {
+            return;
+        }
+        if (!submit(() -> {
+            try {
+                sendHeartbeats();
+            } finally {
+                heartbeating.set(false);
+            }
+        })) {
+            heartbeating.set(false);
+        }
+    }
+
+    private void sendHeartbeats() {
+        emitters.forEach((userId, streams) -> {
+            for (Stream stream : streams) {
+                try {
+                    stream.emitter().send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, stream);
+                }
+            }
+        });
+    }
+
+    // Revocations on other nodes reach this one within the revocation sync interval
+    @Scheduled(fixedDelayString = "${app.notification.realtime.session-check-interval}")
+    public void closeRevokedSessions() {
+        if (!hasConnections() || !checking.compareAndSet(false, true)) {
+            return;
+        }
+        if (!submit(() -> {
+            try {
+                closeInvalid();
+            } finally {
+                checking.set(false);
+            }
+        })) {
+            checking.set(false);
+        }
+    }
+
+    private void closeInvalid() {
+        Instant now = Instant.now();
+        emitters.forEach((userId, streams) -> {
+            for (Stream stream : streams) {
+                if (!isValid(stream.principal(), now)) {
+                    remove(userId, stream);
+                    stream.emitter().complete();
+                }
+            }
+        });
+        for (WebSocketSession session : socketTracker.getSessions()) {
+            // Sessions that have not sent CONNECT yet have no principal
+            if (session.getAttributes().get(StompAuthChannelInterceptor.SESSION_PRINCIPAL) instanceof UserPrincipal
+                    principal && !isValid(principal, now)) {
+                socketTracker.close(session, CloseStatus.POLICY_VIOLATION);
+            }
+        }
+    }
+
+    private boolean isValid(UserPrincipal principal, Instant now) {
+        return (principal.getTokenExpiresAt() == null || principal.getTokenExpiresAt().isAfter(now))
+                && !revocationIndex.isRevoked(principal.getTokenId())
+                && !revocationIndex.isRevoked(principal.getTokenFamilyId())
+                && securityStateCache.isCurrent(principal.getId(), principal.getSecurityVersion());
+    }
+
+    private void remove(Long userId, Stream stream) {
+        emitters.computeIfPresent(userId, (id, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private record Stream(SseEmitter emitter, UserPrincipal principal) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.efiling.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the open WebSocket sessions of this node so they can be closed from the server side.
+ * Spring's user registry only knows the STOMP sessions by id and cannot close them.
+ */
+@Component
+@Slf4j
+public class PushSocketTracker implements WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public Collection<WebSocketSession> getSessions() {
+        return sessions.values();
+    }
+
+    public void close(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
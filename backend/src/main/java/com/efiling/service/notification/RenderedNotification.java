@@ -0,0 +1,15 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RenderedNotification {
+    private final Notification.NotificationType type;
+    private final String locale;
+    private final String subject;
+    private final String text;
+    private final String html; // Null when the template has no HTML variant
+}
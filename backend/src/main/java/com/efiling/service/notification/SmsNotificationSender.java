@@ -0,0 +1,162 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends SMS through Twilio. A batch is submitted concurrently and awaited once, so a slow
+ * provider costs about one round trip per batch rather than one per message. A message that
+ * repeats one already texted to the same user for the same type and reference within the
+ * dedup window is cancelled instead of sent.
+ *
+ * <p>A send that times out may still have been accepted, since the request cannot be called
+ * back once written. It is marked unconfirmed and retried like other failures, but a status
+ * callback naming it settles it as sent in the meantime, and the retry first looks the
+ * message up at Twilio and only sends again when it is not there.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmsNotificationSender implements NotificationSender {
+
+    // Twilio rejects longer bodies
+    private static final int MAX_BODY_LENGTH = 1600;
+
+    private final TwilioSmsClient twilioClient;
+    private final NotificationOutboxRepository outboxRepository;
+
+    @Value("${app.notification.sms.enabled}")
+    private boolean smsEnabled;
+
+    @Value("${app.notification.sms.dedup-window}")
+    private Duration dedupWindow;
+
+    @Override
+    public Notification.NotificationChannel getChannel() {
+        return Notification.NotificationChannel.SMS;
+    }
+
+    @Override
+    public void send(OutboundNotification notification) {
+        DeliveryException failure = sendAll(List.of(notification)).get(notification.getId());
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public Map<Long, DeliveryException> sendAll(List<OutboundNotification> notifications) {
+        Map<Long, DeliveryException> failures = new HashMap<>();
+        if (!smsEnabled) {
+            log.info("SMS notifications disabled");
+            return failures;
+        }
+
+        Set<NotificationOutboxRepository.SmsReference> seen = new HashSet<>(outboxRepository
+                .findRecentSmsReferences(referencedUserIds(notifications), LocalDateTime.now().minus(dedupWindow)));
+
+        Map<Long, CompletableFuture<String>> pending = new LinkedHashMap<>();
+        Map<Long, String> messageIds = new HashMap<>();
+        for (OutboundNotification notification : notifications) {
+            if (notification.getPhoneNumber() == null || notification.getPhoneNumber().isBlank()) {
+                failures.put(notification.getId(), DeliveryException.permanent("Recipient has no phone number", null));
+                continue;
+            }
+            if (notification.getReferenceId() != null && !seen.add(referenceOf(notification))) {
+                failures.put(notification.getId(), DeliveryException.permanent("Duplicate SMS for "
+                        + notification.getReferenceType() + " " + notification.getReferenceId(), null));
+                continue;
+            }
+            if (NotificationOutboxRepository.UNCONFIRMED.equals(notification.getProviderStatus())) {
+                try {
+                    String sid = twilioClient.findSentMessage(notification.getPhoneNumber(), body(notification),
+                            notification.getCreatedAt());
+                    if (sid != null) {
+                        log.info("SMS {} had been sent by an attempt that timed out", notification.getId());
+                        messageIds.put(notification.getId(), sid);
+                        continue;
+                    }
+                } catch (DeliveryException e) {
+                    // Still unconfirmed, so it is not sent again until the lookup succeeds
+                    failures.put(notification.getId(), e);
+                    continue;
+                }
+            }
+            pending.put(notification.getId(), twilioClient.send(notification.getId(), notification.getPhoneNumber(),
+                    body(notification)));
+        }
+
+        // Requests run concurrently, so the whole batch shares one timeout budget
+        long deadline = System.nanoTime() + twilioClient.getRequestTimeout().toNanos();
+        List<Long> unconfirmed = new ArrayList<>();
+        pending.forEach((id, future) -> {
+            try {
+                String sid = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (sid != null) {
+                    messageIds.put(id, sid);
+                }
+            } catch (TimeoutException e) {
+                unconfirmed.add(id);
+                failures.put(id, DeliveryException.retryable("Twilio request timed out, delivery unconfirmed", e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unconfirmed.add(id);
+                failures.put(id, DeliveryException.retryable("Interrupted, delivery unconfirmed", e));
+            } catch (ExecutionException e) {
+                if (timedOut(e)) {
+                    unconfirmed.add(id);
+                }
+                failures.put(id, e.getCause() instanceof Exception cause
+                        ? DeliveryException.from(cause)
+                        : DeliveryException.retryable(e.getMessage(), e));
+            }
+        });
+
+        outboxRepository.recordProviderMessageIds(messageIds);
+        outboxRepository.markUnconfirmed(unconfirmed);
+        log.info("Sent {} SMS ({} not sent)", messageIds.size(), failures.size());
+        return failures;
+    }
+
+    private static boolean timedOut(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String body(OutboundNotification notification) {
+        String body = notification.getSubject() + "\n" + notification.getMessage();
+        return body.length() > MAX_BODY_LENGTH ? body.substring(0, MAX_BODY_LENGTH) : body;
+    }
+
+    private static NotificationOutboxRepository.SmsReference referenceOf(OutboundNotification notification) {
+        return new NotificationOutboxRepository.SmsReference(notification.getUserId(), notification.getType(),
+                notification.getReferenceType(), notification.getReferenceId());
+    }
+
+    private static Set<Long> referencedUserIds(List<OutboundNotification> notifications) {
+        Set<Long> userIds = new HashSet<>();
+        for (OutboundNotification notification : notifications) {
+            if (notification.getReferenceId() != null) {
+                userIds.add(notification.getUserId());
+            }
+        }
+        return userIds;
+    }
+}
@@ -0,0 +1,107 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.NotificationOutboxRepository;
+import com.twilio.security.RequestValidator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies Twilio delivery status callbacks. The provider status is recorded on the
+ * notification; "undelivered" messages are rescheduled like any retryable failure and
+ * "failed" ones are cancelled, since Twilio could not send them at all. A callback for a
+ * message whose send timed out is matched through the notification id in its URL, and marks
+ * the notification sent instead of leaving it to be sent again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SmsStatusCallbackService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRetryPolicy retryPolicy;
+
+    @Value("${app.notification.sms.twilio.auth-token}")
+    private String authToken;
+
+    @Value("${app.notification.sms.twilio.status-callback-url}")
+    private String statusCallbackUrl;
+
+    private RequestValidator validator;
+
+    @PostConstruct
+    public void init() {
+        // Twilio refuses an empty key; without a token no callback can be verified anyway
+        if (authToken != null && !authToken.isBlank()) {
+            validator = new RequestValidator(authToken);
+        }
+    }
+
+    /**
+     * Checks the X-Twilio-Signature against the configured callback URL, which is what
+     * Twilio signed regardless of any proxy in front of this node. The notification id is part
+     * of that URL rather than of the signed form parameters.
+     */
+    public boolean isValid(Map<String, String> params, String signature) {
+        if (validator == null || signature == null || statusCallbackUrl == null || statusCallbackUrl.isBlank()) {
+            return false;
+        }
+        String notificationId = params.get(TwilioSmsClient.NOTIFICATION_ID);
+        if (notificationId == null) {
+            return validator.validate(statusCallbackUrl, params, signature);
+        }
+        Map<String, String> form = new HashMap<>(params);
+        form.remove(TwilioSmsClient.NOTIFICATION_ID);
+        return validator.validate(TwilioSmsClient.callbackUrl(statusCallbackUrl, notificationId), form, signature);
+    }
+
+    @Transactional
+    public void handle(Map<String, String> params) {
+        String messageId = params.get("MessageSid");
+        String providerStatus = params.get("MessageStatus");
+        if (messageId == null || providerStatus == null) {
+            throw new RuntimeException("MessageSid and MessageStatus are required");
+        }
+
+        NotificationOutboxRepository.ProviderMessage message = outboxRepository.findByProviderMessageId(messageId)
+                .orElse(null);
+        String notificationId = params.get(TwilioSmsClient.NOTIFICATION_ID);
+        if (message == null && notificationId != null) {
+            message = outboxRepository.adoptProviderMessage(Long.valueOf(notificationId), messageId).orElse(null);
+            if (message != null) {
+                log.info("SMS {} whose send timed out was accepted as {}", message.id(), messageId);
+            }
+        }
+        if (message == null) {
+            log.debug("Status callback for unknown SMS {}", messageId);
+            return;
+        }
+
+        outboxRepository.updateProviderStatus(message.id(), providerStatus);
+        if (message.status() != Notification.NotificationStatus.SENT) {
+            return;
+        }
+
+        String error = "Twilio " + providerStatus + " (" + params.getOrDefault("ErrorCode", "?") + ")";
+        if ("undelivered".equals(providerStatus)) {
+            LocalDateTime nextAttemptAt = retryPolicy.nextAttemptAt(message.retryCount());
+            outboxRepository.markFailed(List.of(new NotificationOutboxRepository.FailedDelivery(message.id(), error,
+                    nextAttemptAt != null
+                            ? Notification.NotificationStatus.FAILED
+                            : Notification.NotificationStatus.DEAD_LETTER,
+                    nextAttemptAt)));
+        } else if ("failed".equals(providerStatus)) {
+            outboxRepository.markFailed(List.of(new NotificationOutboxRepository.FailedDelivery(message.id(), error,
+                    Notification.NotificationStatus.DEAD_LETTER, null)));
+        }
+    }
+}
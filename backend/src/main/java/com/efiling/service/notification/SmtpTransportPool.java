@@ -0,0 +1,167 @@
+package com.efiling.service.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of connected SMTP transports built from the spring.mail settings. Connections are reused
+ * across batches and recycled after a number of messages or when idle for too long. Pointing
+ * spring.mail.host/port at a local server (e.g. GreenMail) is enough to exercise it in tests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+
+    @Value("${app.notification.email.smtp-pool.max-connections}")
+    private int maxConnections;
+
+    @Value("${app.notification.email.smtp-pool.max-messages-per-connection}")
+    private int maxMessagesPerConnection;
+
+    @Value("${app.notification.email.smtp-pool.idle-timeout}")
+    private Duration idleTimeout;
+
+    @Value("${app.notification.email.smtp-pool.borrow-timeout}")
+    private Duration borrowTimeout;
+
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConnections);
+    }
+
+    public Session getSession() {
+        return mailSender.getSession();
+    }
+
+    public PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for an SMTP connection", e);
+        }
+
+        try {
+            PooledTransport transport;
+            while ((transport = idle.pollFirst()) != null) {
+                if (transport.isReusable()) {
+                    return transport;
+                }
+                transport.close();
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(PooledTransport transport, boolean broken) {
+        if (broken || transport.isExhausted()) {
+            transport.close();
+        } else {
+            transport.lastUsedNanos = System.nanoTime();
+            idle.offerFirst(transport);
+        }
+        permits.release();
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.email.smtp-pool.eviction-interval}")
+    public void evictIdle() {
+        Iterator<PooledTransport> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledTransport transport = iterator.next();
+            if (transport.isIdleLongerThan(idleTimeout) && idle.remove(transport)) {
+                transport.close();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            transport.close();
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = getSession().getTransport(
+                mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    public class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedNanos = System.nanoTime();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public void messageSent() {
+            messagesSent++;
+            lastUsedNanos = System.nanoTime();
+        }
+
+        // Has sent as many messages as one connection may carry
+        public boolean isExhausted() {
+            return messagesSent >= maxMessagesPerConnection;
+        }
+
+        public boolean isConnected() {
+            return transport.isConnected();
+        }
+
+        // isConnected() issues a NOOP, so this is only checked when handing out an idle connection
+        boolean isReusable() {
+            return !isExhausted()
+                    && !isIdleLongerThan(idleTimeout)
+                    && transport.isConnected();
+        }
+
+        boolean isIdleLongerThan(Duration duration) {
+            return System.nanoTime() - lastUsedNanos > duration.toNanos();
+        }
+
+        void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection", e);
+            }
+        }
+    }
+}
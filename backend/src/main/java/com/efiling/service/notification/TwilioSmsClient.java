@@ -0,0 +1,201 @@
+package com.efiling.service.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal non-blocking client for the Twilio Messages API on top of the JDK HttpClient, which
+ * keeps connections alive between requests. A semaphore bounds the requests in flight. The
+ * base URL is configurable so the client can be pointed at a local stand-in for the API.
+ * Each message's status callback URL names the notification it was sent for, so a callback
+ * can be matched even when the send's own response never arrived.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TwilioSmsClient {
+
+    public static final String NOTIFICATION_ID = "notificationId";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.notification.sms.twilio.base-url}")
+    private String baseUrl;
+
+    @Value("${app.notification.sms.twilio.account-sid}")
+    private String accountSid;
+
+    @Value("${app.notification.sms.twilio.auth-token}")
+    private String authToken;
+
+    @Value("${app.notification.sms.twilio.phone-number}")
+    private String fromNumber;
+
+    @Value("${app.notification.sms.twilio.status-callback-url}")
+    private String statusCallbackUrl;
+
+    @Value("${app.notification.sms.twilio.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${app.notification.sms.twilio.request-timeout}")
+    private Duration requestTimeout;
+
+    private HttpClient httpClient;
+    private Semaphore inFlight;
+    private String authorization;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        inFlight = new Semaphore(maxInFlight);
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((accountSid + ":" + authToken).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * The status callback URL for messages sent for the notification.
+     */
+    public static String callbackUrl(String statusCallbackUrl, String notificationId) {
+        return statusCallbackUrl + (statusCallbackUrl.contains("?") ? "&" : "?") + NOTIFICATION_ID + "=" + notificationId;
+    }
+
+    /**
+     * Submits a message and completes with its Twilio SID. Only waits for a free in-flight
+     * slot, never for the response.
+     */
+    public CompletableFuture<String> send(Long notificationId, String to, String body) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("To", to);
+        form.put("From", fromNumber);
+        form.put("Body", body);
+        if (statusCallbackUrl != null && !statusCallbackUrl.isBlank()) {
+            form.put("StatusCallback", callbackUrl(statusCallbackUrl, notificationId.toString()));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/2010-04-01/Accounts/" + accountSid + "/Messages.json"))
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(encode(form)))
+                .build();
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(DeliveryException.retryable("Interrupted", e));
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> inFlight.release())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw DeliveryException.retryable("Twilio request failed: " + error.getMessage(), error);
+                    }
+                    return parse(response);
+                });
+    }
+
+    /**
+     * The SID of a message Twilio accepted for the recipient with exactly this body since the
+     * given time, or null when there is none. Blocks for the lookup.
+     */
+    public String findSentMessage(String to, String body, LocalDateTime since) {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("To", to);
+        query.put("From", fromNumber);
+        // DateSent is a UTC date, a day earlier covers any local offset
+        query.put("DateSent>", since.toLocalDate().minusDays(1).toString());
+        query.put("PageSize", "100");
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/2010-04-01/Accounts/" + accountSid + "/Messages.json?" + encode(query)))
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw DeliveryException.retryable("Twilio lookup failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DeliveryException.retryable("Interrupted", e);
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw DeliveryException.retryable("Twilio lookup returned " + response.statusCode(), null);
+        }
+
+        JsonNode messages;
+        try {
+            messages = objectMapper.readTree(response.body()).path("messages");
+        } catch (Exception e) {
+            throw DeliveryException.retryable("Unreadable Twilio lookup response", e);
+        }
+        for (JsonNode message : messages) {
+            if (body.equals(message.path("body").asText()) && !"failed".equals(message.path("status").asText())) {
+                return message.path("sid").asText(null);
+            }
+        }
+        return null;
+    }
+
+    private String parse(HttpResponse<String> response) {
+        int status = response.statusCode();
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(response.body());
+        } catch (Exception e) {
+            json = objectMapper.createObjectNode();
+        }
+
+        if (status >= 200 && status < 300) {
+            return json.path("sid").asText(null);
+        }
+
+        String error = "Twilio " + status + " (" + json.path("code").asText("?") + "): "
+                + json.path("message").asText(response.body());
+        // Throttling and server errors clear up; other 4xx (invalid number, blocked) do not
+        if (status == 429 || status >= 500) {
+            throw DeliveryException.retryable(error, null);
+        }
+        throw DeliveryException.permanent(error, null);
+    }
+
+    private static String encode(Map<String, String> form) {
+        return form.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
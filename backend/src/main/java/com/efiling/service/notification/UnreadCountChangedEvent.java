@@ -0,0 +1,13 @@
+package com.efiling.service.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user's notifications are marked as read.
+ */
+@Getter
+@AllArgsConstructor
+public class UnreadCountChangedEvent {
+    private final Long userId;
+}
@@ -0,0 +1,150 @@
+package com.efiling.service.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The node's Lucene index of documents and submissions, kept on local disk. Writes become
+ * searchable on {@link #refresh()} and durable on {@link #commit}, which also records how far
+ * the index has caught up with the database.
+ */
+@Component
+@Slf4j
+public class SearchIndex {
+
+    // Field names
+    public static final String KEY = "key"; // type:id, unique per entry
+    public static final String TYPE = "type";
+    public static final String ID = "id";
+    public static final String NUMBER = "number";
+    public static final String TITLE = "title";
+    public static final String DOCUMENT_TYPE = "documentType";
+    public static final String FIELDS = "fields"; // document metadata or submission data
+    public static final String CONTENT = "content"; // extracted PDF text
+    public static final String CHECKSUM = "checksum"; // of the file the content came from
+    public static final String STATUS = "status";
+    public static final String CREATED_AT = "createdAt";
+    public static final String ACCESS = "access";
+
+    public static final String ACCESS_ALL = "all";
+
+    public static final Analyzer ANALYZER = new StandardAnalyzer();
+
+    private static final String SYNCED_AT = "syncedAt";
+
+    @Value("${app.search.index-path}")
+    private String indexPath;
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(ANALYZER)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Opened search index at {} with {} entries", indexPath, writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    public static String userAccess(Long userId) {
+        return "user:" + userId;
+    }
+
+    // Members of the institution, whether through the owner's institution or a share
+    public static String institutionAccess(Long institutionId) {
+        return "institution:" + institutionId;
+    }
+
+    public void update(String key, Document document) throws IOException {
+        writer.updateDocument(new Term(KEY, key), document);
+    }
+
+    public void delete(String key) throws IOException {
+        writer.deleteDocuments(new Term(KEY, key));
+    }
+
+    /**
+     * The stored fields of the entry as of the last refresh, or null.
+     */
+    public Document get(String key) throws IOException {
+        return withSearcher(searcher -> {
+            TopDocs top = searcher.search(new TermQuery(new Term(KEY, key)), 1);
+            return top.scoreDocs.length == 0 ? null : searcher.storedFields().document(top.scoreDocs[0].doc);
+        });
+    }
+
+    public <T> T withSearcher(SearcherFunction<T> function) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return function.apply(searcher);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Makes everything written so far durable, noting that the database has been indexed up to
+     * syncedAt.
+     */
+    public void commit(LocalDateTime syncedAt) throws IOException {
+        writer.setLiveCommitData(Map.of(SYNCED_AT, syncedAt.toString()).entrySet());
+        writer.commit();
+    }
+
+    /**
+     * When the last commit had caught up to, or null for an index that was never fully built.
+     */
+    public LocalDateTime getSyncedAt() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (SYNCED_AT.equals(entry.getKey())) {
+                    return LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface SearcherFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+}
@@ -0,0 +1,38 @@
+package com.efiling.service.search;
+
+import com.efiling.domain.entity.Document;
+import com.efiling.domain.entity.DocumentShare;
+import com.efiling.domain.entity.FormSubmission;
+import com.efiling.repository.support.EntityListenerDependency;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on documents, shares and submissions; Hibernate resolves it as a Spring bean.
+ * Queues the changed document or submission for re-indexing once the transaction commits.
+ */
+@Component
+public class SearchIndexListener {
+
+    private final SearchIndexer searchIndexer;
+
+    public SearchIndexListener(@EntityListenerDependency SearchIndexer searchIndexer) {
+        this.searchIndexer = searchIndexer;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Document document) {
+            searchIndexer.documentChanged(document.getId());
+        } else if (entity instanceof DocumentShare share && share.getDocument() != null) {
+            // Shares change who may find the document
+            searchIndexer.documentChanged(share.getDocument().getId());
+        } else if (entity instanceof FormSubmission submission) {
+            searchIndexer.submissionChanged(submission.getId());
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package com.efiling.service.search;
+
+import com.efiling.repository.DocumentRepository;
+import com.efiling.repository.DocumentShareRepository;
+import com.efiling.repository.FormSubmissionRepository;
+import com.efiling.repository.support.UpdatedAtPoller;
+import com.efiling.security.DocumentAcl;
+import com.efiling.service.DocumentStorageService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Keeps the {@link SearchIndex} in step with the database. Local changes are queued once
+ * their transaction commits and indexed on a single background thread, then refreshed so
+ * they are searchable within a second or so. Changes on other nodes are picked up by polling
+ * updated_at, and deletions on other nodes by a nightly purge.
+ *
+ * <p>The first start builds the whole index in the background; later starts resume from the
+ * last commit. Access tokens are written with each entry so queries can filter by them, and
+ * search results are still checked against the database before they are returned.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexer {
+
+    public static final String DOCUMENT = "DOCUMENT";
+    public static final String SUBMISSION = "SUBMISSION";
+
+    private static final int BATCH_SIZE = 200;
+    private static final long BUILD_RANGE = 2_000;
+    private static final int PURGE_BATCH = 1_000;
+
+    private final SearchIndex searchIndex;
+    private final DocumentRepository documentRepository;
+    private final DocumentShareRepository documentShareRepository;
+    private final FormSubmissionRepository formSubmissionRepository;
+    private final DocumentStorageService documentStorageService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.search.pdf.max-pages}")
+    private int maxPdfPages;
+
+    @Value("${app.search.pdf.max-chars}")
+    private int maxContentChars;
+
+    private final Set<Long> pendingDocuments = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingSubmissions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+
+    // All index writes run on this thread, one task at a time
+    private ExecutorService executor;
+    private final UpdatedAtPoller poller = new UpdatedAtPoller();
+    private volatile boolean uncommitted;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Re-indexes the document once the current transaction commits.
+     */
+    public void documentChanged(Long documentId) {
+        documentsChanged(List.of(documentId));
+    }
+
+    public void documentsChanged(Collection<Long> documentIds) {
+        enqueue(pendingDocuments, documentIds);
+    }
+
+    public void submissionChanged(Long submissionId) {
+        enqueue(pendingSubmissions, List.of(submissionId));
+    }
+
+    private void enqueue(Set<Long> pending, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.addAll(ids);
+            submit(drainQueued, this::drain);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.addAll(ids);
+                submit(drainQueued, SearchIndexer.this::drain);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(() -> {
+            LocalDateTime syncedAt = searchIndex.getSyncedAt();
+            if (syncedAt != null) {
+                // The first sync catches up with whatever changed while the node was down
+                poller.loaded(syncedAt);
+                log.info("Resuming search index from {}", syncedAt);
+            } else {
+                build();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.sync-interval}")
+    public void sync() {
+        submit(syncQueued, this::pollChanges);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval}")
+    public void commit() {
+        executor.execute(() -> {
+            LocalDateTime syncedAt = poller.getSyncedAt();
+            if (!uncommitted || syncedAt == null) {
+                return;
+            }
+            try {
+                uncommitted = false;
+                searchIndex.commit(syncedAt);
+            } catch (Exception e) {
+                uncommitted = true;
+                log.error("Failed to commit the search index", e);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.search.purge-cron}")
+    public void purge() {
+        executor.execute(this::purgeDeleted);
+    }
+
+    // Skips the task if one is already waiting, so a long build does not pile up syncs behind it
+    private void submit(AtomicBoolean queued, Runnable task) {
+        if (queued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                queued.set(false);
+                task.run();
+            });
+        }
+    }
+
+    private void drain() {
+        try {
+            indexDocuments(take(pendingDocuments));
+            indexSubmissions(take(pendingSubmissions));
+            searchIndex.refresh();
+        } catch (Exception e) {
+            // The next sync sees the changes through updated_at
+            log.warn("Failed to index changes for search: {}", e.getMessage());
+        }
+    }
+
+    private void pollChanges() {
+        UpdatedAtPoller.Window window = poller.next();
+        if (window == null) {
+            return;
+        }
+        try {
+            Set<Long> documentIds = new HashSet<>(documentRepository.findIdsUpdatedSince(window.since()));
+            documentIds.addAll(documentShareRepository.findDocumentIdsUpdatedSince(window.since()));
+            List<Long> submissionIds = formSubmissionRepository.findIdsUpdatedSince(window.since());
+            if (!documentIds.isEmpty() || !submissionIds.isEmpty()) {
+                indexDocuments(documentIds);
+                indexSubmissions(submissionIds);
+                searchIndex.refresh();
+            }
+            poller.completed(window);
+        } catch (Exception e) {
+            log.warn("Failed to sync the search index: {}", e.getMessage());
+        }
+    }
+
+    private void build() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            Long maxDocumentId = documentRepository.findMaxId();
+            for (long from = 0; maxDocumentId != null && from < maxDocumentId; from += BUILD_RANGE) {
+                indexDocuments(documentRepository.findIdsInRange(from, from + BUILD_RANGE));
+                searchIndex.refresh();
+            }
+            Long maxSubmissionId = formSubmissionRepository.findMaxId();
+            for (long from = 0; maxSubmissionId != null && from < maxSubmissionId; from += BUILD_RANGE) {
+                indexSubmissions(formSubmissionRepository.findIdsInRange(from, from + BUILD_RANGE));
+                searchIndex.refresh();
+            }
+            searchIndex.commit(started);
+            poller.loaded(started);
+            log.info("Built search index up to document {} and submission {} in {} ms", maxDocumentId,
+                    maxSubmissionId, Duration.between(started, LocalDateTime.now()).toMillis());
+        } catch (Exception e) {
+            // Entries written so far stay searchable; the next start builds again
+            log.error("Failed to build the search index", e);
+        }
+    }
+
+    private void indexDocuments(Collection<Long> documentIds) throws IOException {
+        for (List<Long> batch : batches(documentIds, BATCH_SIZE)) {
+            Map<Long, DocumentRepository.SearchRow> rows = byId(documentRepository.findSearchRows(batch),
+                    DocumentRepository.SearchRow::getId);
+            Map<Long, DocumentAcl> acls = DocumentAcl.fromRows(documentRepository.findAccessRows(batch));
+            LocalDateTime now = LocalDateTime.now();
+            for (Long id : batch) {
+                String key = SearchIndex.key(DOCUMENT, id);
+                DocumentRepository.SearchRow row = rows.get(id);
+                if (row == null) {
+                    searchIndex.delete(key);
+                } else {
+                    searchIndex.update(key, toEntry(key, row, acls.get(id), now));
+                }
+            }
+            uncommitted = true;
+        }
+    }
+
+    private void indexSubmissions(Collection<Long> submissionIds) throws IOException {
+        for (List<Long> batch : batches(submissionIds, BATCH_SIZE)) {
+            Map<Long, FormSubmissionRepository.SearchRow> rows = byId(formSubmissionRepository.findSearchRows(batch),
+                    FormSubmissionRepository.SearchRow::getId);
+            for (Long id : batch) {
+                String key = SearchIndex.key(SUBMISSION, id);
+                FormSubmissionRepository.SearchRow row = rows.get(id);
+                if (row == null) {
+                    searchIndex.delete(key);
+                } else {
+                    searchIndex.update(key, toEntry(key, row));
+                }
+            }
+            uncommitted = true;
+        }
+    }
+
+    private Document toEntry(String key, DocumentRepository.SearchRow row, DocumentAcl acl, LocalDateTime now)
+            throws IOException {
+        Document entry = entry(key, DOCUMENT, row.getId());
+        addText(entry, SearchIndex.NUMBER, row.getDocumentNumber());
+        addText(entry, SearchIndex.TITLE, row.getOriginalFilename());
+        addText(entry, SearchIndex.DOCUMENT_TYPE, joinNonNull(row.getDocumentType(), row.getDocumentTypeName()));
+        entry.add(new TextField(SearchIndex.FIELDS, flatten(row.getMetadata()), Field.Store.NO));
+
+        String content = content(key, row);
+        if (content != null) {
+            entry.add(new TextField(SearchIndex.CONTENT, content, Field.Store.YES));
+            if (row.getChecksum() != null) {
+                entry.add(new StoredField(SearchIndex.CHECKSUM, row.getChecksum()));
+            }
+        }
+
+        entry.add(new StringField(SearchIndex.STATUS, row.getStatus().name(), Field.Store.YES));
+        entry.add(new StoredField(SearchIndex.CREATED_AT, row.getCreatedAt().toString()));
+
+        if (acl != null) {
+            addAccess(entry, SearchIndex.userAccess(acl.ownerId()));
+            if (acl.visibleToInstitution() && acl.ownerInstitutionId() != null) {
+                addAccess(entry, SearchIndex.institutionAccess(acl.ownerInstitutionId()));
+            }
+            for (DocumentAcl.Grant grant : acl.grants()) {
+                if (!grant.isLive(now)) {
+                    continue;
+                }
+                addAccess(entry, switch (grant.type()) {
+                    case USER -> SearchIndex.userAccess(grant.targetId());
+                    case INSTITUTION -> SearchIndex.institutionAccess(grant.targetId());
+                    case ALL_USERS -> SearchIndex.ACCESS_ALL;
+                });
+            }
+        }
+        return entry;
+    }
+
+    private Document toEntry(String key, FormSubmissionRepository.SearchRow row) {
+        Document entry = entry(key, SUBMISSION, row.getId());
+        addText(entry, SearchIndex.NUMBER, row.getSubmissionNumber());
+        addText(entry, SearchIndex.TITLE, row.getFormName());
+        entry.add(new TextField(SearchIndex.FIELDS, flatten(row.getData()), Field.Store.NO));
+        entry.add(new StringField(SearchIndex.STATUS, row.getStatus().name(), Field.Store.YES));
+        entry.add(new StoredField(SearchIndex.CREATED_AT, row.getCreatedAt().toString()));
+
+        addAccess(entry, SearchIndex.userAccess(row.getSubmittedById()));
+        if (Boolean.TRUE.equals(row.getVisibleToInstitution()) && row.getSubmitterInstitutionId() != null) {
+            addAccess(entry, SearchIndex.institutionAccess(row.getSubmitterInstitutionId()));
+        }
+        return entry;
+    }
+
+    private static Document entry(String key, String type, Long id) {
+        Document entry = new Document();
+        entry.add(new StringField(SearchIndex.KEY, key, Field.Store.YES));
+        entry.add(new SortedDocValuesField(SearchIndex.KEY, new BytesRef(key)));
+        entry.add(new StringField(SearchIndex.TYPE, type, Field.Store.YES));
+        entry.add(new StoredField(SearchIndex.ID, id));
+        return entry;
+    }
+
+    private static void addText(Document entry, String field, String value) {
+        if (value != null) {
+            entry.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static void addAccess(Document entry, String token) {
+        entry.add(new StringField(SearchIndex.ACCESS, token, Field.Store.NO));
+    }
+
+    /**
+     * Text of a PDF, reused from the current entry when the file has not changed so that share
+     * changes do not re-read the file.
+     */
+    private String content(String key, DocumentRepository.SearchRow row) throws IOException {
+        if (!isPdf(row)) {
+            return null;
+        }
+        if (row.getChecksum() != null) {
+            Document current = searchIndex.get(key);
+            if (current != null && row.getChecksum().equals(current.get(SearchIndex.CHECKSUM))) {
+                return current.get(SearchIndex.CONTENT);
+            }
+        }
+        try (PDDocument pdf = Loader.loadPDF(documentStorageService.getFile(row.getFilePath()))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setEndPage(maxPdfPages);
+            String text = stripper.getText(pdf);
+            return text.length() > maxContentChars ? text.substring(0, maxContentChars) : text;
+        } catch (Exception e) {
+            // Still searchable by its metadata
+            log.warn("Could not extract text from document {}: {}", row.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isPdf(DocumentRepository.SearchRow row) {
+        return "application/pdf".equalsIgnoreCase(row.getMimeType())
+                || (row.getOriginalFilename() != null && row.getOriginalFilename().toLowerCase().endsWith(".pdf"));
+    }
+
+    /**
+     * Field names and values of a JSON object as plain text, so searches match either. Text
+     * that is not JSON is indexed as is.
+     */
+    private String flatten(String json) {
+        if (json == null || json.isBlank()) {
+            return "";
+        }
+        try {
+            StringBuilder text = new StringBuilder();
+            flatten(objectMapper.readTree(json), text);
+            return text.toString();
+        } catch (IOException e) {
+            return json;
+        }
+    }
+
+    private static void flatten(JsonNode node, StringBuilder text) {
+        if (node.isObject()) {
+            node.fields().forEachRemaining(field -> {
+                text.append(field.getKey()).append('\n');
+                flatten(field.getValue(), text);
+            });
+        } else if (node.isArray()) {
+            node.forEach(element -> flatten(element, text));
+        } else if (!node.isNull()) {
+            text.append(node.asText()).append('\n');
+        }
+    }
+
+    /**
+     * Drops entries whose rows were deleted on another node. Local deletions are removed as
+     * they happen.
+     */
+    private void purgeDeleted() {
+        try {
+            Map<String, List<Long>> indexed = searchIndex.withSearcher(searcher -> {
+                Map<String, List<Long>> ids = Map.of(DOCUMENT, new ArrayList<>(), SUBMISSION, new ArrayList<>());
+                for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                    StoredFields storedFields = leaf.reader().storedFields();
+                    Bits liveDocs = leaf.reader().getLiveDocs();
+                    for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                        if (liveDocs == null || liveDocs.get(doc)) {
+                            Document stored = storedFields.document(doc, Set.of(SearchIndex.TYPE, SearchIndex.ID));
+                            ids.get(stored.get(SearchIndex.TYPE)).add(stored.getField(SearchIndex.ID).numericValue().longValue());
+                        }
+                    }
+                }
+                return ids;
+            });
+
+            int purged = purge(DOCUMENT, indexed.get(DOCUMENT), documentRepository::findExistingIds)
+                    + purge(SUBMISSION, indexed.get(SUBMISSION), formSubmissionRepository::findExistingIds);
+            if (purged > 0) {
+                searchIndex.refresh();
+                uncommitted = true;
+                log.info("Purged {} deleted entries from the search index", purged);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge the search index", e);
+        }
+    }
+
+    private int purge(String type, List<Long> ids, Function<Collection<Long>, List<Long>> findExisting)
+            throws IOException {
+        int purged = 0;
+        for (List<Long> batch : batches(ids, PURGE_BATCH)) {
+            Set<Long> existing = new HashSet<>(findExisting.apply(batch));
+            for (Long id : batch) {
+                if (!existing.contains(id)) {
+                    searchIndex.delete(SearchIndex.key(type, id));
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    private static List<Long> take(Set<Long> pending) {
+        List<Long> ids = new ArrayList<>(pending);
+        ids.forEach(pending::remove);
+        return ids;
+    }
+
+    private static List<List<Long>> batches(Collection<Long> ids, int size) {
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            batches.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return batches;
+    }
+
+    private static <T> Map<Long, T> byId(List<T> rows, Function<T, Long> id) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(id.apply(row), row));
+        return byId;
+    }
+
+    private static String joinNonNull(String first, String second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || second.equals(first) ? first : first + " " + second;
+    }
+}
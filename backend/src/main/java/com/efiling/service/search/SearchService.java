@@ -0,0 +1,155 @@
+package com.efiling.service.search;
+
+import com.efiling.dto.common.CursorPage;
+import com.efiling.dto.search.SearchHit;
+import com.efiling.repository.FormSubmissionRepository;
+import com.efiling.repository.support.KeysetPager;
+import com.efiling.security.SecurityStateCache;
+import com.efiling.service.DocumentAccessService;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Full-text search over documents and submissions, ranked by relevance. Queries only match
+ * entries whose access tokens include the caller's, and the hits are confirmed against the
+ * document ACLs and the submissions table, so an entry the index has not caught up with yet
+ * is never returned to someone who can no longer see it.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            SearchIndex.NUMBER, 4f,
+            SearchIndex.TITLE, 3f,
+            SearchIndex.DOCUMENT_TYPE, 2f,
+            SearchIndex.FIELDS, 1f,
+            SearchIndex.CONTENT, 1f);
+    private static final Set<String> TYPES = Set.of(SearchIndexer.DOCUMENT, SearchIndexer.SUBMISSION);
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE, new SortField(SearchIndex.KEY, SortField.Type.STRING));
+    private static final Set<String> HIT_FIELDS = Set.of(SearchIndex.TYPE, SearchIndex.ID, SearchIndex.NUMBER,
+            SearchIndex.TITLE, SearchIndex.DOCUMENT_TYPE, SearchIndex.STATUS, SearchIndex.CREATED_AT);
+
+    private final SearchIndex searchIndex;
+    private final DocumentAccessService documentAccessService;
+    private final FormSubmissionRepository formSubmissionRepository;
+    private final SecurityStateCache securityStateCache;
+
+    /**
+     * A page of matches for the user. The text uses simple query syntax: words must all match,
+     * "quoted phrases", prefix*, -excluded and | for either. A page can come back short when
+     * hits fail the access check; hasMore still tells whether to continue.
+     */
+    public CursorPage<SearchHit> search(Long userId, String text, String type, String cursor, Integer size) {
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("Search text is required");
+        }
+        if (type != null && !TYPES.contains(type)) {
+            throw new RuntimeException("Unsupported search type: " + type);
+        }
+        int pageSize = size == null ? KeysetPager.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, KeysetPager.MAX_PAGE_SIZE));
+        Long institutionId = securityStateCache.getInstitutionId(userId);
+
+        SimpleQueryParser parser = new SimpleQueryParser(SearchIndex.ANALYZER, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        List<BytesRef> access = new ArrayList<>(List.of(new BytesRef(SearchIndex.userAccess(userId)),
+                new BytesRef(SearchIndex.ACCESS_ALL)));
+        if (institutionId != null) {
+            access.add(new BytesRef(SearchIndex.institutionAccess(institutionId)));
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(text.trim()), BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(SearchIndex.ACCESS, access), BooleanClause.Occur.FILTER);
+        if (type != null) {
+            query.add(new TermQuery(new Term(SearchIndex.TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+
+        Object[] position = decode(cursor);
+        CursorPage<SearchHit> page;
+        try {
+            // Doc numbers are only valid within the searcher that produced them
+            page = searchIndex.withSearcher(searcher -> {
+                // Only the cursor's own entry ties on (score, key); the highest doc number skips it
+                FieldDoc after = position == null ? null
+                        : new FieldDoc(searcher.getIndexReader().maxDoc() - 1, (Float) position[0], position);
+                TopFieldDocs top = searcher.searchAfter(after, query.build(), pageSize + 1, RELEVANCE, true);
+                int count = Math.min(pageSize, top.scoreDocs.length);
+                List<SearchHit> hits = new ArrayList<>(count);
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = 0; i < count; i++) {
+                    ScoreDoc scoreDoc = top.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc, HIT_FIELDS), scoreDoc.score));
+                }
+                boolean hasMore = top.scoreDocs.length > pageSize;
+                return CursorPage.<SearchHit>builder()
+                        .items(hits)
+                        .nextCursor(hasMore ? encode((FieldDoc) top.scoreDocs[count - 1]) : null)
+                        .hasMore(hasMore)
+                        .build();
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Search failed", e);
+        }
+        page.setItems(accessible(page.getItems(), userId, institutionId));
+        return page;
+    }
+
+    private List<SearchHit> accessible(List<SearchHit> hits, Long userId, Long institutionId) {
+        List<Long> documentIds = new ArrayList<>();
+        List<Long> submissionIds = new ArrayList<>();
+        for (SearchHit hit : hits) {
+            (SearchIndexer.DOCUMENT.equals(hit.getType()) ? documentIds : submissionIds).add(hit.getId());
+        }
+        Set<Long> documents = documentIds.isEmpty() ? Set.of()
+                : documentAccessService.filterAccessible(documentIds, userId);
+        Set<Long> submissions = submissionIds.isEmpty() ? Set.of()
+                : new HashSet<>(formSubmissionRepository.findAccessibleIds(submissionIds, userId, institutionId));
+        return hits.stream()
+                .filter(hit -> (SearchIndexer.DOCUMENT.equals(hit.getType()) ? documents : submissions).contains(hit.getId()))
+                .toList();
+    }
+
+    private static SearchHit toHit(Document stored, float score) {
+        return SearchHit.builder()
+                .type(stored.get(SearchIndex.TYPE))
+                .id(stored.getField(SearchIndex.ID).numericValue().longValue())
+                .number(stored.get(SearchIndex.NUMBER))
+                .title(stored.get(SearchIndex.TITLE))
+                .documentType(stored.get(SearchIndex.DOCUMENT_TYPE))
+                .status(stored.get(SearchIndex.STATUS))
+                .createdAt(LocalDateTime.parse(stored.get(SearchIndex.CREATED_AT)))
+                .score(score)
+                .build();
+    }
+
+    // Pages follow the ranking as of each request, so hits can shift when the index changes in between
+    private static String encode(FieldDoc last) {
+        String position = last.fields[0] + "|" + ((BytesRef) last.fields[1]).utf8ToString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            float score = Float.parseFloat(parts[0]);
+            return new Object[]{score, new BytesRef(parts[1])};
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
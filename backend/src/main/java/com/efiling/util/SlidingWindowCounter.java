@@ -0,0 +1,61 @@
+package com.efiling.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding time window split into fixed buckets. Counts are
+ * approximate at bucket boundaries, which is fine for throttling.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final AtomicLongArray epochs;
+    private final AtomicIntegerArray counts;
+
+    public SlidingWindowCounter(long windowMillis, int buckets) {
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new AtomicIntegerArray(buckets);
+    }
+
+    public void increment(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % epochs.length());
+        long current = epochs.get(index);
+        // The first thread into a recycled bucket clears it
+        if (current != epoch && epochs.compareAndSet(index, current, epoch)) {
+            counts.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+    }
+
+    public int sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - epochs.length();
+        int sum = 0;
+        for (int i = 0; i < epochs.length(); i++) {
+            if (epochs.get(i) > oldest) {
+                sum += counts.get(i);
+            }
+        }
+        return sum;
+    }
+
+    public void reset() {
+        for (int i = 0; i < epochs.length(); i++) {
+            epochs.set(i, 0);
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * When the newest event left the window, i.e. the counter can be discarded.
+     */
+    public long expiresAt() {
+        long newest = 0;
+        for (int i = 0; i < epochs.length(); i++) {
+            newest = Math.max(newest, epochs.get(i));
+        }
+        return (newest + epochs.length() + 1) * bucketMillis;
+    }
+}
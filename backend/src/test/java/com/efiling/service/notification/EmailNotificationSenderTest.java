@@ -0,0 +1,179 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the pooled SMTP sender against an in-process GreenMail server.
+ */
+class EmailNotificationSenderTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SmtpTransportPool pool;
+    private EmailNotificationSender sender;
+
+    @BeforeEach
+    void setUp() {
+        pool = pool(4, 100, Duration.ofSeconds(5));
+        sender = sender(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void sendsABatchOverOneConnection() throws Exception {
+        Map<Long, DeliveryException> failures = sender.sendAll(notifications(3));
+
+        assertThat(failures).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("Subject 1");
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("user1@example.com");
+    }
+
+    @Test
+    void reusesIdleConnections() throws Exception {
+        SmtpTransportPool.PooledTransport first = pool.borrow();
+        pool.release(first, false);
+
+        assertThat(pool.borrow()).isSameAs(first);
+    }
+
+    @Test
+    void recyclesAConnectionAfterItsMessageLimit() throws Exception {
+        pool = pool(1, 2, Duration.ofSeconds(5));
+        sender = sender(pool);
+
+        Map<Long, DeliveryException> failures = sender.sendAll(notifications(5));
+
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+
+        SmtpTransportPool.PooledTransport transport = pool.borrow();
+        transport.messageSent();
+        transport.messageSent();
+        assertThat(transport.isExhausted()).isTrue();
+        pool.release(transport, false);
+        assertThat(pool.borrow()).isNotSameAs(transport);
+    }
+
+    @Test
+    void failsTheRestOfTheBatchWhenNoConnectionIsAvailable() throws Exception {
+        pool = pool(1, 100, Duration.ofMillis(200));
+        sender = sender(pool);
+        SmtpTransportPool.PooledTransport held = pool.borrow();
+
+        long started = System.nanoTime();
+        Map<Long, DeliveryException> failures = sender.sendAll(notifications(3));
+
+        // One borrow timeout for the whole batch, not one per message
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(400));
+        assertThat(failures).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(failures.values()).allMatch(DeliveryException::isRetryable);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        pool.release(held, false);
+    }
+
+    @Test
+    void treatsAMissingAddressAsPermanent() {
+        OutboundNotification noAddress = notification(1L, null);
+
+        Map<Long, DeliveryException> failures = sender.sendAll(List.of(noAddress, notification(2L, "user2@example.com")));
+
+        assertThat(failures).containsOnlyKeys(1L);
+        assertThat(failures.get(1L).isRetryable()).isFalse();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void classifiesPermanentReplies() throws Exception {
+        InternetAddress address = new InternetAddress("user@example.com");
+
+        assertThat(EmailNotificationSender.classify(
+                new SMTPSendFailedException("DATA", 554, "554 Rejected", null, null, null, null)).isRetryable())
+                .isFalse();
+        assertThat(EmailNotificationSender.classify(
+                new SMTPAddressFailedException(address, "RCPT TO", 550, "550 No such user")).isRetryable())
+                .isFalse();
+        assertThat(EmailNotificationSender.classify(
+                new SendFailedException("Invalid Addresses", null, null, null, new InternetAddress[]{address}))
+                .isRetryable()).isFalse();
+    }
+
+    @Test
+    void classifiesTransientReplies() {
+        assertThat(EmailNotificationSender.classify(
+                new SMTPSendFailedException("DATA", 451, "451 Try again later", null, null, null, null)).isRetryable())
+                .isTrue();
+        assertThat(EmailNotificationSender.classify(new MessagingException("Connection reset")).isRetryable())
+                .isTrue();
+    }
+
+    private static SmtpTransportPool pool(int maxConnections, int maxMessagesPerConnection, Duration borrowTimeout) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender);
+        ReflectionTestUtils.setField(pool, "maxConnections", maxConnections);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", maxMessagesPerConnection);
+        ReflectionTestUtils.setField(pool, "idleTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(pool, "borrowTimeout", borrowTimeout);
+        pool.init();
+        return pool;
+    }
+
+    private static EmailNotificationSender sender(SmtpTransportPool pool) {
+        EmailNotificationSender sender = new EmailNotificationSender(pool);
+        ReflectionTestUtils.setField(sender, "emailFrom", "noreply@example.com");
+        ReflectionTestUtils.setField(sender, "emailEnabled", true);
+        ReflectionTestUtils.setField(sender, "ratePerSecond", 1000d);
+        ReflectionTestUtils.setField(sender, "burst", 100);
+        sender.init();
+        return sender;
+    }
+
+    private static List<OutboundNotification> notifications(int count) {
+        List<OutboundNotification> notifications = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            notifications.add(notification(id, "user" + id + "@example.com"));
+        }
+        return notifications;
+    }
+
+    private static OutboundNotification notification(Long id, String email) {
+        return OutboundNotification.builder()
+                .id(id)
+                .channel(Notification.NotificationChannel.EMAIL)
+                .subject("Subject " + id)
+                .message("Message " + id)
+                .userId(id)
+                .email(email)
+                .build();
+    }
+}
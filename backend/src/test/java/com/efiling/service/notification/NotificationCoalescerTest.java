@@ -0,0 +1,78 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationCoalescerTest {
+
+    private static final Notification.NotificationPriority PRIORITY = Notification.NotificationPriority.BULK;
+
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        NotificationTemplateService templateService = mock(NotificationTemplateService.class);
+        when(templateService.render(eq("DIGEST"), any(), anyMap())).thenReturn(new RenderedNotification(
+                Notification.NotificationType.GENERAL, "en", "Digest", "Items", null));
+
+        coalescer = new NotificationCoalescer(templateService);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(coalescer, "maxItems", 3);
+        ReflectionTestUtils.setField(coalescer, "maxWindows", 10);
+    }
+
+    @Test
+    void handsOffAWindowAsSoonAsItIsFull() {
+        for (long id = 1; id <= 4; id++) {
+            assertThat(coalescer.add(notification(id))).isTrue();
+        }
+
+        List<NotificationCoalescer.Digest> full = coalescer.drainFull(PRIORITY);
+        assertThat(full).hasSize(1);
+        assertThat(full.get(0).memberIds()).containsExactly(1L, 2L, 3L);
+        assertThat(coalescer.drainFull(PRIORITY)).isEmpty();
+
+        // The fourth notification opened a new window that is still waiting out its time
+        assertThat(coalescer.drainReady(PRIORITY)).isEmpty();
+        List<NotificationCoalescer.Digest> rest = coalescer.drainAll();
+        assertThat(rest).hasSize(1);
+        assertThat(rest.get(0).memberIds()).containsExactly(4L);
+    }
+
+    @Test
+    void leavesOtherLanesFullWindowsAlone() {
+        for (long id = 1; id <= 3; id++) {
+            coalescer.add(notification(id));
+        }
+
+        assertThat(coalescer.drainFull(Notification.NotificationPriority.APPROVAL)).isEmpty();
+        assertThat(coalescer.drainReady(PRIORITY)).hasSize(1);
+    }
+
+    private static OutboundNotification notification(long id) {
+        return OutboundNotification.builder()
+                .id(id)
+                .channel(Notification.NotificationChannel.EMAIL)
+                .type(Notification.NotificationType.GENERAL)
+                .priority(PRIORITY)
+                .subject("Subject " + id)
+                .message("Message " + id)
+                .userId(1L)
+                .email("user@example.com")
+                .locale("en")
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.efiling.service.notification;
+
+import com.efiling.domain.entity.Notification;
+import com.efiling.repository.NotificationOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the Twilio client and the SMS sender against a local stand-in for the Messages API.
+ */
+class TwilioSmsClientTest {
+
+    private HttpServer server;
+    private volatile int status;
+    private volatile String responseBody;
+    private volatile Duration delay;
+    private TwilioSmsClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        status = 201;
+        responseBody = "{\"sid\":\"SM123\",\"status\":\"queued\"}";
+        delay = Duration.ZERO;
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/2010-04-01/Accounts/AC1/Messages.json", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        client = client(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void returnsTheMessageSid() throws Exception {
+        assertThat(client.send(1L, "+15550001", "Hello").get()).isEqualTo("SM123");
+    }
+
+    @Test
+    void treatsThrottlingAsRetryable() {
+        status = 429;
+        responseBody = "{\"code\":20429,\"message\":\"Too Many Requests\"}";
+
+        assertThat(failure(client.send(1L, "+15550001", "Hello")).isRetryable()).isTrue();
+    }
+
+    @Test
+    void treatsServerErrorsAsRetryable() {
+        status = 503;
+        responseBody = "Service Unavailable";
+
+        assertThat(failure(client.send(1L, "+15550001", "Hello")).isRetryable()).isTrue();
+    }
+
+    @Test
+    void treatsOtherClientErrorsAsPermanent() {
+        status = 400;
+        responseBody = "{\"code\":21211,\"message\":\"Invalid 'To' Phone Number\"}";
+
+        DeliveryException failure = failure(client.send(1L, "+15550001", "Hello"));
+        assertThat(failure.isRetryable()).isFalse();
+        assertThat(failure.getMessage()).contains("21211");
+    }
+
+    @Test
+    void marksATimedOutSendUnconfirmed() {
+        client = client(Duration.ofMillis(200));
+        delay = Duration.ofSeconds(2);
+        NotificationOutboxRepository outboxRepository = mock(NotificationOutboxRepository.class);
+        when(outboxRepository.findRecentSmsReferences(anyCollection(), any())).thenReturn(List.of());
+        SmsNotificationSender sender = new SmsNotificationSender(client, outboxRepository);
+        ReflectionTestUtils.setField(sender, "smsEnabled", true);
+        ReflectionTestUtils.setField(sender, "dedupWindow", Duration.ofHours(1));
+
+        Map<Long, DeliveryException> failures = sender.sendAll(List.of(OutboundNotification.builder()
+                .id(7L)
+                .channel(Notification.NotificationChannel.SMS)
+                .subject("Subject")
+                .message("Message")
+                .userId(1L)
+                .phoneNumber("+15550001")
+                .build()));
+
+        assertThat(failures).containsOnlyKeys(7L);
+        assertThat(failures.get(7L).isRetryable()).isTrue();
+        verify(outboxRepository).markUnconfirmed(List.of(7L));
+    }
+
+    private TwilioSmsClient client(Duration requestTimeout) {
+        TwilioSmsClient client = new TwilioSmsClient(new ObjectMapper());
+        ReflectionTestUtils.setField(client, "baseUrl", "http://localhost:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(client, "accountSid", "AC1");
+        ReflectionTestUtils.setField(client, "authToken", "token");
+        ReflectionTestUtils.setField(client, "fromNumber", "+15550000");
+        ReflectionTestUtils.setField(client, "statusCallbackUrl", "");
+        ReflectionTestUtils.setField(client, "maxInFlight", 4);
+        ReflectionTestUtils.setField(client, "requestTimeout", requestTimeout);
+        client.init();
+        return client;
+    }
+
+    private static DeliveryException failure(CompletableFuture<String> future) {
+        ExecutionException error = catchThrowableOfType(future::get, ExecutionException.class);
+        assertThat(error.getCause()).isInstanceOf(DeliveryException.class);
+        return (DeliveryException) error.getCause();
+    }
+}
@@ -40,23 +40,16 @@ export default function AdminDashboardPage() {
 
   const loadStats = async () => {
     try {
-      // These endpoints should be created in the backend
-      // For now, using placeholder data
-      const [usersRes, docsRes] = await Promise.all([
-        api.get('/users').catch(() => ({ data: [] })),
-        api.get('/documents').catch(() => ({ data: [] })),
-      ]);
-
-      const users = usersRes.data || [];
-      const docs = docsRes.data || [];
+      const { data } = await api.get('/admin/stats');
+      const byStatus: Record<string, number> = data.documentsByStatus || {};
 
       setStats({
-        totalUsers: users.length,
-        totalDocuments: docs.length,
-        totalInstitutions: 0, // Placeholder
-        pendingApprovals: docs.filter((d: any) => d.status === 'SUBMITTED').length,
-        approvedDocuments: docs.filter((d: any) => d.status === 'APPROVED').length,
-        rejectedDocuments: docs.filter((d: any) => d.status === 'REJECTED').length,
+        totalUsers: data.totalUsers,
+        totalDocuments: data.totalDocuments,
+        totalInstitutions: data.totalInstitutions,
+        pendingApprovals: (byStatus.SUBMITTED || 0) + (byStatus.UNDER_REVIEW || 0),
+        approvedDocuments: byStatus.APPROVED || 0,
+        rejectedDocuments: byStatus.REJECTED || 0,
       });
     } catch (error) {
       toast.error('Failed to load statistics');
@@ -2,7 +2,9 @@
 
 import { useState, useEffect } from 'react';
 import { AppLayout } from '@/components/app-layout';
+import { LoadMore } from '@/components/load-more';
 import { api } from '@/lib/api';
+import { useCursorPages } from '@/lib/use-cursor-pages';
 import { toast } from 'sonner';
 import { Building2, Plus, Edit, Trash2, X } from 'lucide-react';
 
@@ -20,8 +22,15 @@ interface Institution {
 }
 
 export default function InstitutionsPage() {
-  const [institutions, setInstitutions] = useState<Institution[]>([]);
-  const [loading, setLoading] = useState(true);
+  const {
+    items: institutions,
+    loading,
+    loadingMore,
+    hasMore,
+    error,
+    loadMore,
+    reload: loadInstitutions,
+  } = useCursorPages<Institution>('/institutions');
   const [showModal, setShowModal] = useState(false);
   const [editingInstitution, setEditingInstitution] = useState<Institution | null>(null);
   const [formData, setFormData] = useState({
@@ -36,19 +45,10 @@ export default function InstitutionsPage() {
   });
 
   useEffect(() => {
-    loadInstitutions();
-  }, []);
-
-  const loadInstitutions = async () => {
-    try {
-      const response = await api.get('/institutions');
-      setInstitutions(response.data);
-    } catch (error) {
+    if (error) {
       toast.error('Failed to load institutions');
-    } finally {
-      setLoading(false);
     }
-  };
+  }, [error]);
 
   const handleOpenModal = (institution?: Institution) => {
     if (institution) {
@@ -219,6 +219,7 @@ export default function InstitutionsPage() {
                 ))}
               </tbody>
             </table>
+            <LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
           </div>
         )}
 
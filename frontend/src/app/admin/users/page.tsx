@@ -1,8 +1,9 @@
 'use client';
 
-import { useState, useEffect } from 'react';
+import { useEffect } from 'react';
 import { AppLayout } from '@/components/app-layout';
-import { api } from '@/lib/api';
+import { LoadMore } from '@/components/load-more';
+import { useCursorPages } from '@/lib/use-cursor-pages';
 import { toast } from 'sonner';
 import { Users, Plus, Edit, Trash2, UserCheck } from 'lucide-react';
 
@@ -18,23 +19,13 @@ interface User {
 }
 
 export default function UsersPage() {
-  const [users, setUsers] = useState<User[]>([]);
-  const [loading, setLoading] = useState(true);
+  const { items: users, loading, loadingMore, hasMore, error, loadMore } = useCursorPages<User>('/users');
 
   useEffect(() => {
-    loadUsers();
-  }, []);
-
-  const loadUsers = async () => {
-    try {
-      const response = await api.get('/users');
-      setUsers(response.data);
-    } catch (error) {
+    if (error) {
       toast.error('Failed to load users');
-    } finally {
-      setLoading(false);
     }
-  };
+  }, [error]);
 
   return (
     <AppLayout>
@@ -136,6 +127,7 @@ export default function UsersPage() {
                 ))}
               </tbody>
             </table>
+            <LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
           </div>
         )}
       </div>
@@ -2,7 +2,9 @@
 
 import { useState, useEffect } from 'react';
 import { AppLayout } from '@/components/app-layout';
+import { LoadMore } from '@/components/load-more';
 import { api } from '@/lib/api';
+import { useCursorPages } from '@/lib/use-cursor-pages';
 import { toast } from 'sonner';
 import { FileText, Download, CheckCircle, XCircle, Clock } from 'lucide-react';
 
@@ -14,37 +16,33 @@ interface Document {
   fileSize: number;
   status: string;
   createdAt: string;
-  uploadedBy: {
-    id: number;
-    username: string;
-    email: string;
-  };
+  uploadedById: number;
+  uploadedByUsername: string;
+  uploadedByEmail: string;
 }
 
 export default function ApprovalsPage() {
-  const [documents, setDocuments] = useState<Document[]>([]);
-  const [loading, setLoading] = useState(true);
+  // Documents that need approval, oldest first
+  const {
+    items: documents,
+    setItems: setDocuments,
+    loading,
+    loadingMore,
+    hasMore,
+    error,
+    loadMore,
+  } = useCursorPages<Document>('/documents', { status: 'SUBMITTED,UNDER_REVIEW', direction: 'asc' });
   const [processingId, setProcessingId] = useState<number | null>(null);
 
   useEffect(() => {
-    loadPendingDocuments();
-  }, []);
-
-  const loadPendingDocuments = async () => {
-    try {
-      // This endpoint should be created in the backend to filter documents
-      // For now, we'll use a placeholder
-      const response = await api.get('/documents');
-      // Filter for documents that need approval
-      const pending = response.data.filter(
-        (doc: Document) => doc.status === 'SUBMITTED' || doc.status === 'UNDER_REVIEW'
-      );
-      setDocuments(pending);
-    } catch (error) {
+    if (error) {
       toast.error('Failed to load pending documents');
-    } finally {
-      setLoading(false);
     }
+  }, [error]);
+
+  // A decided document leaves the queue; the rest of the loaded pages stay as they are
+  const removeDocument = (documentId: number) => {
+    setDocuments((current) => current.filter((doc) => doc.id !== documentId));
   };
 
   const handleApprove = async (documentId: number) => {
@@ -58,7 +56,7 @@ export default function ApprovalsPage() {
         comments: 'Approved',
       });
       toast.success('Document approved successfully');
-      loadPendingDocuments();
+      removeDocument(documentId);
     } catch (error: any) {
       toast.error(error.response?.data || 'Failed to approve document');
     } finally {
@@ -78,7 +76,7 @@ export default function ApprovalsPage() {
         comments: reason,
       });
       toast.success('Document rejected');
-      loadPendingDocuments();
+      removeDocument(documentId);
     } catch (error: any) {
       toast.error(error.response?.data || 'Failed to reject document');
     } finally {
@@ -182,8 +180,8 @@ export default function ApprovalsPage() {
                       </div>
                     </td>
                     <td className="px-6 py-4">
-                      <div className="text-sm text-gray-900">{doc.uploadedBy?.username || '-'}</div>
-                      <div className="text-xs text-gray-500">{doc.uploadedBy?.email || '-'}</div>
+                      <div className="text-sm text-gray-900">{doc.uploadedByUsername || '-'}</div>
+                      <div className="text-xs text-gray-500">{doc.uploadedByEmail || '-'}</div>
                     </td>
                     <td className="px-6 py-4 whitespace-nowrap">
                       <div className="text-sm text-gray-900">{doc.documentType || '-'}</div>
@@ -237,6 +235,7 @@ export default function ApprovalsPage() {
                 ))}
               </tbody>
             </table>
+            <LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
           </div>
         )}
       </div>
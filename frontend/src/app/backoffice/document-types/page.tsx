@@ -2,7 +2,9 @@
 
 import { useState, useEffect } from 'react';
 import { AppLayout } from '@/components/app-layout';
+import { LoadMore } from '@/components/load-more';
 import { api } from '@/lib/api';
+import { useCursorPages } from '@/lib/use-cursor-pages';
 import { toast } from 'sonner';
 import { Plus, Edit, Trash2, FileText, CheckSquare } from 'lucide-react';
 import Link from 'next/link';
@@ -20,8 +22,16 @@ interface DocumentType {
 
 export default function DocumentTypesPage() {
   const router = useRouter();
-  const [documentTypes, setDocumentTypes] = useState<DocumentType[]>([]);
-  const [loading, setLoading] = useState(true);
+  const {
+    items: documentTypes,
+    loading,
+    loadingMore,
+    hasMore,
+    error,
+    loadMore,
+    reload: loadDocumentTypes,
+  } = useCursorPages<DocumentType>('/document-types');
+  const [saving, setSaving] = useState(false);
   const [showCreateModal, setShowCreateModal] = useState(false);
   const [editingType, setEditingType] = useState<DocumentType | null>(null);
   const [formData, setFormData] = useState({
@@ -33,23 +43,14 @@ export default function DocumentTypesPage() {
   });
 
   useEffect(() => {
-    loadDocumentTypes();
-  }, []);
-
-  const loadDocumentTypes = async () => {
-    try {
-      const response = await api.get('/document-types');
-      setDocumentTypes(response.data);
-    } catch (error) {
+    if (error) {
       toast.error('Failed to load document types');
-    } finally {
-      setLoading(false);
     }
-  };
+  }, [error]);
 
   const handleSubmit = async (e: React.FormEvent) => {
     e.preventDefault();
-    setLoading(true);
+    setSaving(true);
 
     try {
       if (editingType) {
@@ -73,7 +74,7 @@ export default function DocumentTypesPage() {
     } catch (error: any) {
       toast.error(error.response?.data || 'Failed to save document type');
     } finally {
-      setLoading(false);
+      setSaving(false);
     }
   };
 
@@ -240,6 +241,7 @@ export default function DocumentTypesPage() {
                 )}
               </tbody>
             </table>
+            <LoadMore hasMore={hasMore} loading={loadingMore} onLoadMore={loadMore} />
           </div>
         )}
 
@@ -327,10 +329,10 @@ export default function DocumentTypesPage() {
                   </button>
                   <button
                     type="submit"
-                    disabled={loading}
+                    disabled={saving}
                     className="flex-1 px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 disabled:opacity-50"
                   >
-                    {loading ? 'Saving...' : editingType ? 'Update' : 'Create'}
+                    {saving ? 'Saving...' : editingType ? 'Update' : 'Create'}
                   </button>
                 </div>
               </form>
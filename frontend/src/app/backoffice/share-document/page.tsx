@@ -3,6 +3,8 @@
 import { useEffect, useState } from "react";
 import { api } from "@/lib/api";
 import { authService } from "@/lib/auth";
+import { useCursorPages } from "@/lib/use-cursor-pages";
+import { LoadMore } from "@/components/load-more";
 import { useRouter } from "next/navigation";
 import { Share2, Users, User, Globe } from "lucide-react";
 import Link from "next/link";
@@ -13,8 +15,22 @@ export default function ShareDocumentPage() {
   const [documents, setDocuments] = useState<any[]>([]);
   const [selectedDocument, setSelectedDocument] = useState<number | null>(null);
   const [shareType, setShareType] = useState<"user" | "institution" | "all">("user");
-  const [users, setUsers] = useState<any[]>([]);
-  const [institutions, setInstitutions] = useState<any[]>([]);
+  const [userSearch, setUserSearch] = useState("");
+  const [userQuery, setUserQuery] = useState("");
+  const {
+    items: users,
+    loadingMore: loadingMoreUsers,
+    hasMore: hasMoreUsers,
+    loadMore: loadMoreUsers,
+  } = useCursorPages<any>('/users', userQuery ? { q: userQuery } : {});
+  const [institutionSearch, setInstitutionSearch] = useState("");
+  const [institutionQuery, setInstitutionQuery] = useState("");
+  const {
+    items: institutions,
+    loadingMore: loadingMoreInstitutions,
+    hasMore: hasMoreInstitutions,
+    loadMore: loadMoreInstitutions,
+  } = useCursorPages<any>('/institutions', institutionQuery ? { active: true, q: institutionQuery } : { active: true });
   const [selectedUserId, setSelectedUserId] = useState<string>("");
   const [selectedInstitutionId, setSelectedInstitutionId] = useState<string>("");
   const [message, setMessage] = useState("");
@@ -36,17 +52,28 @@ export default function ShareDocumentPage() {
     loadData();
   }, [router]);
 
+  // Users are looked up by username or email prefix as the search is typed
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      setUserQuery(userSearch.trim());
+      setSelectedUserId("");
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [userSearch]);
+
+  // Institutions are looked up by name or code prefix the same way
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      setInstitutionQuery(institutionSearch.trim());
+      setSelectedInstitutionId("");
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [institutionSearch]);
+
   const loadData = async () => {
     try {
-      const [docsRes, usersRes, instRes] = await Promise.all([
-        api.get('/documents/my-documents'),
-        api.get('/users'),
-        api.get('/institutions')
-      ]);
-
+      const docsRes = await api.get('/documents/my-documents');
       setDocuments(docsRes.data);
-      setUsers(usersRes.data || []);
-      setInstitutions(instRes.data || []);
     } catch (error) {
       console.error('Failed to load data', error);
     }
@@ -207,6 +234,13 @@ export default function ShareDocumentPage() {
                 <label className="block text-sm font-medium text-gray-700">
                   Select User
                 </label>
+                <input
+                  type="search"
+                  className="mt-1 block w-full rounded-md border border-gray-300 px-3 py-2 shadow-sm focus:border-primary focus:outline-none focus:ring-1 focus:ring-primary"
+                  value={userSearch}
+                  onChange={(e) => setUserSearch(e.target.value)}
+                  placeholder="Search by username or email..."
+                />
                 <select
                   className="mt-1 block w-full rounded-md border border-gray-300 px-3 py-2 shadow-sm focus:border-primary focus:outline-none focus:ring-1 focus:ring-primary"
                   value={selectedUserId}
@@ -220,6 +254,7 @@ export default function ShareDocumentPage() {
                     </option>
                   ))}
                 </select>
+                <LoadMore hasMore={hasMoreUsers} loading={loadingMoreUsers} onLoadMore={loadMoreUsers} />
               </div>
             )}
 
@@ -229,6 +264,13 @@ export default function ShareDocumentPage() {
                 <label className="block text-sm font-medium text-gray-700">
                   Select Institution
                 </label>
+                <input
+                  type="search"
+                  className="mt-1 block w-full rounded-md border border-gray-300 px-3 py-2 shadow-sm focus:border-primary focus:outline-none focus:ring-1 focus:ring-primary"
+                  value={institutionSearch}
+                  onChange={(e) => setInstitutionSearch(e.target.value)}
+                  placeholder="Search by name or code..."
+                />
                 <select
                   className="mt-1 block w-full rounded-md border border-gray-300 px-3 py-2 shadow-sm focus:border-primary focus:outline-none focus:ring-1 focus:ring-primary"
                   value={selectedInstitutionId}
@@ -242,6 +284,11 @@ export default function ShareDocumentPage() {
                     </option>
                   ))}
                 </select>
+                <LoadMore
+                  hasMore={hasMoreInstitutions}
+                  loading={loadingMoreInstitutions}
+                  onLoadMore={loadMoreInstitutions}
+                />
               </div>
             )}
 
@@ -21,16 +21,18 @@ export default function PortalDashboard() {
 
   const loadSubmissions = async () => {
     try {
-      const response = await api.get('/forms/submissions/my-submissions');
-      const data = response.data;
-      setSubmissions(data);
+      const [statsResponse, recentResponse] = await Promise.all([
+        api.get('/forms/submissions/my-submissions/stats'),
+        api.get('/forms/submissions/my-submissions', { params: { size: 10 } }),
+      ]);
+      const byStatus: Record<string, number> = statsResponse.data.byStatus || {};
+      setSubmissions(recentResponse.data.items);
 
-      // Calculate stats
       setStats({
-        totalSubmissions: data.length,
-        pending: data.filter((s: any) => s.status === 'SUBMITTED' || s.status === 'UNDER_REVIEW').length,
-        approved: data.filter((s: any) => s.status === 'APPROVED').length,
-        rejected: data.filter((s: any) => s.status === 'REJECTED').length,
+        totalSubmissions: statsResponse.data.total,
+        pending: (byStatus.SUBMITTED || 0) + (byStatus.UNDER_REVIEW || 0),
+        approved: byStatus.APPROVED || 0,
+        rejected: byStatus.REJECTED || 0,
       });
     } catch (error) {
       console.error('Failed to load submissions', error);
@@ -152,13 +154,13 @@ export default function PortalDashboard() {
                 </tr>
               </thead>
               <tbody className="divide-y divide-gray-200 bg-white">
-                {submissions.slice(0, 10).map((submission) => (
+                {submissions.map((submission) => (
                   <tr key={submission.id}>
                     <td className="whitespace-nowrap px-6 py-4 text-sm font-medium text-gray-900">
                       {submission.submissionNumber}
                     </td>
                     <td className="whitespace-nowrap px-6 py-4 text-sm text-gray-500">
-                      {submission.form?.name || 'N/A'}
+                      {submission.formName || 'N/A'}
                     </td>
                     <td className="whitespace-nowrap px-6 py-4 text-sm">
                       <span className={`rounded-full px-3 py-1 text-xs font-semibold ${getStatusColor(submission.status)}`}>
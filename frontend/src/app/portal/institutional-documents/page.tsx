@@ -2,8 +2,10 @@
 
 import { useEffect, useState } from "react";
 import { api } from "@/lib/api";
+import { useCursorPages } from "@/lib/use-cursor-pages";
 import { useRouter } from "next/navigation";
 import { AppLayout } from "@/components/app-layout";
+import { LoadMore } from "@/components/load-more";
 import { FileText, Users, Download } from "lucide-react";
 import Link from "next/link";
 import { toast } from "sonner";
@@ -11,7 +13,13 @@ import { toast } from "sonner";
 export default function InstitutionalDocumentsPage() {
   const router = useRouter();
   const [documents, setDocuments] = useState<any[]>([]);
-  const [submissions, setSubmissions] = useState<any[]>([]);
+  const {
+    items: submissions,
+    loadingMore: loadingMoreSubmissions,
+    hasMore: hasMoreSubmissions,
+    error: submissionsError,
+    loadMore: loadMoreSubmissions,
+  } = useCursorPages<any>('/forms/submissions/institutional');
   const [activeTab, setActiveTab] = useState<"documents" | "submissions">("documents");
   const [loading, setLoading] = useState(true);
 
@@ -19,15 +27,17 @@ export default function InstitutionalDocumentsPage() {
     loadInstitutionalData();
   }, []);
 
+  useEffect(() => {
+    if (submissionsError) {
+      console.error('Failed to load institutional submissions', submissionsError);
+      toast.error('Failed to load institutional submissions');
+    }
+  }, [submissionsError]);
+
   const loadInstitutionalData = async () => {
     try {
-      const [docsResponse, subsResponse] = await Promise.all([
-        api.get('/document-shares/institutional'),
-        api.get('/forms/submissions/institutional')
-      ]);
-
+      const docsResponse = await api.get('/document-shares/institutional');
       setDocuments(docsResponse.data);
-      setSubmissions(subsResponse.data);
     } catch (error) {
       console.error('Failed to load institutional data', error);
       toast.error('Failed to load institutional data');
@@ -107,7 +117,7 @@ export default function InstitutionalDocumentsPage() {
                   : "border-transparent text-gray-500 hover:border-gray-300 hover:text-gray-700"
               }`}
             >
-              Submissions ({submissions.length})
+              Submissions ({submissions.length}{hasMoreSubmissions ? "+" : ""})
             </button>
           </nav>
         </div>
@@ -221,10 +231,10 @@ export default function InstitutionalDocumentsPage() {
                         {submission.submissionNumber}
                       </td>
                       <td className="whitespace-nowrap px-6 py-4 text-sm text-gray-500">
-                        {submission.form?.name || 'N/A'}
+                        {submission.formName || 'N/A'}
                       </td>
                       <td className="whitespace-nowrap px-6 py-4 text-sm text-gray-500">
-                        {submission.submittedBy?.username || 'N/A'}
+                        {submission.submittedByUsername || 'N/A'}
                       </td>
                       <td className="whitespace-nowrap px-6 py-4 text-sm">
                         <span className={`rounded-full px-3 py-1 text-xs font-semibold ${getStatusColor(submission.status)}`}>
@@ -251,6 +261,11 @@ export default function InstitutionalDocumentsPage() {
                   No institutional submissions found
                 </div>
               )}
+              <LoadMore
+                hasMore={hasMoreSubmissions}
+                loading={loadingMoreSubmissions}
+                onLoadMore={loadMoreSubmissions}
+              />
             </div>
           </div>
         )}
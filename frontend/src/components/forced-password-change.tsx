@@ -35,7 +35,7 @@ export function ForcedPasswordChange({ onSuccess }: ForcedPasswordChangeProps) {
     setLoading(true);
 
     try {
-      await api.post('/auth/change-password', {
+      const response = await api.post('/auth/change-password', {
         currentPassword: '', // Not required for forced password change
         newPassword: formData.newPassword,
         confirmPassword: formData.confirmPassword,
@@ -43,12 +43,8 @@ export function ForcedPasswordChange({ onSuccess }: ForcedPasswordChangeProps) {
 
       toast.success('Password changed successfully!');
 
-      // Update user in localStorage to clear mustChangePassword flag
-      const user = authService.getUser();
-      if (user) {
-        user.mustChangePassword = false;
-        localStorage.setItem('user', JSON.stringify(user));
-      }
+      // Store the new tokens; the response also clears the mustChangePassword flag
+      authService.storeTokens(response.data);
 
       onSuccess();
     } catch (error: any) {
@@ -1,7 +1,7 @@
 "use client";
 
 import { useEffect, useState, useRef } from "react";
-import { api } from "@/lib/api";
+import { api, openEventStream } from "@/lib/api";
 import { authService } from "@/lib/auth";
 import { Bell, User, Lock, LogOut, X } from "lucide-react";
 import { toast } from "sonner";
@@ -15,6 +15,12 @@ interface Notification {
   createdAt: string;
 }
 
+interface PushFrame {
+  unreadCount: number;
+  notifications: { id: number | null; type: string; subject: string }[];
+  truncated: boolean;
+}
+
 export function Header() {
   const [notifications, setNotifications] = useState<Notification[]>([]);
   const [unreadCount, setUnreadCount] = useState(0);
@@ -24,10 +30,44 @@ export function Header() {
   const notificationRef = useRef<HTMLDivElement>(null);
   const userMenuRef = useRef<HTMLDivElement>(null);
 
+  // The stream pushes the unread count whenever it changes, and new notifications as they arrive
   useEffect(() => {
-    loadNotifications();
-    const interval = setInterval(loadNotifications, 30000); // Refresh every 30 seconds
-    return () => clearInterval(interval);
+    let stream: EventSource | null = null;
+    let retry: ReturnType<typeof setTimeout> | undefined;
+    let closed = false;
+
+    const connect = () => {
+      stream = openEventStream('/notifications/stream');
+      if (!stream) {
+        return;
+      }
+      stream.addEventListener('notifications', (event) => {
+        const frame: PushFrame = JSON.parse((event as MessageEvent).data);
+        setUnreadCount(frame.unreadCount);
+        if (frame.notifications.length > 0 || frame.truncated) {
+          loadUnread();
+        }
+      });
+      stream.onerror = () => {
+        // Closed by the server or rejected with an expired token; reloading renews the token
+        stream?.close();
+        retry = setTimeout(async () => {
+          await loadNotifications();
+          if (!closed) {
+            connect();
+          }
+        }, 5000);
+      };
+    };
+
+    // The stream's first frame carries the unread count
+    loadUnread();
+    connect();
+    return () => {
+      closed = true;
+      clearTimeout(retry);
+      stream?.close();
+    };
   }, []);
 
   useEffect(() => {
@@ -44,6 +84,15 @@ export function Header() {
     return () => document.removeEventListener('mousedown', handleClickOutside);
   }, []);
 
+  const loadUnread = async () => {
+    try {
+      const response = await api.get('/notifications/unread');
+      setNotifications(response.data);
+    } catch (error) {
+      console.error('Failed to load notifications', error);
+    }
+  };
+
   const loadNotifications = async () => {
     try {
       const [notificationsRes, countRes] = await Promise.all([
@@ -230,11 +279,12 @@ function ChangePasswordModal({ onClose }: { onClose: () => void }) {
     setLoading(true);
 
     try {
-      await api.post('/auth/change-password', {
+      const response = await api.post('/auth/change-password', {
         currentPassword,
         newPassword,
         confirmPassword,
       });
+      authService.storeTokens(response.data);
 
       toast.success('Password changed successfully');
       onClose();
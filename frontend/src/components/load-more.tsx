@@ -0,0 +1,25 @@
+'use client';
+
+interface LoadMoreProps {
+  hasMore: boolean;
+  loading: boolean;
+  onLoadMore: () => void;
+}
+
+export function LoadMore({ hasMore, loading, onLoadMore }: LoadMoreProps) {
+  if (!hasMore) {
+    return null;
+  }
+  return (
+    <div className="flex justify-center py-4">
+      <button
+        type="button"
+        onClick={onLoadMore}
+        disabled={loading}
+        className="px-4 py-2 text-sm font-medium text-blue-600 bg-white border border-blue-600 rounded-lg hover:bg-blue-50 disabled:opacity-50"
+      >
+        {loading ? 'Loading...' : 'Load more'}
+      </button>
+    </div>
+  );
+}
@@ -23,12 +23,45 @@ api.interceptors.request.use(
   }
 );
 
+// Refresh tokens are single use, so concurrent 401s share one refresh
+let refreshing: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshing = axios
+      .post(`${API_URL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        localStorage.setItem('accessToken', response.data.accessToken);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        localStorage.setItem('user', JSON.stringify(response.data));
+        return response.data.accessToken as string;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
 // Response interceptor to handle errors
 api.interceptors.response.use(
   (response) => response,
   async (error) => {
+    const original = error.config;
+    if (error.response?.status === 401 && original && !original._retried && localStorage.getItem('refreshToken')) {
+      // Access token expired, renew it once and replay the request
+      original._retried = true;
+      try {
+        const token = await refreshAccessToken();
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      } catch {
+        // Fall through to the login redirect
+      }
+    }
     if (error.response?.status === 401) {
-      // Token expired, redirect to login
+      // Session ended, redirect to login
       localStorage.removeItem('accessToken');
       localStorage.removeItem('refreshToken');
       window.location.href = '/login';
@@ -36,3 +69,18 @@ api.interceptors.response.use(
     return Promise.reject(error);
   }
 );
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+// EventSource cannot send headers, so the access token goes in the query string
+export const openEventStream = (path: string): EventSource | null => {
+  const token = localStorage.getItem('accessToken');
+  if (!token) {
+    return null;
+  }
+  return new EventSource(`${API_URL}${path}?access_token=${encodeURIComponent(token)}`);
+};
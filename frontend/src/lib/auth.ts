@@ -34,12 +34,15 @@ export const authService = {
     const response = await api.post('/auth/login', credentials);
     const data = response.data;
 
-    // Store tokens
+    this.storeTokens(data);
+    return data;
+  },
+
+  // Password changes retire older tokens, so the response carries fresh ones
+  storeTokens(data: AuthResponse) {
     localStorage.setItem('accessToken', data.accessToken);
     localStorage.setItem('refreshToken', data.refreshToken);
     localStorage.setItem('user', JSON.stringify(data));
-
-    return data;
   },
 
   async signup(signupData: SignupData): Promise<void> {
@@ -47,6 +50,11 @@ export const authService = {
   },
 
   logout() {
+    // Revoke the session server side; the redirect does not wait for it
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      api.post('/auth/logout', { refreshToken }).catch(() => undefined);
+    }
     localStorage.removeItem('accessToken');
     localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
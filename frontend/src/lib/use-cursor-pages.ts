@@ -0,0 +1,77 @@
+'use client';
+
+import { useCallback, useEffect, useRef, useState } from 'react';
+import { api, CursorPage } from '@/lib/api';
+
+// Loads a list endpoint one page at a time; loadMore appends the next page after the cursor
+export function useCursorPages<T>(url: string, params: Record<string, unknown> = {}, size = 20) {
+  const [items, setItems] = useState<T[]>([]);
+  const [cursor, setCursor] = useState<string | null>(null);
+  const [hasMore, setHasMore] = useState(false);
+  const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [error, setError] = useState<unknown>(null);
+  const key = JSON.stringify(params);
+  // Responses for an older url or params are dropped
+  const generation = useRef(0);
+
+  const fetchPage = useCallback(
+    async (after: string | null) => {
+      const response = await api.get<CursorPage<T>>(url, { params: { ...JSON.parse(key), size, cursor: after } });
+      return response.data;
+    },
+    [url, key, size]
+  );
+
+  const reload = useCallback(async () => {
+    const current = ++generation.current;
+    setLoading(true);
+    setError(null);
+    try {
+      const page = await fetchPage(null);
+      if (current === generation.current) {
+        setItems(page.items);
+        setCursor(page.nextCursor);
+        setHasMore(page.hasMore);
+      }
+    } catch (e) {
+      if (current === generation.current) {
+        setItems([]);
+        setHasMore(false);
+        setError(e);
+      }
+    } finally {
+      if (current === generation.current) {
+        setLoading(false);
+      }
+    }
+  }, [fetchPage]);
+
+  const loadMore = useCallback(async () => {
+    if (!hasMore || loadingMore) {
+      return;
+    }
+    const current = generation.current;
+    setLoadingMore(true);
+    try {
+      const page = await fetchPage(cursor);
+      if (current === generation.current) {
+        setItems((previous) => [...previous, ...page.items]);
+        setCursor(page.nextCursor);
+        setHasMore(page.hasMore);
+      }
+    } catch (e) {
+      if (current === generation.current) {
+        setError(e);
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [fetchPage, cursor, hasMore, loadingMore]);
+
+  useEffect(() => {
+    reload();
+  }, [reload]);
+
+  return { items, setItems, loading, loadingMore, hasMore, error, loadMore, reload };
+}